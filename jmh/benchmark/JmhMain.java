@@ -0,0 +1,43 @@
+// ============================================================
+// File: JmhMain.java
+// Location: jmh/benchmark/JmhMain.java
+// Purpose: Entry point of benchmarks.jar, runs JMH with machine-readable results by default
+// ============================================================
+
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * JMH Main
+ * Same as org.openjdk.jmh.Main, except that results are written to
+ * jmh-results.json unless -rf is given, so every run leaves a file that
+ * can be compared with the one of an earlier release
+ *
+ * Suite (one class per group of BenchmarkRunner cases):
+ * - MenuJmh         menu.* queries, @Param menuSize 20 to 1M
+ * - MenuImportJmh   menu.import, @Param items 1000 to 100000
+ * - OrderJmh        order.*, render.* and codec.* cases
+ * - QueueJmh        queue.offerPoll on one thread and on all cores
+ *
+ * Usage: java -jar target/benchmarks.jar [JMH options]
+ *   MenuJmh -p menuSize=20,1000       Only some benchmarks / sizes
+ *   -prof gc                          Adds gc.alloc.rate.norm (bytes allocated per operation)
+ *   -rf csv -rff results.csv          CSV instead of JSON
+ *   -h                                All JMH options
+ */
+public final class JmhMain {
+
+    private JmhMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> options = new ArrayList<>(Arrays.asList(args));
+        if (!options.contains("-rf")) {
+            options.addAll(0, List.of("-rf", "json", "-rff", "jmh-results.json"));
+        }
+        org.openjdk.jmh.Main.main(options.toArray(new String[0]));
+    }
+}
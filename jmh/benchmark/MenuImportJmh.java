@@ -0,0 +1,47 @@
+// ============================================================
+// File: MenuImportJmh.java
+// Location: jmh/benchmark/MenuImportJmh.java
+// Purpose: JMH version of menu.import, per number of imported items
+// ============================================================
+
+package benchmark;
+
+import model.MenuItem;
+import org.openjdk.jmh.annotations.*;
+import util.Logger;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Menu Import JMH
+ * menu.import (MenuBenchmarks.importAndRemove): items imported one at a
+ * time through validateMenuItem, isNameDuplicate and addMenuItem into an
+ * empty menu, then removed again
+ * One operation is the whole import, so the score is time per import;
+ * divided by items it should stay flat as items grows
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MenuImportJmh {
+
+    private static final long SEED = 42;
+
+    @Param({"1000", "10000", "100000"})
+    public int items;
+
+    private MenuItem[] batch;
+
+    @Setup(Level.Trial)
+    public void createBatch() {
+        Logger.setLevel(Logger.Level.WARN);
+        batch = MenuBenchmarks.importBatch(items, SEED);
+    }
+
+    @Benchmark
+    public int menuImport() {
+        return MenuBenchmarks.importAndRemove(batch);
+    }
+}
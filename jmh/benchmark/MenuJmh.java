@@ -0,0 +1,120 @@
+// ============================================================
+// File: MenuJmh.java
+// Location: jmh/benchmark/MenuJmh.java
+// Purpose: JMH version of the MenuService query benchmarks, per menu size
+// ============================================================
+
+package benchmark;
+
+import model.MenuItem;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.ThreadParams;
+import service.MenuService;
+import util.Logger;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Menu JMH
+ * The menu.* cases of MenuBenchmarks on the same generated menu
+ * (MenuBenchmarks.growTo), one fork per menu size
+ * getByIdContended runs on every core, the rest on one thread
+ *
+ * The 1M-item menu needs a heap of about 4 GB, hence -Xmx4g in the fork
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class MenuJmh {
+
+    private static final long SEED = 42;
+
+    @Param({"20", "1000", "100000", "1000000"})
+    public int menuSize;
+
+    @Setup(Level.Trial)
+    public void fillMenu() {
+        Logger.setLevel(Logger.Level.WARN);
+        new MenuBenchmarks(SEED).growTo(menuSize);
+    }
+
+    /**
+     * Random inputs of one benchmark thread, drawn before measuring
+     */
+    @State(Scope.Thread)
+    public static class Keys {
+        final String[] ids = new String[MenuBenchmarks.KEYS];
+        final double[] lows = new double[MenuBenchmarks.KEYS];
+        SplittableRandom random;
+        int next;
+
+        @Setup(Level.Trial)
+        public void draw(MenuJmh menu, ThreadParams thread) {
+            random = new SplittableRandom(SEED * 31 + thread.getThreadIndex());
+            for (int i = 0; i < MenuBenchmarks.KEYS; i++) {
+                ids[i] = MenuBenchmarks.idOf(random.nextInt(menu.menuSize));
+                lows[i] = 1 + random.nextInt(499);
+            }
+        }
+
+        int nextKey() {
+            return next++ & (MenuBenchmarks.KEYS - 1);
+        }
+
+        String dish() {
+            return MenuBenchmarks.DISHES[random.nextInt(MenuBenchmarks.DISHES.length)];
+        }
+
+        String category() {
+            return MenuBenchmarks.CATEGORIES[random.nextInt(MenuBenchmarks.CATEGORIES.length)];
+        }
+    }
+
+    // ==================== Benchmarks ====================
+
+    @Benchmark
+    public MenuItem getById(Keys keys) {
+        return MenuService.getMenuItemById(keys.ids[keys.nextKey()]);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public MenuItem getByIdContended(Keys keys) {
+        return MenuService.getMenuItemById(keys.ids[keys.nextKey()]);
+    }
+
+    @Benchmark
+    public List<MenuItem> priceRange(Keys keys) {
+        double low = keys.lows[keys.nextKey()];
+        return MenuService.getMenuByPriceRange(low, low + 0.99);
+    }
+
+    @Benchmark
+    public List<MenuItem> searchByName(Keys keys) {
+        return MenuService.searchMenuByName(keys.dish());
+    }
+
+    @Benchmark
+    public List<MenuItem> searchByPrefix(Keys keys) {
+        return MenuService.searchMenuByPrefix(keys.dish().substring(0, 3));
+    }
+
+    @Benchmark
+    public List<MenuItem> byCategory(Keys keys) {
+        return MenuService.getMenuByCategory(keys.category());
+    }
+
+    @Benchmark
+    public int countByCategory(Keys keys) {
+        return MenuService.getMenuCountByCategory(keys.category());
+    }
+
+    @Benchmark
+    public MenuItem cheapest() {
+        return MenuService.getCheapestItem();
+    }
+}
@@ -0,0 +1,136 @@
+// ============================================================
+// File: OrderJmh.java
+// Location: jmh/benchmark/OrderJmh.java
+// Purpose: JMH version of the order, rendering and codec benchmarks
+// ============================================================
+
+package benchmark;
+
+import model.MenuItem;
+import model.Order;
+import model.OrderItem;
+import model.OrderPriority;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.ThreadParams;
+import storage.BinaryCodec;
+import util.Logger;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Order JMH
+ * The order.*, render.* and codec.* cases of OrderBenchmarks, on the same
+ * private 20-item menu and with the same case bodies
+ * Run with -prof gc to compare bytes per operation, e.g.
+ * renderSummaryCached against renderSummaryFormat, or the three codecs
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderJmh {
+
+    private static final long SEED = 42;
+
+    private List<MenuItem> menu;
+    private Function<String, MenuItem> lookup;
+    private Map<String, MenuItem> menuById;
+    private Random random;
+    private int number;
+
+    private Order open;                     // order.addRemoveItem
+    private MenuItem followed;              // order.menuPriceChange100
+    private List<Order> followers;
+    private long price = 100;
+    private Order finished;                 // render.* and codec.*
+    private final ByteBuffer buffer = ByteBuffer.allocate(1024);
+
+    @Setup(Level.Trial)
+    public void createOrders(ThreadParams thread) {
+        Logger.setLevel(Logger.Level.WARN);
+        int index = thread.getThreadIndex();
+        menu = OrderBenchmarks.menu(SEED);
+        menuById = OrderBenchmarks.byId(menu);
+        lookup = menuById::get;
+        random = new Random(SEED + index);
+
+        open = new Order(1, OrderBenchmarks.lines(menu, random), OrderPriority.NORMAL);
+        followed = new MenuItem("P" + index, "Price Bench Dish", 1, "Main Dish");
+        followers = new ArrayList<>(OrderBenchmarks.PRICE_FOLLOWERS);
+        for (int i = 0; i < OrderBenchmarks.PRICE_FOLLOWERS; i++) {
+            followers.add(new Order(i + 1, List.of(new OrderItem(followed, 1 + i % 3))));
+        }
+        finished = OrderBenchmarks.finishedOrder(menu, 7, new Random(SEED + index));
+    }
+
+    // ==================== Order ====================
+
+    @Benchmark
+    public long orderCreateAndTotal() {
+        Order order = new Order(++number, OrderBenchmarks.lines(menu, random), OrderPriority.NORMAL);
+        long total = order.getTotalPriceMinor();
+        // Finish it so its lines stop following menu prices
+        OrderBenchmarks.finish(order);
+        return total;
+    }
+
+    @Benchmark
+    public long orderAddRemoveItem() {
+        OrderItem line = new OrderItem(menu.get(random.nextInt(menu.size())), 2);
+        open.addItem(line);
+        long total = open.getTotalPriceMinor();
+        open.removeItem(line);
+        return total;
+    }
+
+    @Benchmark
+    public long orderMenuPriceChange100() {
+        price = price == 100 ? 250 : 100;
+        followed.setPriceMinor(price);
+        return followers.get(0).getTotalPriceMinor();
+    }
+
+    // ==================== Rendering ====================
+
+    @Benchmark
+    public String renderSummaryCached() {
+        return finished.getSummary();
+    }
+
+    @Benchmark
+    public String renderSummaryFormat() {
+        return OrderBenchmarks.summaryFormat(finished);
+    }
+
+    @Benchmark
+    public String renderDetail() {
+        return finished.toString();
+    }
+
+    // ==================== Codecs ====================
+
+    @Benchmark
+    public Order codecBinaryRoundTrip() {
+        buffer.clear();
+        BinaryCodec.encodeOrder(finished, buffer);
+        buffer.flip();
+        return BinaryCodec.decodeOrder(buffer, lookup);
+    }
+
+    @Benchmark
+    public Order codecJavaSerialization() throws Exception {
+        return OrderBenchmarks.javaRoundTrip(finished, menuById);
+    }
+
+    @Benchmark
+    public Order codecJson() {
+        return OrderBenchmarks.jsonRoundTrip(finished, menuById);
+    }
+}
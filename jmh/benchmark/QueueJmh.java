@@ -0,0 +1,58 @@
+// ============================================================
+// File: QueueJmh.java
+// Location: jmh/benchmark/QueueJmh.java
+// Purpose: JMH version of queue.offerPoll on DataManager.orderPriorityQueue
+// ============================================================
+
+package benchmark;
+
+import model.Order;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.ThreadParams;
+import service.DataManager;
+import util.Logger;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queue JMH
+ * queue.offerPoll: offer one order and poll one from the shared order
+ * queue, on one thread and on all cores (contended)
+ * Each thread offers its own done orders (OrderBenchmarks.queueOrders)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueueJmh {
+
+    private static final long SEED = 42;
+
+    private Order[] orders;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void createOrders(ThreadParams thread) {
+        Logger.setLevel(Logger.Level.WARN);
+        int index = thread.getThreadIndex();
+        orders = OrderBenchmarks.queueOrders(OrderBenchmarks.menu(SEED), index, new Random(SEED + index));
+    }
+
+    @Benchmark
+    public Order offerPoll() {
+        return offerAndPoll();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Order offerPollContended() {
+        return offerAndPoll();
+    }
+
+    private Order offerAndPoll() {
+        DataManager.orderPriorityQueue.offer(orders[next++ & (OrderBenchmarks.QUEUE_ORDERS_PER_THREAD - 1)]);
+        return DataManager.orderPriorityQueue.poll();
+    }
+}
@@ -0,0 +1,99 @@
+// ============================================================
+// File: ArchiveBenchmarks.java
+// Location: src/benchmark/ArchiveBenchmarks.java
+// Purpose: Order archive query benchmarks at different core counts
+// ============================================================
+
+package benchmark;
+
+import benchmark.BenchmarkRunner.Benchmark;
+import model.MenuItem;
+import model.Order;
+import model.OrderItem;
+import model.OrderPriority;
+import model.OrderStatus;
+import service.ArchiveQuery;
+import service.ArchiveRow;
+import service.OrderArchive;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Archive Benchmarks
+ * Queries over a private archive of generated orders (90 days, 1-6 lines,
+ * 2% cancelled), each run on a ForkJoinPool of a given size so the
+ * speed-up per core can be read from the results:
+ * - archive.revenueByHour      Group-by hour, sum of totals
+ * - archive.basketSize         Average total quantity of completed orders
+ * - archive.unitsByCategory    Line-level sum of quantities per category
+ * - archive.vipRevenueMonth    Time range + priority filter, sum of totals
+ * - archive.itemPairs          Top 10 items ordered together
+ */
+final class ArchiveBenchmarks {
+
+    private static final int MENU_ITEMS = 200;
+    private static final int DAYS = 90;
+    private static final String[] CATEGORIES = {"Main Dish", "Side", "Drink", "Dessert", "Soup", "Salad"};
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private final OrderArchive archive = new OrderArchive();
+
+    /**
+     * Generate and archive the orders (once, before running the benchmarks)
+     */
+    void load(int orders, long seed) {
+        Random random = new Random(seed);
+        List<MenuItem> menu = new ArrayList<>(MENU_ITEMS);
+        for (int i = 0; i < MENU_ITEMS; i++) {
+            MenuItem item = new MenuItem(String.format("A%03d", i), "Archive Bench Dish " + i, 1,
+                                         CATEGORIES[i % CATEGORIES.length]);
+            item.setPriceMinor(500 + random.nextInt(30_000));
+            menu.add(item);
+        }
+
+        long spanSeconds = DAYS * 86_400L;
+        for (int n = 0; n < orders; n++) {
+            int lineCount = 1 + random.nextInt(6);
+            List<OrderItem> lines = new ArrayList<>(lineCount);
+            for (int l = 0; l < lineCount; l++) {
+                lines.add(new OrderItem(menu.get(random.nextInt(MENU_ITEMS)), 1 + random.nextInt(3)));
+            }
+            OrderStatus status = random.nextInt(50) == 0 ? OrderStatus.CANCELLED : OrderStatus.DONE;
+            LocalDateTime time = START.plusSeconds(spanSeconds * n / orders);
+            archive.append(new Order(n + 1, lines, OrderPriority.fromOrdinal(random.nextInt(3)), time, status));
+        }
+    }
+
+    List<Benchmark> create(ForkJoinPool pool) {
+        List<Benchmark> benchmarks = new ArrayList<>();
+
+        benchmarks.add(new Benchmark("archive.revenueByHour", false,
+                thread -> blackhole -> blackhole.consume(query(pool).done().revenueByHour())));
+
+        benchmarks.add(new Benchmark("archive.basketSize", false,
+                thread -> blackhole -> blackhole.consume(query(pool).done().averageBasketSize())));
+
+        benchmarks.add(new Benchmark("archive.unitsByCategory", false,
+                thread -> blackhole -> blackhole.consume(query(pool).done().sumByCategory(
+                        (row, line) -> row.getQuantity(line)))));
+
+        LocalDateTime monthStart = START.plusDays(30);
+        benchmarks.add(new Benchmark("archive.vipRevenueMonth", false,
+                thread -> blackhole -> blackhole.consume(query(pool).between(monthStart, monthStart.plusDays(30))
+                        .withPriority(OrderPriority.VIP).done().sum(ArchiveRow::getTotalPriceMinor))));
+
+        benchmarks.add(new Benchmark("archive.itemPairs", false,
+                thread -> blackhole -> blackhole.consume(query(pool).done().topItemPairs(10))));
+
+        return benchmarks;
+    }
+
+    private ArchiveQuery query(ForkJoinPool pool) {
+        return archive.query().on(pool);
+    }
+
+    long size() {
+        return archive.size();
+    }
+}
@@ -0,0 +1,438 @@
+// ============================================================
+// File: BenchmarkRunner.java
+// Location: src/benchmark/BenchmarkRunner.java
+// Purpose: Runs the menu and order hot-path benchmarks and writes the results as CSV
+// ============================================================
+
+package benchmark;
+
+import util.Logger;
+import util.Metrics;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.regex.Pattern;
+
+/**
+ * Benchmark Runner
+ * Small throughput harness in the style of JMH, with no dependencies:
+ * - each benchmark runs warmup iterations (discarded), then measured ones
+ * - an iteration calls the operation in a loop for a fixed time on
+ *   1..n threads started together; the score is total operations per second
+ * - results go to a Blackhole so the JIT cannot remove the work
+ * - per-thread state (random keys, orders) is created once per benchmark
+ *   and reused across iterations
+ * - bytes allocated per operation are measured with the per-thread
+ *   allocation counter of com.sun.management.ThreadMXBean (empty where
+ *   the JVM does not support it, and for archive queries, whose work runs
+ *   on pool threads the counter does not see)
+ *
+ * Order and codec benchmarks run once; menu.import runs at every import
+ * size on the empty menu; the other menu benchmarks run at every menu
+ * size, growing the same menu from the smallest size to the largest
+ * Contended benchmarks run at every thread count, the rest on one thread
+ * Archive benchmarks run one query at a time on a ForkJoinPool of each
+ * thread count (threads column = pool size), showing how queries scale
+ *
+ * Results are printed and written to a CSV file with one row per
+ * benchmark/size/thread count:
+ *   benchmark,size,threads,iterations,score,stdev,min,max,unit,bytes_per_op
+ * (size is the number of items imported for menu.import, empty for
+ * benchmarks that do not depend on the menu)
+ *
+ * Usage: java -Xmx4g benchmark.BenchmarkRunner [options]
+ *   --sizes 20,1000,100000,1000000   Menu sizes
+ *   --imports 1000,10000,100000      Items per menu.import operation
+ *   --threads 1,4                    Thread counts for contended benchmarks (default 1 and all cores)
+ *   --warmup 3                       Warmup iterations
+ *   --iterations 5                   Measured iterations
+ *   --time 1000                      Milliseconds per iteration
+ *   --filter menu\.                  Only benchmarks whose name matches this regex
+ *   --seed 42                        Random seed for generated data
+ *   --out benchmark-results.csv      CSV output file
+ *   --metrics on                     Service metrics on or off (compare the two to see their overhead)
+ *   --archive 1000000                Orders in the archive benchmarks (0: skip them)
+ * The 1M-item menu needs a heap of about 4 GB, the archive about 80 bytes per order
+ *
+ * The same cases also exist as a JMH suite (jmh/benchmark, built with
+ * mvn -Pjmh package, see JmhMain); this runner needs nothing but the JDK
+ * and also covers the archive queries
+ */
+public class BenchmarkRunner {
+
+    /**
+     * One benchmarked operation, called in a loop by one thread
+     */
+    interface Operation {
+        void run(Blackhole blackhole) throws Exception;
+    }
+
+    /**
+     * Creates the operation (and its private state) for one benchmark thread
+     */
+    interface OperationFactory {
+        Operation create(int thread);
+    }
+
+    /**
+     * @param name Benchmark name, group.case
+     * @param contended Whether to run at every thread count
+     * @param factory Creates the per-thread operation
+     */
+    record Benchmark(String name, boolean contended, OperationFactory factory) {
+    }
+
+    /**
+     * Measured result of one benchmark at one size and thread count
+     * Scores are operations per second; bytesPerOp is the mean over the
+     * measured iterations, NaN if not measured
+     */
+    record Result(String benchmark, String size, int threads, int iterations,
+                  double score, double stdev, double min, double max, double bytesPerOp) {
+    }
+
+    /**
+     * One iteration: operations per second over all threads, and bytes
+     * allocated per operation (NaN if not measured)
+     */
+    private record Iteration(double score, double bytesPerOp) {
+    }
+
+    // Per-thread allocation counter, null if this JVM does not provide it
+    private static final com.sun.management.ThreadMXBean ALLOCATION = allocationCounter();
+
+    /**
+     * Run settings, parsed from the command line
+     */
+    record Options(int[] sizes, int[] importSizes, int[] threads, int warmup, int iterations, long timeMillis,
+                   Pattern filter, long seed, Path out, boolean metrics, int archiveOrders) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = parseOptions(args);
+        Logger.setLevel(Logger.Level.WARN);
+        Metrics.setEnabled(options.metrics());
+
+        System.out.printf("JDK %s, %d cores, max heap %d MB%n", Runtime.version(),
+                          Runtime.getRuntime().availableProcessors(),
+                          Runtime.getRuntime().maxMemory() >> 20);
+        System.out.printf("%d warmup + %d measured iterations of %d ms, metrics %s%n%n",
+                          options.warmup(), options.iterations(), options.timeMillis(),
+                          options.metrics() ? "on" : "off");
+
+        List<Result> results = new ArrayList<>();
+        runAll(OrderBenchmarks.create(options.seed()), "", options, results);
+
+        for (int items : options.importSizes()) {
+            runAll(List.of(MenuBenchmarks.importBenchmark(items, options.seed())), String.valueOf(items),
+                   options, results);
+        }
+
+        MenuBenchmarks menu = new MenuBenchmarks(options.seed());
+        for (int size : options.sizes()) {
+            menu.growTo(size);
+            runAll(menu.create(), String.valueOf(size), options, results);
+        }
+
+        ArchiveBenchmarks archive = new ArchiveBenchmarks();
+        if (options.archiveOrders() > 0 && anySelected(archive.create(ForkJoinPool.commonPool()), options)) {
+            archive.load(options.archiveOrders(), options.seed());
+            for (int parallelism : options.threads()) {
+                ForkJoinPool pool = new ForkJoinPool(parallelism);
+                try {
+                    runOnPool(archive.create(pool), String.valueOf(archive.size()), parallelism, options, results);
+                } finally {
+                    pool.shutdown();
+                }
+            }
+        }
+
+        writeCsv(options.out(), results);
+        System.out.printf("%nWrote %d results to %s%n", results.size(), options.out().toAbsolutePath());
+        Logger.flush();
+    }
+
+    // ==================== Measurement ====================
+
+    private static void runAll(List<Benchmark> benchmarks, String size, Options options, List<Result> results)
+            throws InterruptedException {
+        for (Benchmark benchmark : benchmarks) {
+            if (!options.filter().matcher(benchmark.name()).find()) {
+                continue;
+            }
+            int[] threadCounts = benchmark.contended() ? options.threads() : new int[] {1};
+            for (int threads : threadCounts) {
+                report(measure(benchmark, size, threads, options), results);
+            }
+        }
+    }
+
+    /**
+     * Run benchmarks on one caller thread, reporting the pool size they use as the thread count
+     */
+    private static void runOnPool(List<Benchmark> benchmarks, String size, int parallelism, Options options,
+                                  List<Result> results) throws InterruptedException {
+        for (Benchmark benchmark : benchmarks) {
+            if (!options.filter().matcher(benchmark.name()).find()) {
+                continue;
+            }
+            Result r = measure(benchmark, size, 1, options);
+            // The caller thread only waits for the pool, its allocations say nothing
+            report(new Result(r.benchmark(), r.size(), parallelism, r.iterations(),
+                              r.score(), r.stdev(), r.min(), r.max(), Double.NaN), results);
+        }
+    }
+
+    private static boolean anySelected(List<Benchmark> benchmarks, Options options) {
+        for (Benchmark benchmark : benchmarks) {
+            if (options.filter().matcher(benchmark.name()).find()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void report(Result result, List<Result> results) {
+        System.out.printf("%-30s %8s %3d thr %16.1f +- %12.1f ops/s %12s%n", result.benchmark(),
+                          result.size(), result.threads(), result.score(), result.stdev(),
+                          Double.isNaN(result.bytesPerOp()) ? ""
+                              : String.format(Locale.ROOT, "%.1f B/op", result.bytesPerOp()));
+        results.add(result);
+    }
+
+    /**
+     * Run the warmup and measured iterations of one benchmark
+     */
+    static Result measure(Benchmark benchmark, String size, int threads, Options options)
+            throws InterruptedException {
+        Operation[] operations = new Operation[threads];
+        for (int t = 0; t < threads; t++) {
+            operations[t] = benchmark.factory().create(t);
+        }
+
+        for (int i = 0; i < options.warmup(); i++) {
+            runIteration(operations, options.timeMillis());
+        }
+        double[] scores = new double[options.iterations()];
+        double bytesPerOp = 0;
+        for (int i = 0; i < scores.length; i++) {
+            Iteration iteration = runIteration(operations, options.timeMillis());
+            scores[i] = iteration.score();
+            bytesPerOp += iteration.bytesPerOp() / scores.length;
+        }
+
+        double mean = 0;
+        double min = Double.MAX_VALUE;
+        double max = 0;
+        for (double score : scores) {
+            mean += score;
+            min = Math.min(min, score);
+            max = Math.max(max, score);
+        }
+        mean /= scores.length;
+        double variance = 0;
+        for (double score : scores) {
+            variance += (score - mean) * (score - mean);
+        }
+        double stdev = scores.length > 1 ? Math.sqrt(variance / (scores.length - 1)) : 0;
+        return new Result(benchmark.name(), size, threads, scores.length, mean, stdev, min, max, bytesPerOp);
+    }
+
+    /**
+     * Run every operation on its own thread for timeMillis
+     *
+     * @return Total operations per second and bytes allocated per operation over all threads
+     */
+    private static Iteration runIteration(Operation[] operations, long timeMillis) throws InterruptedException {
+        int threads = operations.length;
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        IterationControl control = new IterationControl(threads);
+
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            workers[t] = new Thread(() -> control.runWorker(thread, operations[thread], ready, start),
+                                    "bench-" + t);
+            workers[t].start();
+        }
+
+        ready.await();
+        start.countDown();
+        Thread.sleep(timeMillis);
+        control.stop = true;
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        if (control.failure != null) {
+            throw new IllegalStateException("Benchmark operation failed", control.failure);
+        }
+        double total = 0;
+        long operationCount = 0;
+        long allocated = 0;
+        for (int t = 0; t < threads; t++) {
+            total += control.rates[t];
+            operationCount += control.counts[t];
+            allocated += control.allocated[t];
+        }
+        double bytesPerOp = ALLOCATION == null || operationCount == 0 ? Double.NaN
+                                                                      : (double) allocated / operationCount;
+        return new Iteration(total, bytesPerOp);
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean)
+                || !bean.isThreadAllocatedMemorySupported()) {
+            return null;
+        }
+        bean.setThreadAllocatedMemoryEnabled(true);
+        return bean;
+    }
+
+    private static long allocatedBytes() {
+        return ALLOCATION == null ? 0 : ALLOCATION.getCurrentThreadAllocatedBytes();
+    }
+
+    /**
+     * Shared state of one iteration: the stop flag and each thread's rate,
+     * operation count and allocated bytes
+     */
+    private static final class IterationControl {
+        volatile boolean stop;
+        volatile Throwable failure;
+        final double[] rates;           // Written by each worker before it ends, read after join
+        final long[] counts;
+        final long[] allocated;
+        long sink;                      // Blackhole contents, keeps them observable
+
+        IterationControl(int threads) {
+            rates = new double[threads];
+            counts = new long[threads];
+            allocated = new long[threads];
+        }
+
+        void runWorker(int thread, Operation operation, CountDownLatch ready, CountDownLatch start) {
+            Blackhole blackhole = new Blackhole();
+            try {
+                ready.countDown();
+                start.await();
+                long count = 0;
+                long allocatedBefore = allocatedBytes();
+                long begin = System.nanoTime();
+                while (!stop) {
+                    operation.run(blackhole);
+                    count++;
+                }
+                long elapsed = System.nanoTime() - begin;
+                allocated[thread] = allocatedBytes() - allocatedBefore;
+                counts[thread] = count;
+                rates[thread] = count * 1e9 / elapsed;
+            } catch (Throwable e) {
+                failure = e;
+                stop = true;
+            }
+            synchronized (this) {
+                sink += blackhole.drain();
+            }
+        }
+    }
+
+    // ==================== Options and Output ====================
+
+    private static Options parseOptions(String[] args) {
+        int cores = Runtime.getRuntime().availableProcessors();
+        int[] sizes = {20, 1_000, 100_000, 1_000_000};
+        int[] importSizes = {1_000, 10_000, 100_000};
+        int[] threads = cores > 1 ? new int[] {1, cores} : new int[] {1};
+        int warmup = 3;
+        int iterations = 5;
+        long timeMillis = 1000;
+        Pattern filter = Pattern.compile("");
+        long seed = 42;
+        Path out = Paths.get("benchmark-results.csv");
+        boolean metrics = true;
+        int archiveOrders = 1_000_000;
+
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + option);
+            }
+            String value = args[++i];
+            switch (option) {
+                case "--sizes":
+                    sizes = parseInts(value);
+                    Arrays.sort(sizes);
+                    break;
+                case "--imports":
+                    importSizes = parseInts(value);
+                    break;
+                case "--threads":
+                    threads = parseInts(value);
+                    break;
+                case "--warmup":
+                    warmup = Integer.parseInt(value);
+                    break;
+                case "--iterations":
+                    iterations = Integer.parseInt(value);
+                    break;
+                case "--time":
+                    timeMillis = Long.parseLong(value);
+                    break;
+                case "--filter":
+                    filter = Pattern.compile(value);
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(value);
+                    break;
+                case "--out":
+                    out = Paths.get(value);
+                    break;
+                case "--metrics":
+                    metrics = !"off".equals(value);
+                    break;
+                case "--archive":
+                    archiveOrders = Integer.parseInt(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + option);
+            }
+        }
+        if (iterations < 1 || warmup < 0 || timeMillis < 1) {
+            throw new IllegalArgumentException("Need at least one measured iteration and a positive time");
+        }
+        return new Options(sizes, importSizes, threads, warmup, iterations, timeMillis, filter, seed, out, metrics, archiveOrders);
+    }
+
+    private static int[] parseInts(String value) {
+        String[] parts = value.split(",");
+        int[] result = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            result[i] = Integer.parseInt(parts[i].trim());
+            if (result[i] < 1) {
+                throw new IllegalArgumentException("Must be positive: " + value);
+            }
+        }
+        return result;
+    }
+
+    private static void writeCsv(Path out, List<Result> results) throws IOException {
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(out, StandardCharsets.UTF_8))) {
+            writer.println("benchmark,size,threads,iterations,score,stdev,min,max,unit,bytes_per_op");
+            for (Result r : results) {
+                writer.printf(Locale.ROOT, "%s,%s,%d,%d,%.3f,%.3f,%.3f,%.3f,ops/s,%s%n",
+                              r.benchmark(), r.size(), r.threads(), r.iterations(),
+                              r.score(), r.stdev(), r.min(), r.max(),
+                              Double.isNaN(r.bytesPerOp()) ? "" : String.format(Locale.ROOT, "%.1f", r.bytesPerOp()));
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+// ============================================================
+// File: Blackhole.java
+// Location: src/benchmark/Blackhole.java
+// Purpose: Sink for benchmark results so the JIT cannot drop the work
+// ============================================================
+
+package benchmark;
+
+/**
+ * Blackhole
+ * Every benchmark operation hands its result to consume(); the values are
+ * stored in heap fields the JIT cannot prove unused, so the computation
+ * (and any allocation) that produced them cannot be eliminated
+ *
+ * One instance per benchmark thread, never shared
+ */
+public final class Blackhole {
+
+    private Object lastObject;
+    private long accumulator;
+
+    public void consume(Object value) {
+        lastObject = value;
+    }
+
+    public void consume(long value) {
+        accumulator += value;
+    }
+
+    public void consume(boolean value) {
+        accumulator += value ? 1 : 0;
+    }
+
+    /**
+     * Read back everything consumed, keeps the stores observable
+     */
+    long drain() {
+        long result = accumulator + (lastObject == null ? 0 : 1);
+        lastObject = null;
+        accumulator = 0;
+        return result;
+    }
+}
@@ -0,0 +1,194 @@
+// ============================================================
+// File: MenuBenchmarks.java
+// Location: src/benchmark/MenuBenchmarks.java
+// Purpose: MenuService lookup, range, search and category benchmarks at a given menu size
+// ============================================================
+
+package benchmark;
+
+import benchmark.BenchmarkRunner.Benchmark;
+import model.MenuItem;
+import service.MenuService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Menu Benchmarks
+ * Fills the real menu (DataManager, through MenuService.addAll) with
+ * generated items and benchmarks the MenuService queries against it:
+ * - menu.getById          HashMap lookup of a random existing ID (contended)
+ * - menu.priceRange       Items in a random $1 price window
+ * - menu.searchByName     Keyword search for one of 16 dish words (~1/16 of the menu)
+ * - menu.searchByPrefix   Prefix search for the first 3 letters of a dish word (~1/16 of the menu)
+ * - menu.byCategory       All items of one of 4 categories (~1/4 of the menu)
+ * - menu.countByCategory  Item count of one category
+ * - menu.cheapest         Cheapest item
+ *
+ * Item i is "<adjective i % 8> <dish (i / 8) % 16> <i>", priced uniformly
+ * between $1 and $500, so result sizes grow in proportion to the menu
+ *
+ * Separately, importBenchmark(n) gives menu.import: n new items imported
+ * the way the management page does it, one at a time through
+ * validateMenuItem, isNameDuplicate and addMenuItem, then removed again
+ * One operation is the whole import; time per item should not grow with n
+ *
+ * The generated names, categories and IDs are package-private so the JMH
+ * suite (jmh/benchmark) queries the same menu
+ */
+final class MenuBenchmarks {
+
+    private static final String[] ADJECTIVES = {
+        "Spicy", "Crispy", "Smoked", "Golden", "Sweet", "Grilled", "Braised", "Fresh"
+    };
+    static final String[] DISHES = {
+        "Beef", "Chicken", "Pork", "Tofu", "Noodles", "Rice", "Dumplings", "Salmon",
+        "Shrimp", "Curry", "Salad", "Soup", "Tea", "Coffee", "Pudding", "Cake"
+    };
+    static final String[] CATEGORIES = {"Main Dish", "Side Dish", "Beverage", "Dessert"};
+    static final int KEYS = 4096;      // Pre-drawn random inputs per thread, power of two
+
+    private final long seed;
+    private final SplittableRandom prices;
+    private int size;
+
+    MenuBenchmarks(long seed) {
+        this.seed = seed;
+        this.prices = new SplittableRandom(seed);
+    }
+
+    /**
+     * Add generated items until the menu holds newSize of them
+     * Sizes only grow, the items added for a smaller size are kept
+     */
+    void growTo(int newSize) {
+        if (newSize <= size) {
+            return;
+        }
+        List<MenuItem> batch = new ArrayList<>(newSize - size);
+        for (int i = size; i < newSize; i++) {
+            String name = ADJECTIVES[i % ADJECTIVES.length] + " " + DISHES[(i / ADJECTIVES.length) % DISHES.length]
+                          + " " + i;
+            MenuItem item = new MenuItem(idOf(i), name, 1, CATEGORIES[i % CATEGORIES.length]);
+            item.setPriceMinor(100 + prices.nextInt(49_901));
+            batch.add(item);
+        }
+        int added = MenuService.addAll(batch).getAddedCount();
+        if (added != batch.size()) {
+            throw new IllegalStateException("Menu already holds benchmark IDs, added only " + added);
+        }
+        size = newSize;
+    }
+
+    static String idOf(int index) {
+        return "B" + index;
+    }
+
+    /**
+     * menu.import of the given number of items (see class comment)
+     */
+    static Benchmark importBenchmark(int items, long seed) {
+        return new Benchmark("menu.import", false, thread -> {
+            MenuItem[] batch = importBatch(items, seed);
+            return blackhole -> blackhole.consume(importAndRemove(batch));
+        });
+    }
+
+    /**
+     * Items for menu.import, not on the menu yet
+     */
+    static MenuItem[] importBatch(int items, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        MenuItem[] batch = new MenuItem[items];
+        for (int i = 0; i < items; i++) {
+            batch[i] = new MenuItem("I" + i, "Imported " + DISHES[i % DISHES.length] + " " + i, 1,
+                                    CATEGORIES[i % CATEGORIES.length]);
+            batch[i].setPriceMinor(100 + random.nextInt(49_901));
+        }
+        return batch;
+    }
+
+    /**
+     * One menu.import operation: import the batch item by item, then remove it again
+     *
+     * @return Number of items imported (always the whole batch)
+     */
+    static int importAndRemove(MenuItem[] batch) {
+        int added = 0;
+        for (MenuItem item : batch) {
+            if (MenuService.validateMenuItem(item).isEmpty()
+                    && !MenuService.isNameDuplicate(item.getName())
+                    && MenuService.addMenuItem(item)) {
+                added++;
+            }
+        }
+        if (added != batch.length) {
+            throw new IllegalStateException("Imported only " + added + " of " + batch.length + " items");
+        }
+        for (MenuItem item : batch) {
+            MenuService.removeMenuItem(item.getId());
+        }
+        return added;
+    }
+
+    List<Benchmark> create() {
+        int menuSize = size;
+        List<Benchmark> benchmarks = new ArrayList<>();
+
+        benchmarks.add(new Benchmark("menu.getById", true, thread -> {
+            String[] ids = new String[KEYS];
+            SplittableRandom random = random(thread);
+            for (int i = 0; i < KEYS; i++) {
+                ids[i] = idOf(random.nextInt(menuSize));
+            }
+            int[] next = {0};
+            return blackhole -> blackhole.consume(MenuService.getMenuItemById(ids[next[0]++ & (KEYS - 1)]));
+        }));
+
+        benchmarks.add(new Benchmark("menu.priceRange", false, thread -> {
+            double[] lows = new double[KEYS];
+            SplittableRandom random = random(thread);
+            for (int i = 0; i < KEYS; i++) {
+                lows[i] = 1 + random.nextInt(499);
+            }
+            int[] next = {0};
+            return blackhole -> {
+                double low = lows[next[0]++ & (KEYS - 1)];
+                blackhole.consume(MenuService.getMenuByPriceRange(low, low + 0.99));
+            };
+        }));
+
+        benchmarks.add(new Benchmark("menu.searchByName", false, thread -> {
+            SplittableRandom random = random(thread);
+            return blackhole -> blackhole.consume(
+                    MenuService.searchMenuByName(DISHES[random.nextInt(DISHES.length)]));
+        }));
+
+        benchmarks.add(new Benchmark("menu.searchByPrefix", false, thread -> {
+            SplittableRandom random = random(thread);
+            return blackhole -> blackhole.consume(
+                    MenuService.searchMenuByPrefix(DISHES[random.nextInt(DISHES.length)].substring(0, 3)));
+        }));
+
+        benchmarks.add(new Benchmark("menu.byCategory", false, thread -> {
+            SplittableRandom random = random(thread);
+            return blackhole -> blackhole.consume(
+                    MenuService.getMenuByCategory(CATEGORIES[random.nextInt(CATEGORIES.length)]));
+        }));
+
+        benchmarks.add(new Benchmark("menu.countByCategory", false, thread -> {
+            SplittableRandom random = random(thread);
+            return blackhole -> blackhole.consume(
+                    MenuService.getMenuCountByCategory(CATEGORIES[random.nextInt(CATEGORIES.length)]));
+        }));
+
+        benchmarks.add(new Benchmark("menu.cheapest", false,
+                thread -> blackhole -> blackhole.consume(MenuService.getCheapestItem())));
+
+        return benchmarks;
+    }
+
+    private SplittableRandom random(int thread) {
+        return new SplittableRandom(seed * 31 + thread);
+    }
+}
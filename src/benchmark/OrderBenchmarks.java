@@ -0,0 +1,455 @@
+// ============================================================
+// File: OrderBenchmarks.java
+// Location: src/benchmark/OrderBenchmarks.java
+// Purpose: Order, rendering, codec and order queue benchmarks
+// ============================================================
+
+package benchmark;
+
+import benchmark.BenchmarkRunner.Benchmark;
+import model.MenuItem;
+import model.Order;
+import model.OrderItem;
+import model.OrderPriority;
+import model.OrderStatus;
+import service.DataManager;
+import service.OrderScheduler;
+import storage.BinaryCodec;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Order Benchmarks
+ * Cases that do not depend on the menu size; they use a private set of
+ * menu items that is never added to the menu:
+ * - order.createAndTotal       Build a 5-line order and read its total
+ * - order.addRemoveItem        Add a line to an open order and take it off again
+ * - order.menuPriceChange100   Change the price of an item 100 open orders refer to
+ * - render.summaryCached       Order summary (cached String)
+ * - render.summaryFormat       Same text with String.format, as it was built before caching
+ * - render.detail              Full order text (toString)
+ * - codec.binaryRoundTrip      BinaryCodec encode + decode of a 5-line order
+ * - codec.javaSerialization    Same order data through ObjectOutputStream/ObjectInputStream
+ * - codec.json                 Same order data as UTF-8 JSON (hand-written, no library)
+ * - queue.offerPoll            Offer + poll on DataManager.orderPriorityQueue (contended)
+ *
+ * The fixtures and case bodies below are package-private so the JMH
+ * suite (jmh/benchmark) measures exactly the same work
+ */
+final class OrderBenchmarks {
+
+    private static final int MENU_ITEMS = 20;
+    private static final int LINES_PER_ORDER = 5;
+    static final int PRICE_FOLLOWERS = 100;
+    static final int QUEUE_ORDERS_PER_THREAD = 256;
+
+    private OrderBenchmarks() {
+    }
+
+    static List<Benchmark> create(long seed) {
+        List<MenuItem> menu = menu(seed);
+        Map<String, MenuItem> menuById = byId(menu);
+
+        // Encoded once here so the sizes can be compared next to the timings
+        Order sample = finishedOrder(menu, 1, new Random(seed));
+        ByteBuffer binary = ByteBuffer.allocate(1024);
+        BinaryCodec.encodeOrder(sample, binary);
+        System.out.printf("5-line order: BinaryCodec %d bytes, Java serialization %d bytes, JSON %d bytes%n",
+                          binary.position(), serialize(OrderData.of(sample)).length,
+                          OrderData.of(sample).toJson().getBytes(StandardCharsets.UTF_8).length);
+
+        List<Benchmark> benchmarks = new ArrayList<>();
+
+        benchmarks.add(new Benchmark("order.createAndTotal", false, thread -> {
+            Random r = new Random(seed + thread);
+            int[] number = {0};
+            return blackhole -> {
+                Order order = new Order(++number[0], lines(menu, r), OrderPriority.NORMAL);
+                blackhole.consume(order.getTotalPriceMinor());
+                // Finish it so its lines stop following menu prices
+                finish(order);
+            };
+        }));
+
+        benchmarks.add(new Benchmark("order.addRemoveItem", false, thread -> {
+            Random r = new Random(seed + thread);
+            Order order = new Order(1, lines(menu, r), OrderPriority.NORMAL);
+            return blackhole -> {
+                OrderItem line = new OrderItem(menu.get(r.nextInt(MENU_ITEMS)), 2);
+                order.addItem(line);
+                blackhole.consume(order.getTotalPriceMinor());
+                order.removeItem(line);
+            };
+        }));
+
+        benchmarks.add(new Benchmark("order.menuPriceChange100", false, thread -> {
+            MenuItem item = new MenuItem("P" + thread, "Price Bench Dish", 1, "Main Dish");
+            List<Order> followers = new ArrayList<>(PRICE_FOLLOWERS);
+            for (int i = 0; i < PRICE_FOLLOWERS; i++) {
+                followers.add(new Order(i + 1, List.of(new OrderItem(item, 1 + i % 3))));
+            }
+            long[] price = {100};
+            return blackhole -> {
+                price[0] = price[0] == 100 ? 250 : 100;
+                item.setPriceMinor(price[0]);
+                blackhole.consume(followers.get(0).getTotalPriceMinor());
+            };
+        }));
+
+        benchmarks.add(new Benchmark("render.summaryCached", false, thread -> {
+            Order order = finishedOrder(menu, 7, new Random(seed + thread));
+            return blackhole -> blackhole.consume(order.getSummary());
+        }));
+
+        benchmarks.add(new Benchmark("render.summaryFormat", false, thread -> {
+            Order order = finishedOrder(menu, 7, new Random(seed + thread));
+            return blackhole -> blackhole.consume(summaryFormat(order));
+        }));
+
+        benchmarks.add(new Benchmark("render.detail", false, thread -> {
+            Order order = finishedOrder(menu, 7, new Random(seed + thread));
+            return blackhole -> blackhole.consume(order.toString());
+        }));
+
+        benchmarks.add(new Benchmark("codec.binaryRoundTrip", false, thread -> {
+            Order order = finishedOrder(menu, 7, new Random(seed + thread));
+            ByteBuffer buffer = ByteBuffer.allocate(1024);
+            Function<String, MenuItem> lookup = menuById::get;
+            return blackhole -> {
+                buffer.clear();
+                BinaryCodec.encodeOrder(order, buffer);
+                buffer.flip();
+                blackhole.consume(BinaryCodec.decodeOrder(buffer, lookup));
+            };
+        }));
+
+        benchmarks.add(new Benchmark("codec.javaSerialization", false, thread -> {
+            Order order = finishedOrder(menu, 7, new Random(seed + thread));
+            return blackhole -> blackhole.consume(javaRoundTrip(order, menuById));
+        }));
+
+        benchmarks.add(new Benchmark("codec.json", false, thread -> {
+            Order order = finishedOrder(menu, 7, new Random(seed + thread));
+            return blackhole -> blackhole.consume(jsonRoundTrip(order, menuById));
+        }));
+
+        benchmarks.add(new Benchmark("queue.offerPoll", true, thread -> {
+            OrderScheduler queue = DataManager.orderPriorityQueue;
+            Random r = new Random(seed + thread);
+            Order[] orders = queueOrders(menu, thread, r);
+            int[] next = {0};
+            return blackhole -> {
+                queue.offer(orders[next[0]++ & (QUEUE_ORDERS_PER_THREAD - 1)]);
+                blackhole.consume(queue.poll());
+            };
+        }));
+
+        return benchmarks;
+    }
+
+    // ==================== Fixtures ====================
+
+    /**
+     * The private menu the order cases use (never added to DataManager)
+     */
+    static List<MenuItem> menu(long seed) {
+        List<MenuItem> menu = new ArrayList<>(MENU_ITEMS);
+        Random random = new Random(seed);
+        for (int i = 0; i < MENU_ITEMS; i++) {
+            MenuItem item = new MenuItem(String.format("O%03d", i), "Order Bench Dish " + i, 1, "Main Dish");
+            item.setPriceMinor(100 + random.nextInt(50_000));
+            menu.add(item);
+        }
+        return menu;
+    }
+
+    static Map<String, MenuItem> byId(List<MenuItem> menu) {
+        Map<String, MenuItem> menuById = new HashMap<>();
+        for (MenuItem item : menu) {
+            menuById.put(item.getId(), item);
+        }
+        return menuById;
+    }
+
+    static List<OrderItem> lines(List<MenuItem> menu, Random random) {
+        List<OrderItem> lines = new ArrayList<>(LINES_PER_ORDER);
+        for (int i = 0; i < LINES_PER_ORDER; i++) {
+            lines.add(new OrderItem(menu.get(random.nextInt(menu.size())), 1 + random.nextInt(3)));
+        }
+        return lines;
+    }
+
+    /**
+     * A done order: it no longer follows menu prices, so decoding copies
+     * of it does not pile up lines on the menu items
+     */
+    static Order finishedOrder(List<MenuItem> menu, int number, Random random) {
+        Order order = new Order(number, lines(menu, random), OrderPriority.DELIVERY);
+        finish(order);
+        return order;
+    }
+
+    /**
+     * Take an order through cooking to done
+     */
+    static void finish(Order order) {
+        order.transitionStatus(OrderStatus.WAITING, OrderStatus.COOKING);
+        order.transitionStatus(OrderStatus.COOKING, OrderStatus.DONE);
+    }
+
+    /**
+     * Orders one thread offers to the queue in queue.offerPoll, done so
+     * they do not follow menu prices
+     * Numbers are unique per thread so no two threads queue the same order
+     */
+    static Order[] queueOrders(List<MenuItem> menu, int thread, Random random) {
+        Order[] orders = new Order[QUEUE_ORDERS_PER_THREAD];
+        OrderPriority[] priorities = OrderPriority.values();
+        for (int i = 0; i < orders.length; i++) {
+            orders[i] = new Order((thread + 1) * 1_000_000 + i, lines(menu, random),
+                                  priorities[random.nextInt(priorities.length)]);
+            finish(orders[i]);
+        }
+        return orders;
+    }
+
+    // ==================== Case Bodies ====================
+
+    /**
+     * Order summary built with String.format, as it was before caching
+     */
+    static String summaryFormat(Order order) {
+        return String.format("Order #%03d - %s - %d items - %s",
+                order.getOrderNumber(), order.getPriorityText(), order.getItemCount(),
+                String.format("$%.0f", order.getTotalPrice()));
+    }
+
+    /**
+     * Order data through ObjectOutputStream/ObjectInputStream and back to an Order
+     */
+    static Order javaRoundTrip(Order order, Map<String, MenuItem> menuById) throws IOException, ClassNotFoundException {
+        byte[] bytes = serialize(OrderData.of(order));
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return ((OrderData) in.readObject()).toOrder(menuById);
+        }
+    }
+
+    /**
+     * Order data through UTF-8 JSON and back to an Order
+     */
+    static Order jsonRoundTrip(Order order, Map<String, MenuItem> menuById) {
+        byte[] bytes = OrderData.of(order).toJson().getBytes(StandardCharsets.UTF_8);
+        String json = new String(bytes, StandardCharsets.UTF_8);
+        return OrderData.fromJson(json).toOrder(menuById);
+    }
+
+    // ==================== Java Serialization and JSON Mirror ====================
+
+    /**
+     * The fields BinaryCodec stores for an order line, as a Serializable record
+     */
+    private record LineData(String menuId, int quantity, long unitPriceMinor) implements Serializable {
+    }
+
+    /**
+     * The fields BinaryCodec stores for an order, as a Serializable record
+     */
+    private record OrderData(int number, int priority, long epochSecond, int nano, String status,
+                             List<LineData> lines) implements Serializable {
+
+        static OrderData of(Order order) {
+            List<LineData> lines = new ArrayList<>(order.getItemCount());
+            for (OrderItem item : order.getItems()) {
+                lines.add(new LineData(item.getMenuItem().getId(), item.getQuantity(),
+                                       item.getMenuItem().getPriceMinor()));
+            }
+            LocalDateTime time = order.getTimestamp();
+            return new OrderData(order.getOrderNumber(), order.getPriority().getLevel(),
+                                 time.toEpochSecond(ZoneOffset.UTC), time.getNano(),
+                                 order.getStatus().getCode(), lines);
+        }
+
+        /**
+         * JSON text, e.g. {"number":7,...,"lines":[{"menuId":"O001","quantity":2,"unitPriceMinor":450}]}
+         */
+        String toJson() {
+            StringBuilder json = new StringBuilder(96 + lines.size() * 56);
+            json.append("{\"number\":").append(number)
+                .append(",\"priority\":").append(priority)
+                .append(",\"epochSecond\":").append(epochSecond)
+                .append(",\"nano\":").append(nano)
+                .append(",\"status\":");
+            appendJsonString(json, status);
+            json.append(",\"lines\":[");
+            for (int i = 0; i < lines.size(); i++) {
+                LineData line = lines.get(i);
+                json.append(i == 0 ? "{\"menuId\":" : ",{\"menuId\":");
+                appendJsonString(json, line.menuId());
+                json.append(",\"quantity\":").append(line.quantity())
+                    .append(",\"unitPriceMinor\":").append(line.unitPriceMinor()).append('}');
+            }
+            return json.append("]}").toString();
+        }
+
+        /**
+         * Parse what toJson() writes; fields may come in any order, unknown ones are rejected
+         */
+        static OrderData fromJson(String text) {
+            JsonReader in = new JsonReader(text);
+            int number = 0, priority = 0, nano = 0;
+            long epochSecond = 0;
+            String status = null;
+            List<LineData> lines = new ArrayList<>();
+            in.expect('{');
+            do {
+                String field = in.string();
+                in.expect(':');
+                switch (field) {
+                    case "number": number = (int) in.number(); break;
+                    case "priority": priority = (int) in.number(); break;
+                    case "epochSecond": epochSecond = in.number(); break;
+                    case "nano": nano = (int) in.number(); break;
+                    case "status": status = in.string(); break;
+                    case "lines":
+                        in.expect('[');
+                        if (!in.skip(']')) {
+                            do {
+                                lines.add(lineFromJson(in));
+                            } while (in.skip(','));
+                            in.expect(']');
+                        }
+                        break;
+                    default: throw new IllegalArgumentException("Unknown field: " + field);
+                }
+            } while (in.skip(','));
+            in.expect('}');
+            return new OrderData(number, priority, epochSecond, nano, status, lines);
+        }
+
+        private static LineData lineFromJson(JsonReader in) {
+            String menuId = null;
+            int quantity = 0;
+            long unitPriceMinor = 0;
+            in.expect('{');
+            do {
+                String field = in.string();
+                in.expect(':');
+                switch (field) {
+                    case "menuId": menuId = in.string(); break;
+                    case "quantity": quantity = (int) in.number(); break;
+                    case "unitPriceMinor": unitPriceMinor = in.number(); break;
+                    default: throw new IllegalArgumentException("Unknown field: " + field);
+                }
+            } while (in.skip(','));
+            in.expect('}');
+            return new LineData(menuId, quantity, unitPriceMinor);
+        }
+
+        Order toOrder(Map<String, MenuItem> menu) {
+            List<OrderItem> items = new ArrayList<>(lines.size());
+            for (LineData line : lines) {
+                items.add(new OrderItem(menu.get(line.menuId()), line.quantity()));
+            }
+            return new Order(number, items, OrderPriority.fromLevel(priority),
+                             LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC),
+                             OrderStatus.fromCode(status));
+        }
+    }
+
+    private static void appendJsonString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        json.append('"');
+    }
+
+    /**
+     * Minimal reader for the JSON that OrderData.toJson writes
+     * (no whitespace, strings, integers, objects and arrays)
+     */
+    private static final class JsonReader {
+        private final String text;
+        private int position;
+
+        JsonReader(String text) {
+            this.text = text;
+        }
+
+        void expect(char c) {
+            if (position >= text.length() || text.charAt(position) != c) {
+                throw new IllegalArgumentException("Expected '" + c + "' at " + position);
+            }
+            position++;
+        }
+
+        /**
+         * Move past c if it is next
+         */
+        boolean skip(char c) {
+            if (position < text.length() && text.charAt(position) == c) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        String string() {
+            expect('"');
+            StringBuilder value = null;
+            int start = position;
+            while (true) {
+                char c = text.charAt(position++);
+                if (c == '"') {
+                    return value == null ? text.substring(start, position - 1) : value.toString();
+                }
+                if (value == null && c == '\\') {
+                    value = new StringBuilder(text.substring(start, position - 1));
+                }
+                if (value != null) {
+                    if (c == '\\') {
+                        c = text.charAt(position++);
+                        if (c == 'u') {
+                            c = (char) Integer.parseInt(text.substring(position, position + 4), 16);
+                            position += 4;
+                        }
+                    }
+                    value.append(c);
+                }
+            }
+        }
+
+        long number() {
+            int start = position;
+            if (skip('-')) {
+                start = position - 1;
+            }
+            while (position < text.length() && Character.isDigit(text.charAt(position))) {
+                position++;
+            }
+            return Long.parseLong(text, start, position, 10);
+        }
+    }
+
+    private static byte[] serialize(Serializable value) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+}
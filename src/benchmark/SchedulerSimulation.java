@@ -0,0 +1,149 @@
+// ============================================================
+// File: SchedulerSimulation.java
+// Location: src/benchmark/SchedulerSimulation.java
+// Purpose: Compares order wait times of strict priority and aging scheduling
+// ============================================================
+
+package benchmark;
+
+import model.Order;
+import model.OrderItem;
+import model.OrderPriority;
+import model.OrderStatus;
+import service.OrderScheduler;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Scheduler Simulation
+ * Discrete-event simulation of one kitchen line serving a random stream
+ * of Normal, Delivery and VIP orders, run once with strict priority
+ * (Order.compareTo) and once with OrderScheduler aging
+ * Prints p50/p99/max wait per priority class for both
+ *
+ * Runs in simulated time, so a day of orders takes well under a second
+ *
+ * Usage: java benchmark.SchedulerSimulation [orders] [utilization] [seed]
+ *   orders       Number of orders to simulate (default 20000)
+ *   utilization  Offered load, arrival rate / service rate (default 0.97)
+ *   seed         Random seed (default 42)
+ */
+public class SchedulerSimulation {
+
+    private static final double MEAN_SERVICE_SECONDS = 30;
+    private static final OrderPriority[] PRIORITIES = OrderPriority.values();
+    private static final double[] CLASS_SHARE = {0.3, 0.3, 0.4};   // Same order as PRIORITIES
+
+    /**
+     * Queue under test, just the two operations the simulation needs
+     */
+    private interface Policy {
+        void offer(Order order);
+        Order poll();
+    }
+
+    public static void main(String[] args) {
+        int orders = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        double utilization = args.length > 1 ? Double.parseDouble(args[1]) : 0.97;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42;
+
+        System.out.printf("%d orders, utilization %.2f, mean service %.0f s, seed %d%n%n",
+                          orders, utilization, MEAN_SERVICE_SECONDS, seed);
+
+        PriorityQueue<Order> strict = new PriorityQueue<>();
+        report("Strict priority", simulate(orders, utilization, seed, new Policy() {
+            public void offer(Order order) { strict.offer(order); }
+            public Order poll() { return strict.poll(); }
+        }));
+
+        OrderScheduler aging = new OrderScheduler();
+        report("Aging (Delivery +2 min, VIP +5 min)", simulate(orders, utilization, seed, new Policy() {
+            public void offer(Order order) { aging.offer(order); }
+            public Order poll() { return aging.poll(); }
+        }));
+    }
+
+    /**
+     * Run the simulation
+     *
+     * @return Wait times in seconds, by priority
+     */
+    private static Map<OrderPriority, List<Double>> simulate(int orders, double utilization, long seed, Policy policy) {
+        Random random = new Random(seed);
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        double meanArrivalGap = MEAN_SERVICE_SECONDS / utilization;
+
+        // Pre-generate arrivals so both policies see the same stream
+        double[] arrivals = new double[orders];
+        double[] services = new double[orders];
+        Order[] stream = new Order[orders];
+        double clock = 0;
+        for (int i = 0; i < orders; i++) {
+            clock += exponential(random, meanArrivalGap);
+            arrivals[i] = clock;
+            services[i] = exponential(random, MEAN_SERVICE_SECONDS);
+            LocalDateTime time = start.plusNanos((long) (clock * 1e9));
+            stream[i] = new Order(i + 1, List.<OrderItem>of(), pickPriority(random), time, OrderStatus.WAITING);
+        }
+
+        Map<OrderPriority, List<Double>> waits = new EnumMap<>(OrderPriority.class);
+        for (OrderPriority priority : PRIORITIES) {
+            waits.put(priority, new ArrayList<>());
+        }
+
+        int next = 0;
+        int queued = 0;
+        double serverFreeAt = 0;
+        while (next < orders || queued > 0) {
+            // Everything that arrived before the line is free joins the queue
+            while (next < orders && (queued == 0 || arrivals[next] <= serverFreeAt)) {
+                policy.offer(stream[next++]);
+                queued++;
+            }
+
+            Order order = policy.poll();
+            queued--;
+            int index = order.getOrderNumber() - 1;
+            double begin = Math.max(serverFreeAt, arrivals[index]);
+            waits.get(order.getPriority()).add(begin - arrivals[index]);
+            serverFreeAt = begin + services[index];
+        }
+        return waits;
+    }
+
+    private static OrderPriority pickPriority(Random random) {
+        double roll = random.nextDouble();
+        for (int i = 0; i < PRIORITIES.length - 1; i++) {
+            roll -= CLASS_SHARE[i];
+            if (roll < 0) {
+                return PRIORITIES[i];
+            }
+        }
+        return PRIORITIES[PRIORITIES.length - 1];
+    }
+
+    private static double exponential(Random random, double mean) {
+        return -mean * Math.log(1 - random.nextDouble());
+    }
+
+    private static void report(String title, Map<OrderPriority, List<Double>> waits) {
+        System.out.println(title);
+        System.out.printf("  %-9s %8s %10s %10s %10s%n", "Class", "Orders", "p50 (s)", "p99 (s)", "max (s)");
+        for (Map.Entry<OrderPriority, List<Double>> entry : waits.entrySet()) {
+            List<Double> values = entry.getValue();
+            Collections.sort(values);
+            System.out.printf("  %-9s %8d %10.0f %10.0f %10.0f%n", entry.getKey().getText(), values.size(),
+                              percentile(values, 0.50), percentile(values, 0.99),
+                              values.isEmpty() ? 0 : values.get(values.size() - 1));
+        }
+        System.out.println();
+    }
+
+    private static double percentile(List<Double> sorted, double fraction) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.ceil(fraction * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index));
+    }
+}
@@ -0,0 +1,50 @@
+// ============================================================
+// File: DisplayFormat.java
+// Location: src/model/DisplayFormat.java
+// Purpose: Shared, allocation-light formatting helpers for model display strings
+// ============================================================
+
+package model;
+
+/**
+ * Display Format
+ * Appends prices and order numbers to a StringBuilder the way
+ * String.format("$%.0f") and "%03d" would, without parsing a format
+ * string or creating a Formatter on every call
+ */
+final class DisplayFormat {
+
+    private DisplayFormat() {
+    }
+
+    /**
+     * Append "$" and an amount in minor units rounded half-up to whole
+     * currency units (150.50 -> "$151", -1.50 -> "$-2")
+     */
+    static StringBuilder appendPrice(StringBuilder sb, long minor) {
+        sb.append('$');
+        if (minor < 0) {
+            sb.append('-');
+        }
+        long magnitude = Math.abs(minor);
+        return sb.append(magnitude / Money.MINOR_PER_MAJOR
+                         + (magnitude % Money.MINOR_PER_MAJOR >= Money.MINOR_PER_MAJOR / 2 ? 1 : 0));
+    }
+
+    /**
+     * Price as "$123"
+     */
+    static String formatPrice(long minor) {
+        return appendPrice(new StringBuilder(12), minor).toString();
+    }
+
+    /**
+     * Append a number zero-padded to at least three digits, like "%03d"
+     */
+    static StringBuilder appendOrderNumber(StringBuilder sb, int number) {
+        if (number >= 0 && number < 100) {
+            sb.append(number < 10 ? "00" : "0");
+        }
+        return sb.append(number);
+    }
+}
@@ -6,27 +6,46 @@
 
 package model;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * MenuItem Class
  * Stores basic information of a menu item: ID, name, price, category, description
+ * 
+ * Changing an item that is already in the menu with a setter does not
+ * re-index it; go through MenuService.updateMenuItem instead
+ * Use toRecord() to get an immutable copy
+ * 
+ * The price is stored in minor units (see Money); the double getters and
+ * setters convert for display and older callers
  */
 public class MenuItem {
     private String id;              // Unique identifier for the menu item
     private String name;            // Name of the menu item
-    private double price;           // Price
+    private long priceMinor;        // Price in minor units (see Money)
     private String category;        // Category (Main Dish/Beverage/Dessert)
     private String description;     // Description (optional)
     private boolean isAvailable;    // Availability status
     
+    // Display strings built on first use, cleared by the setters they depend on
+    // (unsynchronized: a race only means two threads build the same String)
+    private String formattedPrice;
+    private String displayText;
+    
+    // Items of open orders that follow this item's price, created on first use
+    private volatile Set<OrderItem> orderLines;
+    
     /**
      * Full constructor
      */
     public MenuItem(String id, String name, double price, String category, String description) {
         this.id = id;
         this.name = name;
-        this.price = price;
+        this.priceMinor = Money.ofMajor(price);
         this.category = category;
         this.description = description;
         this.isAvailable = true;  // Default is available
@@ -49,8 +68,18 @@ public class MenuItem {
         return name;
     }
     
+    /**
+     * Price in currency units (converted, use getPriceMinor for arithmetic)
+     */
     public double getPrice() {
-        return price;
+        return Money.toMajor(priceMinor);
+    }
+    
+    /**
+     * Price in minor units
+     */
+    public long getPriceMinor() {
+        return priceMinor;
     }
     
     public String getCategory() {
@@ -73,14 +102,37 @@ public class MenuItem {
     
     public void setName(String name) {
         this.name = name;
+        this.displayText = null;
     }
     
+    /**
+     * Set the price in currency units (rounded to minor units)
+     */
     public void setPrice(double price) {
-        this.price = price;
+        setPriceMinor(Money.ofMajor(price));
+    }
+    
+    /**
+     * Set the price in minor units
+     */
+    public void setPriceMinor(long priceMinor) {
+        boolean changed = this.priceMinor != priceMinor;
+        this.priceMinor = priceMinor;
+        this.formattedPrice = null;
+        this.displayText = null;
+        
+        // Only the open orders that use this item are touched, no scan
+        Set<OrderItem> lines = orderLines;
+        if (changed && lines != null) {
+            for (OrderItem line : lines) {
+                line.priceChanged();
+            }
+        }
     }
     
     public void setCategory(String category) {
         this.category = category;
+        this.displayText = null;
     }
     
     public void setDescription(String description) {
@@ -94,18 +146,76 @@ public class MenuItem {
     // ==================== Other Methods ====================
     
     /**
-     * Format price for display
+     * Format price for display (cached until the price changes)
      */
     public String getFormattedPrice() {
-        return String.format("$%.0f", price);
+        String text = formattedPrice;
+        if (text == null) {
+            text = DisplayFormat.formatPrice(priceMinor);
+            formattedPrice = text;
+        }
+        return text;
+    }
+    
+    /**
+     * Append the display text ("name - $price (category)") to a builder
+     * Lets callers render many items into one buffer
+     */
+    public StringBuilder appendTo(StringBuilder sb) {
+        return sb.append(toString());
+    }
+    
+    // ==================== Open Order Lines ====================
+    
+    /**
+     * Items of open orders that currently use this menu item (copy)
+     * MenuService moves them to the replacement when the item is updated
+     */
+    public List<OrderItem> getOpenOrderLines() {
+        Set<OrderItem> lines = orderLines;
+        return lines == null ? new ArrayList<>() : new ArrayList<>(lines);
+    }
+    
+    void addOrderLine(OrderItem line) {
+        Set<OrderItem> lines = orderLines;
+        if (lines == null) {
+            synchronized (this) {
+                lines = orderLines;
+                if (lines == null) {
+                    lines = ConcurrentHashMap.newKeySet();
+                    orderLines = lines;
+                }
+            }
+        }
+        lines.add(line);
+    }
+    
+    void removeOrderLine(OrderItem line) {
+        Set<OrderItem> lines = orderLines;
+        if (lines != null) {
+            lines.remove(line);
+        }
+    }
+    
+    /**
+     * Create an immutable copy of the current values
+     */
+    public MenuItemRecord toRecord() {
+        return new MenuItemRecord(id, name, priceMinor, category, description, isAvailable);
     }
     
     /**
-     * toString method for display and debugging
+     * toString method for display and debugging (cached until name, price or category changes)
      */
     @Override
     public String toString() {
-        return String.format("%s - %s (%s)", name, getFormattedPrice(), category);
+        String text = displayText;
+        if (text == null) {
+            text = new StringBuilder(48).append(name).append(" - ")
+                .append(getFormattedPrice()).append(" (").append(category).append(')').toString();
+            displayText = text;
+        }
+        return text;
     }
     
     /**
@@ -0,0 +1,46 @@
+// ============================================================
+// File: MenuItemRecord.java
+// Location: src/model/MenuItemRecord.java
+// Purpose: Immutable value form of a menu item
+// ============================================================
+
+package model;
+
+/**
+ * MenuItemRecord
+ * Read-only copy of a MenuItem taken at one point in time
+ * Safe to share between threads and to keep inside menu snapshots
+ */
+public record MenuItemRecord(String id, String name, long priceMinor, String category,
+                             String description, boolean available) {
+
+    /**
+     * Create a mutable MenuItem with the same values
+     */
+    public MenuItem toMenuItem() {
+        MenuItem item = new MenuItem(id, name, 0, category, description);
+        item.setPriceMinor(priceMinor);
+        item.setAvailable(available);
+        return item;
+    }
+
+    /**
+     * Price in currency units (converted, use priceMinor for arithmetic)
+     */
+    public double price() {
+        return Money.toMajor(priceMinor);
+    }
+
+    /**
+     * Format price for display
+     */
+    public String getFormattedPrice() {
+        return DisplayFormat.formatPrice(priceMinor);
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder(48).append(name).append(" - ")
+            .append(getFormattedPrice()).append(" (").append(category).append(')').toString();
+    }
+}
@@ -0,0 +1,81 @@
+// ============================================================
+// File: Money.java
+// Location: src/model/Money.java
+// Purpose: Fixed-point money helpers (long minor units)
+// ============================================================
+
+package model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Money
+ * All prices and totals are kept as a long number of minor units
+ * (1/100 of the currency unit), so sums are exact however many orders
+ * are added up, and nothing is boxed on the way
+ *
+ * Conversion from double only happens at the edges (constructors taking
+ * a price such as 150 or 39.5) and rounds half-up in decimal
+ * Arithmetic throws ArithmeticException on overflow instead of wrapping
+ */
+public final class Money {
+
+    public static final long MINOR_PER_MAJOR = 100;
+
+    // Below this a double holds every whole number of minor units exactly
+    private static final double EXACT_LIMIT = 1L << 53;
+
+    private Money() {
+    }
+
+    // ==================== Conversion ====================
+
+    /**
+     * Minor units for an amount in currency units (e.g. 39.5 -> 3950)
+     */
+    public static long ofMajor(double amount) {
+        double scaled = amount * MINOR_PER_MAJOR;
+        if (scaled == Math.rint(scaled) && Math.abs(scaled) < EXACT_LIMIT) {
+            return (long) scaled;  // Whole number of minor units, the usual case
+        }
+        if (Double.isNaN(amount) || Double.isInfinite(amount)) {
+            throw new ArithmeticException("Not a money amount: " + amount);
+        }
+        // Decimal rounding, so 0.285 becomes 29 and not 28
+        return BigDecimal.valueOf(amount).movePointRight(2)
+                         .setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    /**
+     * Amount in currency units, for display and compatibility only
+     */
+    public static double toMajor(long minor) {
+        return (double) minor / MINOR_PER_MAJOR;
+    }
+
+    // ==================== Arithmetic ====================
+
+    /**
+     * Price times quantity
+     */
+    public static long times(long minor, int quantity) {
+        return Math.multiplyExact(minor, quantity);
+    }
+
+    /**
+     * Sum of two amounts
+     */
+    public static long plus(long a, long b) {
+        return Math.addExact(a, b);
+    }
+
+    // ==================== Formatting ====================
+
+    /**
+     * Amount as "$150", rounded half-up to whole currency units
+     */
+    public static String format(long minor) {
+        return DisplayFormat.formatPrice(minor);
+    }
+}
@@ -6,50 +6,113 @@
 
 package model;
 
+import util.Logger;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Order Class
  * Contains order number, item list, total price, timestamp, priority, and status
+ * 
+ * Total price and total quantity are kept up to date with O(1) deltas:
+ * adding/removing an item, changing an item's quantity, or changing the
+ * price of a MenuItem that an open order refers to adjusts them directly
+ * An order stops following menu prices once it is done or cancelled
+ * 
+ * Each order also keeps how long it has spent waiting and cooking
+ * (monotonic clock, see getTimeInStatus)
+ * 
+ * Status only changes along the transitions of OrderStatus, by
+ * compare-and-set (see transitionStatus); status listeners are told
+ * about every transition
  */
-public class Order implements Comparable<Order> {
+public final class Order implements Comparable<Order>, OrderView {
     private int orderNumber;                    // Order number
-    private List<OrderItem> items;              // Order item list
-    private double totalPrice;                  // Total price
+    private final List<OrderItem> items;        // Order item list
+    private final List<OrderItem> itemsView;    // Read-only view of items
+    private volatile long totalMinor;           // Total price in minor units (see Money)
+    private volatile int totalQuantity;         // Sum of item quantities
     private LocalDateTime timestamp;            // Order timestamp
-    private int priority;                       // Priority (1=Normal, 2=Delivery, 3=VIP)
-    private String status;                      // Status (waiting/cooking/done)
-    
-    // Priority constants
-    public static final int PRIORITY_NORMAL = 1;      // Normal order
-    public static final int PRIORITY_DELIVERY = 2;    // Delivery order
-    public static final int PRIORITY_VIP = 3;         // VIP order
-    
-    // Status constants
-    public static final String STATUS_WAITING = "waiting";    // Waiting
-    public static final String STATUS_COOKING = "cooking";    // Cooking
-    public static final String STATUS_DONE = "done";          // Done
+    private long placedNanos;                   // System.nanoTime() when placed (see getPlacedNanos)
+    private OrderPriority priority;             // Priority class
+    private final AtomicReference<OrderStatus> status;  // Changed by compare-and-set only
+    private OrderStatus timedStatus;            // Status the time since statusSinceNanos counts for
+    private long statusSinceNanos;              // System.nanoTime() of the last status change
+    private long waitingNanos;                  // Time spent waiting, finished periods only
+    private long cookingNanos;                  // Time spent cooking, finished periods only
+    
+    // Display strings built on first use; summary/total are cleared by the
+    // methods that change them, the timestamp never changes after construction
+    // (unsynchronized: a race only means two threads build the same String)
+    private String formattedTimestamp;
+    private String shortTime;
+    private String formattedTotalPrice;
+    private String summary;
+    
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final DateTimeFormatter SHORT_TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm");
+    
+    private static final Logger LOG = Logger.getLogger(Order.class);
+    
+    // Told about the status transitions of every order
+    private static final List<OrderStatusListener> STATUS_LISTENERS = new CopyOnWriteArrayList<>();
+    
+    // Wall clock and System.nanoTime() read together, to place restored orders on the nanoTime scale
+    private static final LocalDateTime ANCHOR_TIME = LocalDateTime.now();
+    private static final long ANCHOR_NANOS = System.nanoTime();
     
     /**
      * Full constructor
      */
-    public Order(int orderNumber, List<OrderItem> items, int priority) {
+    public Order(int orderNumber, List<OrderItem> items, OrderPriority priority) {
         this.orderNumber = orderNumber;
-        this.items = new ArrayList<>(items);  // Create a copy to avoid external modification
+        this.items = new ArrayList<>(items.size());
+        this.itemsView = Collections.unmodifiableList(this.items);
         this.priority = priority;
         this.timestamp = LocalDateTime.now();
-        this.status = STATUS_WAITING;
-        this.totalPrice = calculateTotalPrice();
+        this.placedNanos = System.nanoTime();
+        this.status = new AtomicReference<>(OrderStatus.WAITING);
+        this.timedStatus = OrderStatus.WAITING;
+        this.statusSinceNanos = System.nanoTime();
+        // Items register with their MenuItems here, so a concurrent price
+        // change may call back before the constructor returns; hold the lock
+        synchronized (this) {
+            for (OrderItem item : items) {
+                appendItem(item);
+            }
+        }
+    }
+    
+    /**
+     * Restore constructor
+     * Used when loading a saved order, keeps its original time and status
+     * (the saved status is taken as it is: no transition, no listeners)
+     */
+    public Order(int orderNumber, List<OrderItem> items, OrderPriority priority,
+                 LocalDateTime timestamp, OrderStatus status) {
+        this(orderNumber, items, priority);
+        this.timestamp = timestamp;
+        this.placedNanos = ANCHOR_NANOS + Duration.between(ANCHOR_TIME, timestamp).toNanos();
+        synchronized (this) {
+            this.status.set(status);
+            this.timedStatus = status;
+            if (status.isFinal()) {
+                stopFollowingPrices();
+            }
+        }
     }
     
     /**
      * Simplified constructor (default normal priority)
      */
     public Order(int orderNumber, List<OrderItem> items) {
-        this(orderNumber, items, PRIORITY_NORMAL);
+        this(orderNumber, items, OrderPriority.NORMAL);
     }
     
     // ==================== Getters ====================
@@ -58,74 +121,245 @@ public class Order implements Comparable<Order> {
         return orderNumber;
     }
     
+    /**
+     * Read-only view of the items (no copy; use addItem/removeItem to change them)
+     */
     public List<OrderItem> getItems() {
-        return new ArrayList<>(items);  // Return a copy to protect internal data
+        return itemsView;
     }
     
+    /**
+     * Total price in currency units (converted, use getTotalPriceMinor for arithmetic)
+     */
     public double getTotalPrice() {
-        return totalPrice;
+        return Money.toMajor(totalMinor);
+    }
+    
+    /**
+     * Total price in minor units (exact)
+     */
+    public long getTotalPriceMinor() {
+        return totalMinor;
     }
     
     public LocalDateTime getTimestamp() {
         return timestamp;
     }
     
-    public int getPriority() {
+    /**
+     * When the order was placed, on the System.nanoTime() scale
+     * Unlike the timestamp it does not jump with DST or clock changes, so
+     * it is what waiting time is measured from (see OrderScheduler)
+     * Restored orders get their timestamp's distance from now
+     */
+    public long getPlacedNanos() {
+        return placedNanos;
+    }
+    
+    public OrderPriority getPriority() {
         return priority;
     }
     
-    public String getStatus() {
-        return status;
+    public OrderStatus getStatus() {
+        return status.get();
+    }
+    
+    /**
+     * Time this order has spent in a status so far, including the current
+     * period if it is in that status now
+     * Counted from when this object was created, so a restored order
+     * only shows the time since the restart; final statuses return zero
+     */
+    public synchronized Duration getTimeInStatus(OrderStatus status) {
+        long nanos = status == OrderStatus.WAITING ? waitingNanos
+                   : status == OrderStatus.COOKING ? cookingNanos
+                   : 0;
+        if (status == timedStatus && !status.isFinal()) {
+            nanos += System.nanoTime() - statusSinceNanos;
+        }
+        return Duration.ofNanos(nanos);
     }
     
     // ==================== Setters ====================
     
     public void setOrderNumber(int orderNumber) {
         this.orderNumber = orderNumber;
+        this.summary = null;
     }
     
-    public void setPriority(int priority) {
+    public void setPriority(OrderPriority priority) {
         this.priority = priority;
+        this.summary = null;
+    }
+    
+    // ==================== Status Transitions ====================
+    
+    /**
+     * Change the status only if it is still the expected one (compare-and-set)
+     * Lets several kitchen workers race on the same order safely:
+     * exactly one of them moves it on, without taking a lock
+     * 
+     * @return true if the status was changed
+     * @throws IllegalArgumentException If expected -> next is not an allowed transition
+     */
+    public boolean transitionStatus(OrderStatus expected, OrderStatus next) {
+        if (!expected.canTransitionTo(next)) {
+            throw new IllegalArgumentException("Invalid order status transition: " + expected + " -> " + next);
+        }
+        if (!status.compareAndSet(expected, next)) {
+            return false;
+        }
+        statusChanged(expected, next);
+        return true;
     }
     
-    public void setStatus(String status) {
-        this.status = status;
+    /**
+     * Change the status from whatever it is now, if that transition is allowed
+     * 
+     * @return false if the current status cannot go to next (e.g. already final)
+     */
+    public boolean transitionTo(OrderStatus next) {
+        while (true) {
+            OrderStatus current = status.get();
+            if (!current.canTransitionTo(next)) {
+                return false;
+            }
+            if (status.compareAndSet(current, next)) {
+                statusChanged(current, next);
+                return true;
+            }
+        }
+    }
+    
+    /**
+     * Set the status as storage recorded it, for storage recovery only
+     * Same as the restore constructor: no transition check, no listeners,
+     * status times start over from now
+     */
+    public void restoreStatus(OrderStatus restored) {
+        synchronized (this) {
+            status.set(restored);
+            timedStatus = restored;
+            statusSinceNanos = System.nanoTime();
+            if (restored.isFinal()) {
+                stopFollowingPrices();
+            }
+        }
+    }
+    
+    /**
+     * Bookkeeping after a transition, done by the thread that made it:
+     * status times, freezing the prices of a finished order, listeners
+     */
+    private void statusChanged(OrderStatus from, OrderStatus to) {
+        synchronized (this) {
+            // A later transition may have been accounted already if its
+            // thread got here first; always move on to the current status
+            long now = System.nanoTime();
+            if (timedStatus == OrderStatus.WAITING) {
+                waitingNanos += now - statusSinceNanos;
+            } else if (timedStatus == OrderStatus.COOKING) {
+                cookingNanos += now - statusSinceNanos;
+            }
+            statusSinceNanos = now;
+            timedStatus = status.get();
+            if (timedStatus.isFinal()) {
+                stopFollowingPrices();
+            }
+        }
+        for (OrderStatusListener listener : STATUS_LISTENERS) {
+            try {
+                listener.statusChanged(this, from, to);
+            } catch (RuntimeException e) {
+                LOG.error(() -> "Status listener failed for order #" + orderNumber + ": " + e);
+            }
+        }
+    }
+    
+    /**
+     * Be told about every status transition of every order
+     * (not about orders created or restored with a status)
+     */
+    public static void addStatusListener(OrderStatusListener listener) {
+        STATUS_LISTENERS.add(listener);
+    }
+    
+    public static void removeStatusListener(OrderStatusListener listener) {
+        STATUS_LISTENERS.remove(listener);
     }
     
     // ==================== Order Operation Methods ====================
     
     /**
-     * Add item to order
+     * Add item to order, O(1)
+     * An item belongs to one order at a time
      */
-    public void addItem(OrderItem item) {
+    public synchronized void addItem(OrderItem item) {
+        appendItem(item);
+    }
+    
+    private void appendItem(OrderItem item) {
         items.add(item);
-        totalPrice = calculateTotalPrice();
+        item.attach(this, !status.get().isFinal());
+        applyDelta(item.getCountedSubtotal(), item.getCountedQuantity());
     }
     
     /**
-     * Remove item from order
+     * Remove item from order (O(1) total update, plus the list removal)
      */
-    public void removeItem(OrderItem item) {
-        items.remove(item);
-        totalPrice = calculateTotalPrice();
+    public synchronized void removeItem(OrderItem item) {
+        if (items.remove(item)) {
+            applyDelta(-item.getCountedSubtotal(), -item.getCountedQuantity());
+            item.detach(this);
+        }
     }
     
     /**
-     * Calculate total price
+     * Re-count one item after its price or quantity changed
+     * Called by OrderItem; applies only the difference
      */
-    private double calculateTotalPrice() {
-        double total = 0;
+    synchronized void itemChanged(OrderItem item) {
+        long oldSubtotal = item.getCountedSubtotal();
+        int oldQuantity = item.getCountedQuantity();
+        item.recount();
+        applyDelta(item.getCountedSubtotal() - oldSubtotal, item.getCountedQuantity() - oldQuantity);
+    }
+    
+    private void applyDelta(long subtotalDelta, int quantityDelta) {
+        if (subtotalDelta != 0) {
+            totalMinor = Money.plus(totalMinor, subtotalDelta);
+            formattedTotalPrice = null;
+        }
+        totalQuantity += quantityDelta;
+        summary = null;
+    }
+    
+    /**
+     * Stop receiving menu price changes (order is finished)
+     */
+    private void stopFollowingPrices() {
         for (OrderItem item : items) {
-            total += item.getSubtotal();
+            item.stopFollowingPrice();
         }
-        return total;
     }
     
     /**
-     * Recalculate total price (call when items change)
+     * Recalculate total price and quantity from scratch
+     * Normally never needed, the totals are maintained incrementally
+     * (on a finished order this re-prices it at the current menu prices)
      */
-    public void recalculateTotalPrice() {
-        this.totalPrice = calculateTotalPrice();
+    public synchronized void recalculateTotalPrice() {
+        long total = 0;
+        int quantity = 0;
+        for (OrderItem item : items) {
+            item.recount();
+            total = Money.plus(total, item.getCountedSubtotal());
+            quantity += item.getCountedQuantity();
+        }
+        this.totalMinor = total;
+        this.totalQuantity = quantity;
+        this.formattedTotalPrice = null;
+        this.summary = null;
     }
     
     /**
@@ -136,14 +370,31 @@ public class Order implements Comparable<Order> {
     }
     
     /**
-     * Get total quantity (considering quantity)
+     * Get total quantity (considering quantity), O(1)
      */
     public int getTotalQuantity() {
-        int total = 0;
-        for (OrderItem item : items) {
-            total += item.getQuantity();
-        }
-        return total;
+        return totalQuantity;
+    }
+    
+    // ==================== Line Getters (OrderView) ====================
+    
+    public String getItemId(int line) {
+        return items.get(line).getMenuItem().getId();
+    }
+    
+    public String getItemName(int line) {
+        return items.get(line).getMenuItem().getName();
+    }
+    
+    public int getQuantity(int line) {
+        return items.get(line).getQuantity();
+    }
+    
+    /**
+     * Amount of a line counted in the total (what was charged once the order is finished)
+     */
+    public long getSubtotalMinor(int line) {
+        return items.get(line).getChargedSubtotalMinor();
     }
     
     // ==================== Formatting Methods ====================
@@ -152,83 +403,87 @@ public class Order implements Comparable<Order> {
      * Format total price for display
      */
     public String getFormattedTotalPrice() {
-        return String.format("$%.0f", totalPrice);
+        String text = formattedTotalPrice;
+        if (text == null) {
+            text = DisplayFormat.formatPrice(totalMinor);
+            formattedTotalPrice = text;
+        }
+        return text;
     }
     
     /**
      * Format timestamp for display
      */
     public String getFormattedTimestamp() {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-        return timestamp.format(formatter);
+        String text = formattedTimestamp;
+        if (text == null) {
+            text = TIMESTAMP_FORMAT.format(timestamp);
+            formattedTimestamp = text;
+        }
+        return text;
     }
     
     /**
      * Get short time (only hour:minute)
      */
     public String getShortTime() {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("HH:mm");
-        return timestamp.format(formatter);
+        String text = shortTime;
+        if (text == null) {
+            text = SHORT_TIME_FORMAT.format(timestamp);
+            shortTime = text;
+        }
+        return text;
     }
     
     /**
      * Get priority text
      */
     public String getPriorityText() {
-        switch (priority) {
-            case PRIORITY_VIP:
-                return "VIP";
-            case PRIORITY_DELIVERY:
-                return "Delivery";
-            case PRIORITY_NORMAL:
-            default:
-                return "Normal";
-        }
+        return priority.getText();
     }
     
     /**
      * Get status text
      */
     public String getStatusText() {
-        switch (status) {
-            case STATUS_WAITING:
-                return "Waiting";
-            case STATUS_COOKING:
-                return "Cooking";
-            case STATUS_DONE:
-                return "Done";
-            default:
-                return status;
-        }
+        return status.get().getText();
     }
     
     /**
      * Get order summary (for display in list)
      */
     public String getSummary() {
-        return String.format("Order #%03d - %s - %d items - %s", 
-            orderNumber, 
-            getPriorityText(), 
-            getItemCount(), 
-            getFormattedTotalPrice());
+        String text = summary;
+        if (text == null) {
+            text = OrderView.super.getSummary();
+            summary = text;
+        }
+        return text;
     }
     
     /**
-     * toString method (detailed information)
+     * Append the detailed text (same as toString) to a builder
+     * Lets the kitchen board render many orders into one buffer
      */
-    @Override
-    public String toString() {
-        StringBuilder sb = new StringBuilder();
-        sb.append(String.format("=== Order #%03d ===\n", orderNumber));
-        sb.append(String.format("Priority: %s\n", getPriorityText()));
-        sb.append(String.format("Status: %s\n", getStatusText()));
-        sb.append(String.format("Time: %s\n", getFormattedTimestamp()));
+    public StringBuilder appendTo(StringBuilder sb) {
+        sb.append("=== Order #");
+        DisplayFormat.appendOrderNumber(sb, orderNumber).append(" ===\n");
+        sb.append("Priority: ").append(getPriorityText()).append('\n');
+        sb.append("Status: ").append(getStatusText()).append('\n');
+        sb.append("Time: ").append(getFormattedTimestamp()).append('\n');
         sb.append("\nItems:\n");
         for (OrderItem item : items) {
-            sb.append("  - ").append(item.toString()).append("\n");
+            item.appendTo(sb.append("  - ")).append('\n');
         }
-        sb.append(String.format("\nTotal: %s", getFormattedTotalPrice()));
-        return sb.toString();
+        return sb.append("\nTotal: ").append(getFormattedTotalPrice());
+    }
+    
+    /**
+     * toString method (detailed information)
+     */
+    @Override
+    public String toString() {
+        return appendTo(new StringBuilder(128 + 32 * items.size())).toString();
     }
     
     // ==================== Comparable Interface Implementation ====================
@@ -236,14 +491,16 @@ public class Order implements Comparable<Order> {
     /**
      * Comparison method for PriorityQueue sorting
      * Sorting rules:
-     * 1. Higher priority comes first (3 > 2 > 1)
+     * 1. Higher priority comes first (VIP > Delivery > Normal)
      * 2. If same priority, earlier time comes first
+     * Strict: a steady stream of VIP orders can starve Normal ones,
+     * the kitchen queue uses OrderScheduler's aged rank instead
      */
     @Override
     public int compareTo(Order other) {
         // First compare priority (descending, higher priority first)
         if (this.priority != other.priority) {
-            return Integer.compare(other.priority, this.priority);
+            return other.priority.compareTo(this.priority);
         }
         
         // If same priority, compare time (ascending, earlier time first)
@@ -9,11 +9,28 @@ package model;
 /**
  * OrderItem Class
  * Contains a MenuItem and its quantity
+ * 
+ * While it belongs to an open order, the item follows its MenuItem's
+ * price: setQuantity, setMenuItem and MenuItem price changes report the
+ * difference to the order, which adjusts its totals in O(1)
  */
 public class OrderItem {
     private MenuItem menuItem;  // Menu item
     private int quantity;       // Quantity 
     
+    // Owning order and what it has counted for this item (guarded by the order's lock)
+    private Order order;
+    private long countedSubtotal;
+    private int countedQuantity;
+    private boolean followingPrice;
+    
+    // Display text and the values it was built from; the menu item can be
+    // changed elsewhere, so the cache is checked against it on every use
+    private Display display;
+    
+    private record Display(String name, long price, int quantity, String text) {
+    }
+    
     /**
      * Constructor
      */
@@ -35,11 +52,89 @@ public class OrderItem {
     // ==================== Setters ====================
     
     public void setMenuItem(MenuItem menuItem) {
-        this.menuItem = menuItem;
+        Order owner = order;
+        if (owner == null) {
+            this.menuItem = menuItem;
+            return;
+        }
+        synchronized (owner) {
+            if (followingPrice) {
+                this.menuItem.removeOrderLine(this);
+                menuItem.addOrderLine(this);
+            }
+            this.menuItem = menuItem;
+            owner.itemChanged(this);
+        }
     }
     
     public void setQuantity(int quantity) {
         this.quantity = quantity;
+        Order owner = order;
+        if (owner != null) {
+            owner.itemChanged(this);
+        }
+    }
+    
+    // ==================== Order Bookkeeping ====================
+    
+    /**
+     * Called by Order when this item is added to it
+     * 
+     * @param followPrice Whether to follow MenuItem price changes (open order)
+     */
+    void attach(Order owner, boolean followPrice) {
+        this.order = owner;
+        recount();
+        if (followPrice && !followingPrice) {
+            menuItem.addOrderLine(this);
+            followingPrice = true;
+        }
+    }
+    
+    /**
+     * Called by Order when this item is removed from it
+     */
+    void detach(Order owner) {
+        if (order == owner) {
+            stopFollowingPrice();
+            order = null;
+        }
+    }
+    
+    /**
+     * Stop following MenuItem price changes (order finished or item removed)
+     */
+    void stopFollowingPrice() {
+        if (followingPrice) {
+            menuItem.removeOrderLine(this);
+            followingPrice = false;
+        }
+    }
+    
+    /**
+     * Called by MenuItem after its price changed
+     */
+    void priceChanged() {
+        Order owner = order;
+        if (owner != null) {
+            owner.itemChanged(this);
+        }
+    }
+    
+    /**
+     * Take the current subtotal and quantity as the counted ones
+     */
+    void recount() {
+        countedSubtotal = getSubtotalMinor();
+        countedQuantity = quantity;
+    }
+    
+    long getCountedSubtotal() {
+        return countedSubtotal;
+    }
+    
+    int getCountedQuantity() {
+        return countedQuantity;
     }
     
     // ==================== Calculation Methods ====================
@@ -48,24 +143,59 @@ public class OrderItem {
      * Calculate subtotal (price × quantity)
      */
     public double getSubtotal() {
-        return menuItem.getPrice() * quantity;
+        return Money.toMajor(getSubtotalMinor());
+    }
+    
+    /**
+     * Subtotal in minor units (exact)
+     */
+    public long getSubtotalMinor() {
+        return Money.times(menuItem.getPriceMinor(), quantity);
+    }
+    
+    /**
+     * Subtotal as counted in the owning order's total, in minor units
+     * Fixed once the order is done or cancelled (later menu price changes
+     * do not affect it), so this is what the customer was charged;
+     * the current subtotal if the item is not in an order
+     */
+    public long getChargedSubtotalMinor() {
+        Order owner = order;
+        if (owner == null) {
+            return getSubtotalMinor();
+        }
+        synchronized (owner) {
+            return countedSubtotal;
+        }
     }
     
     /**
      * Format subtotal for display
      */
     public String getFormattedSubtotal() {
-        return String.format("$%.0f", getSubtotal());
+        return DisplayFormat.formatPrice(getSubtotalMinor());
+    }
+    
+    /**
+     * Append the display text ("name xN = $subtotal") to a builder
+     */
+    public StringBuilder appendTo(StringBuilder sb) {
+        return sb.append(toString());
     }
     
     /**
-     * toString method
+     * toString method (cached until name, price or quantity changes)
      */
     @Override
     public String toString() {
-        return String.format("%s x%d = %s", 
-            menuItem.getName(), 
-            quantity, 
-            getFormattedSubtotal());
+        String name = menuItem.getName();
+        long price = menuItem.getPriceMinor();
+        Display cached = display;
+        if (cached == null || cached.name() != name || cached.price() != price || cached.quantity() != quantity) {
+            StringBuilder sb = new StringBuilder(48).append(name).append(" x").append(quantity).append(" = ");
+            cached = new Display(name, price, quantity, DisplayFormat.appendPrice(sb, Money.times(price, quantity)).toString());
+            display = cached;
+        }
+        return cached.text();
     }
 }
\ No newline at end of file
@@ -0,0 +1,59 @@
+// ============================================================
+// File: OrderPriority.java
+// Location: src/model/OrderPriority.java
+// Purpose: Order priority classes
+// ============================================================
+
+package model;
+
+/**
+ * OrderPriority
+ * Declared from lowest to highest, so ordinal order is priority order
+ * The level (1-3) is what storage writes and what the UI used to pass
+ */
+public enum OrderPriority {
+
+    NORMAL(1, "Normal"),        // Normal order
+    DELIVERY(2, "Delivery"),    // Delivery order
+    VIP(3, "VIP");              // VIP order
+
+    private static final OrderPriority[] VALUES = values();
+
+    private final int level;
+    private final String text;
+
+    OrderPriority(int level, String text) {
+        this.level = level;
+        this.text = text;
+    }
+
+    /**
+     * Level 1 (Normal) to 3 (VIP)
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Priority for a level
+     *
+     * @throws IllegalArgumentException If the level is not 1-3
+     */
+    public static OrderPriority fromLevel(int level) {
+        if (level < 1 || level > VALUES.length) {
+            throw new IllegalArgumentException("Invalid priority: " + level);
+        }
+        return VALUES[level - 1];
+    }
+
+    /**
+     * Priority for an ordinal (compact storage, e.g. one byte per order)
+     */
+    public static OrderPriority fromOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+}
@@ -0,0 +1,100 @@
+// ============================================================
+// File: OrderStatus.java
+// Location: src/model/OrderStatus.java
+// Purpose: Order status values and the transitions allowed between them
+// ============================================================
+
+package model;
+
+/**
+ * OrderStatus
+ * Life of an order:
+ *   WAITING -> COOKING -> DONE
+ *   WAITING -> CANCELLED         (customer cancel, only before the kitchen starts it)
+ *   COOKING -> CANCELLED         (kitchen gave up after repeated failures)
+ * DONE and CANCELLED are final. Any other change is rejected, see
+ * canTransitionTo and Order.transitionStatus
+ *
+ * Compared by identity (==) and switched on directly, no String compares;
+ * the code ("waiting", ...) is what storage writes
+ */
+public enum OrderStatus {
+
+    WAITING("waiting", "Waiting"),
+    COOKING("cooking", "Cooking"),
+    DONE("done", "Done"),
+    CANCELLED("cancelled", "Cancelled");   // Not cooked: cancelled, or given up by the kitchen
+
+    // Allowed transitions: TRANSITIONS[from.ordinal()][to.ordinal()]
+    private static final boolean[][] TRANSITIONS = {
+        //              WAITING COOKING DONE   CANCELLED
+        /* WAITING   */ {false, true,   false, true },
+        /* COOKING   */ {false, false,  true,  true },
+        /* DONE      */ {false, false,  false, false},
+        /* CANCELLED */ {false, false,  false, false},
+    };
+
+    private static final OrderStatus[] VALUES = values();
+
+    private final String code;
+    private final String text;
+
+    OrderStatus(String code, String text) {
+        this.code = code;
+        this.text = text;
+    }
+
+    /**
+     * Stable name used by storage, e.g. "waiting"
+     */
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * Display text, e.g. "Waiting"
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Whether an order may go from this status to next
+     */
+    public boolean canTransitionTo(OrderStatus next) {
+        return TRANSITIONS[ordinal()][next.ordinal()];
+    }
+
+    /**
+     * Whether the status is final (done or cancelled): no transition leaves it
+     */
+    public boolean isFinal() {
+        return this == DONE || this == CANCELLED;
+    }
+
+    /**
+     * Status for a storage code
+     *
+     * @throws IllegalArgumentException If the code is unknown
+     */
+    public static OrderStatus fromCode(String code) {
+        for (OrderStatus status : VALUES) {
+            if (status.code.equals(code)) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unknown order status: " + code);
+    }
+
+    /**
+     * Status for an ordinal (compact storage, e.g. one byte per order)
+     */
+    public static OrderStatus fromOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+
+    @Override
+    public String toString() {
+        return code;
+    }
+}
@@ -0,0 +1,28 @@
+// ============================================================
+// File: OrderStatusListener.java
+// Location: src/model/OrderStatusListener.java
+// Purpose: Callback for order status transitions
+// ============================================================
+
+package model;
+
+/**
+ * OrderStatusListener
+ * Told about every status transition of every order, so screens can
+ * update instead of polling order statuses
+ * Register with Order.addStatusListener
+ *
+ * Called on the thread that made the transition (e.g. a kitchen worker),
+ * after the order's bookkeeping is done and outside its lock; keep it
+ * short and hop to the UI thread if needed (Platform.runLater)
+ */
+@FunctionalInterface
+public interface OrderStatusListener {
+
+    /**
+     * @param order Order that changed
+     * @param from Status before the transition
+     * @param to Status after the transition (order.getStatus() may already be later)
+     */
+    void statusChanged(Order order, OrderStatus from, OrderStatus to);
+}
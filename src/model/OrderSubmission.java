@@ -0,0 +1,34 @@
+// ============================================================
+// File: OrderSubmission.java
+// Location: src/model/OrderSubmission.java
+// Purpose: An order as submitted by a POS terminal or the online shop
+// ============================================================
+
+package model;
+
+import java.util.List;
+
+/**
+ * OrderSubmission
+ * What a client sends to place an order: menu item IDs and quantities,
+ * not prices; the order pipeline looks up and prices the items itself
+ *
+ * @param lines Ordered items, in the order they were entered
+ * @param priority Priority class
+ * @param channel Where the order came from (e.g. "pos", "online"), for logs only
+ */
+public record OrderSubmission(List<Line> lines, OrderPriority priority, String channel) {
+
+    /**
+     * One ordered item
+     *
+     * @param menuItemId ID of the menu item
+     * @param quantity Number ordered
+     */
+    public record Line(String menuItemId, int quantity) {
+    }
+
+    public OrderSubmission {
+        lines = lines == null ? List.of() : List.copyOf(lines);
+    }
+}
@@ -0,0 +1,93 @@
+// ============================================================
+// File: OrderView.java
+// Location: src/model/OrderView.java
+// Purpose: Read-only view of an order, live or archived
+// ============================================================
+
+package model;
+
+import java.time.LocalDateTime;
+
+/**
+ * OrderView
+ * What display and report code needs to read from an order, without
+ * being able to change it. Implemented by Order (live orders) and by
+ * service.ArchiveRow (orders in the off-heap archive), so the same code
+ * can show both
+ *
+ * Lines are numbered 0 until getItemCount() - 1
+ */
+public interface OrderView {
+
+    int getOrderNumber();
+
+    LocalDateTime getTimestamp();
+
+    OrderPriority getPriority();
+
+    OrderStatus getStatus();
+
+    /**
+     * Total price in minor units (see Money)
+     */
+    long getTotalPriceMinor();
+
+    /**
+     * Sum of the line quantities
+     */
+    int getTotalQuantity();
+
+    /**
+     * Number of lines
+     */
+    int getItemCount();
+
+    // ==================== Lines ====================
+
+    /**
+     * Menu item ID of a line
+     */
+    String getItemId(int line);
+
+    /**
+     * Menu item name of a line
+     */
+    String getItemName(int line);
+
+    int getQuantity(int line);
+
+    /**
+     * Amount of a line counted in the total, in minor units
+     */
+    long getSubtotalMinor(int line);
+
+    // ==================== Display ====================
+
+    default double getTotalPrice() {
+        return Money.toMajor(getTotalPriceMinor());
+    }
+
+    default String getPriorityText() {
+        return getPriority().getText();
+    }
+
+    default String getStatusText() {
+        return getStatus().getText();
+    }
+
+    default String getFormattedTotalPrice() {
+        return DisplayFormat.formatPrice(getTotalPriceMinor());
+    }
+
+    /**
+     * Order summary (for display in list), e.g. "Order #007 - VIP - 3 items - $450"
+     */
+    default String getSummary() {
+        StringBuilder sb = new StringBuilder(48).append("Order #");
+        DisplayFormat.appendOrderNumber(sb, getOrderNumber())
+            .append(" - ").append(getPriorityText())
+            .append(" - ").append(getItemCount())
+            .append(" items - ").append(getFormattedTotalPrice());
+        return sb.toString();
+    }
+}
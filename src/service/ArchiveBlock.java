@@ -0,0 +1,227 @@
+// ============================================================
+// File: ArchiveBlock.java
+// Location: src/service/ArchiveBlock.java
+// Purpose: One immutable block of archived orders, stored off-heap by column
+// ============================================================
+
+package service;
+
+import model.OrderPriority;
+import model.OrderStatus;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Archive Block
+ * Up to CAPACITY orders stored column by column in one direct (off-heap)
+ * ByteBuffer, so the GC neither scans nor copies them; the block itself
+ * is a single small heap object whatever its size
+ *
+ * Layout, n = orders, L = lines (8-byte columns first, so all are aligned):
+ *   times          long[n]    Epoch millis (local order time in the system zone)
+ *   totals         long[n]    Minor units
+ *   lineSubtotals  long[L]    Charged amount, minor units
+ *   orderNumbers   int[n]
+ *   quantities     int[n]
+ *   lineStarts     int[n + 1] Order i owns lines lineStarts[i] until lineStarts[i + 1]
+ *   lineItems      int[L]     Item index in the archive's item dictionary
+ *   lineQuantities int[L]
+ *   priorities     byte[n]    OrderPriority ordinal
+ *   statuses       byte[n]    OrderStatus ordinal (DONE or CANCELLED)
+ * About 30 bytes per order plus 16 per line
+ *
+ * Immutable once built, so any number of query threads can scan it
+ * without locking; blocks are also the unit of work of parallel queries
+ */
+final class ArchiveBlock {
+
+    static final int CAPACITY = 1 << 16;
+
+    final int size;
+    final int lineCount;
+    final long minTime;           // Smallest / largest time, to skip whole blocks
+    final long maxTime;
+
+    private final ByteBuffer data;
+    private final int totalsOffset;
+    private final int lineSubtotalsOffset;
+    private final int orderNumbersOffset;
+    private final int quantitiesOffset;
+    private final int lineStartsOffset;
+    private final int lineItemsOffset;
+    private final int lineQuantitiesOffset;
+    private final int prioritiesOffset;
+    private final int statusesOffset;
+
+    private ArchiveBlock(Builder builder) {
+        int n = builder.size;
+        int lines = builder.lineCount;
+        size = n;
+        lineCount = lines;
+        minTime = builder.minTime;
+        maxTime = builder.maxTime;
+
+        totalsOffset = n * Long.BYTES;
+        lineSubtotalsOffset = totalsOffset + n * Long.BYTES;
+        orderNumbersOffset = lineSubtotalsOffset + lines * Long.BYTES;
+        quantitiesOffset = orderNumbersOffset + n * Integer.BYTES;
+        lineStartsOffset = quantitiesOffset + n * Integer.BYTES;
+        lineItemsOffset = lineStartsOffset + (n + 1) * Integer.BYTES;
+        lineQuantitiesOffset = lineItemsOffset + lines * Integer.BYTES;
+        prioritiesOffset = lineQuantitiesOffset + lines * Integer.BYTES;
+        statusesOffset = prioritiesOffset + n;
+
+        data = ByteBuffer.allocateDirect(statusesOffset + n).order(ByteOrder.nativeOrder());
+        column(0, n * Long.BYTES).asLongBuffer().put(builder.times, 0, n);
+        column(totalsOffset, n * Long.BYTES).asLongBuffer().put(builder.totals, 0, n);
+        column(lineSubtotalsOffset, lines * Long.BYTES).asLongBuffer().put(builder.lineSubtotals, 0, lines);
+        column(orderNumbersOffset, n * Integer.BYTES).asIntBuffer().put(builder.orderNumbers, 0, n);
+        column(quantitiesOffset, n * Integer.BYTES).asIntBuffer().put(builder.quantities, 0, n);
+        column(lineStartsOffset, (n + 1) * Integer.BYTES).asIntBuffer().put(builder.lineStarts, 0, n + 1);
+        column(lineItemsOffset, lines * Integer.BYTES).asIntBuffer().put(builder.lineItems, 0, lines);
+        column(lineQuantitiesOffset, lines * Integer.BYTES).asIntBuffer().put(builder.lineQuantities, 0, lines);
+        data.put(prioritiesOffset, builder.priorities, 0, n);
+        data.put(statusesOffset, builder.statuses, 0, n);
+    }
+
+    private ByteBuffer column(int offset, int length) {
+        return data.slice(offset, length).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Whether any order of this block may fall in [from, to)
+     */
+    boolean overlaps(long from, long to) {
+        return size > 0 && minTime < to && maxTime >= from;
+    }
+
+    /**
+     * Off-heap bytes used by this block
+     */
+    int byteSize() {
+        return data.capacity();
+    }
+
+    // ==================== Order Columns (index: order in block) ====================
+
+    long time(int order) {
+        return data.getLong(order << 3);
+    }
+
+    long total(int order) {
+        return data.getLong(totalsOffset + (order << 3));
+    }
+
+    int orderNumber(int order) {
+        return data.getInt(orderNumbersOffset + (order << 2));
+    }
+
+    int quantity(int order) {
+        return data.getInt(quantitiesOffset + (order << 2));
+    }
+
+    int lineStart(int order) {
+        return data.getInt(lineStartsOffset + (order << 2));
+    }
+
+    byte priority(int order) {
+        return data.get(prioritiesOffset + order);
+    }
+
+    byte status(int order) {
+        return data.get(statusesOffset + order);
+    }
+
+    // ==================== Line Columns (index: line in block) ====================
+
+    long lineSubtotal(int line) {
+        return data.getLong(lineSubtotalsOffset + (line << 3));
+    }
+
+    int lineItem(int line) {
+        return data.getInt(lineItemsOffset + (line << 2));
+    }
+
+    int lineQuantity(int line) {
+        return data.getInt(lineQuantitiesOffset + (line << 2));
+    }
+
+    /**
+     * Block being filled, on the heap; build() copies it off-heap
+     * Only one exists per archive and it is reused, so the heap holds at
+     * most one block of archived orders
+     * Not thread-safe, guarded by OrderArchive
+     */
+    static final class Builder {
+
+        private int size;
+        private int lineCount;
+        private long minTime = Long.MAX_VALUE;
+        private long maxTime = Long.MIN_VALUE;
+
+        private final int[] orderNumbers = new int[CAPACITY];
+        private final long[] times = new long[CAPACITY];
+        private final byte[] priorities = new byte[CAPACITY];
+        private final byte[] statuses = new byte[CAPACITY];
+        private final long[] totals = new long[CAPACITY];
+        private final int[] quantities = new int[CAPACITY];
+        private final int[] lineStarts = new int[CAPACITY + 1];
+
+        private int[] lineItems = new int[CAPACITY * 2];
+        private int[] lineQuantities = new int[CAPACITY * 2];
+        private long[] lineSubtotals = new long[CAPACITY * 2];
+
+        boolean isFull() {
+            return size == CAPACITY;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        /**
+         * Add one line of the order being added; call before endOrder
+         */
+        void addLine(int item, int quantity, long subtotal) {
+            if (lineCount == lineItems.length) {
+                int length = lineCount + (lineCount >> 1);
+                lineItems = Arrays.copyOf(lineItems, length);
+                lineQuantities = Arrays.copyOf(lineQuantities, length);
+                lineSubtotals = Arrays.copyOf(lineSubtotals, length);
+            }
+            lineItems[lineCount] = item;
+            lineQuantities[lineCount] = quantity;
+            lineSubtotals[lineCount] = subtotal;
+            lineCount++;
+        }
+
+        /**
+         * Finish the order whose lines were just added
+         */
+        void endOrder(int orderNumber, long time, OrderPriority priority, OrderStatus status,
+                      long total, int quantity) {
+            orderNumbers[size] = orderNumber;
+            times[size] = time;
+            priorities[size] = (byte) priority.ordinal();
+            statuses[size] = (byte) status.ordinal();
+            totals[size] = total;
+            quantities[size] = quantity;
+            minTime = Math.min(minTime, time);
+            maxTime = Math.max(maxTime, time);
+            size++;
+            lineStarts[size] = lineCount;
+        }
+
+        ArchiveBlock build() {
+            return new ArchiveBlock(this);
+        }
+
+        void clear() {
+            size = 0;
+            lineCount = 0;
+            minTime = Long.MAX_VALUE;
+            maxTime = Long.MIN_VALUE;
+        }
+    }
+}
@@ -0,0 +1,464 @@
+// ============================================================
+// File: ArchiveQuery.java
+// Location: src/service/ArchiveQuery.java
+// Purpose: Parallel filter / group-by / sum queries over the order archive
+// ============================================================
+
+package service;
+
+import model.OrderPriority;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Archive Query
+ * Filters narrow the query and return a new ArchiveQuery (the original is
+ * unchanged); terminal operations (count, sum, groupBy, ...) run it
+ *
+ * A query works on the snapshot taken by OrderArchive.query(). It is run
+ * as a fork-join task: the blocks are split in halves until one block is
+ * left, each block is scanned into a partial result on its own worker and
+ * the partial results are merged on the way back up. Blocks share
+ * nothing, so the speed-up is close to the number of cores
+ * Runs on the common pool unless on(pool) is given
+ *
+ * Rows are read-only OrderViews (see ArchiveRow); list() returns them
+ *
+ * Example, revenue by hour of the VIP orders placed in March:
+ *   DataManager.orderArchive.query()
+ *       .between(march1, april1)
+ *       .withPriority(OrderPriority.VIP)
+ *       .revenueByHour();
+ */
+public final class ArchiveQuery {
+
+    /**
+     * Value of one order line, for line-level sums
+     */
+    @FunctionalInterface
+    public interface LineFunction {
+        long apply(ArchiveRow row, int line);
+    }
+
+    /**
+     * Two items ordered together
+     *
+     * @param firstItemId Menu item ID (the smaller item index of the two)
+     * @param secondItemId Menu item ID
+     * @param orders Number of orders containing both
+     */
+    public record ItemPair(String firstItemId, String secondItemId, long orders) {
+    }
+
+    // Adds one matching order to a partial result
+    private interface Accumulator<R> {
+        void add(R result, ArchiveRow row);
+    }
+
+    private final ArchiveSnapshot snapshot;
+    private final long from;
+    private final long to;
+    private final Predicate<ArchiveRow> filter;   // null: every order in [from, to)
+    private final ForkJoinPool pool;
+
+    ArchiveQuery(ArchiveSnapshot snapshot) {
+        this(snapshot, Long.MIN_VALUE, Long.MAX_VALUE, null, ForkJoinPool.commonPool());
+    }
+
+    private ArchiveQuery(ArchiveSnapshot snapshot, long from, long to, Predicate<ArchiveRow> filter,
+                         ForkJoinPool pool) {
+        this.snapshot = snapshot;
+        this.from = from;
+        this.to = to;
+        this.filter = filter;
+        this.pool = pool;
+    }
+
+    // ==================== Filters ====================
+
+    /**
+     * Only orders placed in [from, to)
+     * Uses the time range of each block, so blocks outside it are not read
+     */
+    public ArchiveQuery between(LocalDateTime from, LocalDateTime to) {
+        return new ArchiveQuery(snapshot, Math.max(this.from, snapshot.epochMillis(from)),
+                                Math.min(this.to, snapshot.epochMillis(to)), filter, pool);
+    }
+
+    /**
+     * Only orders that match the predicate (combined with earlier filters)
+     */
+    public ArchiveQuery filter(Predicate<ArchiveRow> predicate) {
+        return new ArchiveQuery(snapshot, from, to, filter == null ? predicate : filter.and(predicate), pool);
+    }
+
+    /**
+     * Only completed orders (no cancelled ones)
+     */
+    public ArchiveQuery done() {
+        return filter(row -> !row.isCancelled());
+    }
+
+    public ArchiveQuery withPriority(OrderPriority priority) {
+        return filter(row -> row.getPriority() == priority);
+    }
+
+    /**
+     * Run on the given pool instead of the common pool
+     * (e.g. new ForkJoinPool(4) to limit the cores a report may use)
+     */
+    public ArchiveQuery on(ForkJoinPool pool) {
+        return new ArchiveQuery(snapshot, from, to, filter, pool);
+    }
+
+    // ==================== Sum and Count ====================
+
+    public long count() {
+        return run(() -> new long[1], (sum, row) -> sum[0]++, ArchiveQuery::add)[0];
+    }
+
+    /**
+     * Sum of a value over the matching orders
+     */
+    public long sum(ToLongFunction<ArchiveRow> value) {
+        return run(() -> new long[1], (sum, row) -> sum[0] += value.applyAsLong(row), ArchiveQuery::add)[0];
+    }
+
+    /**
+     * Average of a value over the matching orders, 0 if none match
+     */
+    public double average(ToLongFunction<ArchiveRow> value) {
+        long[] result = run(() -> new long[2], (sum, row) -> {
+            sum[0] += value.applyAsLong(row);
+            sum[1]++;
+        }, ArchiveQuery::add);
+        return result[1] == 0 ? 0 : (double) result[0] / result[1];
+    }
+
+    /**
+     * Revenue in minor units
+     */
+    public long revenue() {
+        return sum(ArchiveRow::getTotalPriceMinor);
+    }
+
+    /**
+     * Average number of items per order
+     */
+    public double averageBasketSize() {
+        return average(ArchiveRow::getTotalQuantity);
+    }
+
+    // ==================== Rows ====================
+
+    /**
+     * First matching orders, in archive order, as read-only views
+     *
+     * @param limit Most orders returned
+     */
+    public List<ArchiveRow> list(int limit) {
+        return run(ArrayList::new, (rows, row) -> {
+            if (rows.size() < limit) {
+                rows.add(row.detach());
+            }
+        }, (left, right) -> {
+            for (int i = 0; i < right.size() && left.size() < limit; i++) {
+                left.add(right.get(i));
+            }
+            return left;
+        });
+    }
+
+    // ==================== Group By ====================
+
+    /**
+     * Sum of a value per group, for small dense group keys
+     *
+     * @param key Group of an order, 0 until keyCount - 1
+     * @param keyCount Number of groups
+     * @param value Value added to the order's group
+     * @return Sum by group key
+     */
+    public long[] groupBy(ToIntFunction<ArchiveRow> key, int keyCount, ToLongFunction<ArchiveRow> value) {
+        return run(() -> new long[keyCount],
+                   (sums, row) -> sums[key.applyAsInt(row)] += value.applyAsLong(row), ArchiveQuery::add);
+    }
+
+    /**
+     * Number of orders per group
+     *
+     * @see #groupBy
+     */
+    public long[] countBy(ToIntFunction<ArchiveRow> key, int keyCount) {
+        return run(() -> new long[keyCount], (counts, row) -> counts[key.applyAsInt(row)]++, ArchiveQuery::add);
+    }
+
+    /**
+     * Revenue in minor units by hour of the day (index 0-23)
+     */
+    public long[] revenueByHour() {
+        return groupBy(ArchiveRow::getHourOfDay, 24, ArchiveRow::getTotalPriceMinor);
+    }
+
+    /**
+     * Sum of a line value per menu item, highest first (items summing to 0 are left out)
+     * e.g. sumByItem((row, line) -> row.getQuantity(line)) for units sold
+     */
+    public Map<String, Long> sumByItem(LineFunction value) {
+        return sorted(sumLines(value), snapshot.itemIds(), null);
+    }
+
+    /**
+     * Sum of a line value per category, highest first
+     */
+    public Map<String, Long> sumByCategory(LineFunction value) {
+        return sorted(sumLines(value), snapshot.categories(), snapshot.itemCategories());
+    }
+
+    private long[] sumLines(LineFunction value) {
+        int itemCount = snapshot.itemIds().length;
+        return run(() -> new long[itemCount], (sums, row) -> {
+            for (int line = 0, lines = row.getItemCount(); line < lines; line++) {
+                sums[row.getItemIndex(line)] += value.apply(row, line);
+            }
+        }, ArchiveQuery::add);
+    }
+
+    // Group item sums (by group index, or by item if null) and sort them, highest first
+    private static Map<String, Long> sorted(long[] itemSums, String[] names, int[] groupOfItem) {
+        long[] sums = itemSums;
+        if (groupOfItem != null) {
+            sums = new long[names.length];
+            for (int item = 0; item < itemSums.length; item++) {
+                sums[groupOfItem[item]] += itemSums[item];
+            }
+        }
+        List<Integer> keys = new ArrayList<>();
+        for (int i = 0; i < sums.length; i++) {
+            if (sums[i] != 0) {
+                keys.add(i);
+            }
+        }
+        long[] values = sums;
+        keys.sort((a, b) -> Long.compare(values[b], values[a]));
+
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (int key : keys) {
+            result.put(names[key], values[key]);
+        }
+        return result;
+    }
+
+    // ==================== Co-occurrence ====================
+
+    /**
+     * Item pairs ordered together most often
+     * An order counts once per pair, however many of each item it has
+     *
+     * @param limit Most pairs returned
+     */
+    public List<ItemPair> topItemPairs(int limit) {
+        PairCounts counts = run(PairCounts::new, (pairs, row) -> pairs.addOrder(row), PairCounts::merge);
+
+        List<ItemPair> result = new ArrayList<>();
+        String[] ids = snapshot.itemIds();
+        for (long[] entry : counts.top(limit)) {
+            result.add(new ItemPair(ids[(int) (entry[0] >>> 32)], ids[(int) entry[0]], entry[1]));
+        }
+        return result;
+    }
+
+    /**
+     * Count per item pair, in an open-addressing hash table of primitives
+     * Key: smaller item index in the high 32 bits, larger in the low 32
+     */
+    private static final class PairCounts {
+
+        private static final long EMPTY = -1;
+
+        private long[] keys = newKeys(256);
+        private long[] counts = new long[256];
+        private int size;
+        private int[] orderItems = new int[16];   // Scratch: distinct items of the current order
+
+        private static long[] newKeys(int capacity) {
+            long[] keys = new long[capacity];
+            Arrays.fill(keys, EMPTY);
+            return keys;
+        }
+
+        void addOrder(ArchiveRow row) {
+            int lines = row.getItemCount();
+            if (lines < 2) {
+                return;
+            }
+            if (lines > orderItems.length) {
+                orderItems = new int[Math.max(lines, orderItems.length * 2)];
+            }
+            for (int line = 0; line < lines; line++) {
+                orderItems[line] = row.getItemIndex(line);
+            }
+            Arrays.sort(orderItems, 0, lines);
+            int distinct = 0;
+            for (int i = 0; i < lines; i++) {
+                if (i == 0 || orderItems[i] != orderItems[i - 1]) {
+                    orderItems[distinct++] = orderItems[i];
+                }
+            }
+            for (int i = 0; i < distinct; i++) {
+                for (int j = i + 1; j < distinct; j++) {
+                    add(((long) orderItems[i] << 32) | orderItems[j], 1);
+                }
+            }
+        }
+
+        private void add(long key, long count) {
+            int mask = keys.length - 1;
+            int slot = (int) mix(key) & mask;
+            while (keys[slot] != EMPTY && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            counts[slot] += count;
+            if (keys[slot] == EMPTY) {
+                keys[slot] = key;
+                if (++size * 2 > keys.length) {
+                    grow();
+                }
+            }
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            long[] oldCounts = counts;
+            keys = newKeys(oldKeys.length * 2);
+            counts = new long[oldKeys.length * 2];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    add(oldKeys[i], oldCounts[i]);
+                }
+            }
+        }
+
+        private static long mix(long key) {
+            key *= 0x9E3779B97F4A7C15L;
+            return key ^ (key >>> 29);
+        }
+
+        static PairCounts merge(PairCounts a, PairCounts b) {
+            PairCounts big = a.size >= b.size ? a : b;
+            PairCounts small = big == a ? b : a;
+            for (int i = 0; i < small.keys.length; i++) {
+                if (small.keys[i] != EMPTY) {
+                    big.add(small.keys[i], small.counts[i]);
+                }
+            }
+            return big;
+        }
+
+        /**
+         * Highest counts as {key, count}, highest first
+         */
+        List<long[]> top(int limit) {
+            if (limit <= 0) {
+                return List.of();
+            }
+            Comparator<long[]> byCount = Comparator.comparingLong((long[] e) -> e[1])
+                                                   .thenComparing(e -> -e[0]);
+            PriorityQueue<long[]> best = new PriorityQueue<>(limit + 1, byCount);
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == EMPTY) {
+                    continue;
+                }
+                if (best.size() < limit) {
+                    best.add(new long[] {keys[i], counts[i]});
+                } else if (counts[i] > best.peek()[1]) {
+                    best.poll();
+                    best.add(new long[] {keys[i], counts[i]});
+                }
+            }
+            List<long[]> result = new ArrayList<>(best);
+            result.sort(byCount.reversed());
+            return result;
+        }
+    }
+
+    // ==================== Execution ====================
+
+    private static long[] add(long[] a, long[] b) {
+        for (int i = 0; i < a.length; i++) {
+            a[i] += b[i];
+        }
+        return a;
+    }
+
+    private <R> R run(Supplier<R> create, Accumulator<R> accumulate, BinaryOperator<R> merge) {
+        ArchiveBlock[] blocks = snapshot.blocks();
+        if (blocks.length == 0) {
+            return create.get();
+        }
+        return pool.invoke(new ScanTask<>(0, blocks.length, create, accumulate, merge));
+    }
+
+    /**
+     * Scans blocks [first, end): splits in halves down to one block per task
+     */
+    @SuppressWarnings("serial")
+    private final class ScanTask<R> extends RecursiveTask<R> {
+
+        private final int first;
+        private final int end;
+        private final Supplier<R> create;
+        private final Accumulator<R> accumulate;
+        private final BinaryOperator<R> merge;
+
+        ScanTask(int first, int end, Supplier<R> create, Accumulator<R> accumulate, BinaryOperator<R> merge) {
+            this.first = first;
+            this.end = end;
+            this.create = create;
+            this.accumulate = accumulate;
+            this.merge = merge;
+        }
+
+        @Override
+        protected R compute() {
+            if (end - first == 1) {
+                return scan(snapshot.blocks()[first]);
+            }
+            int middle = (first + end) >>> 1;
+            ScanTask<R> left = new ScanTask<>(first, middle, create, accumulate, merge);
+            left.fork();
+            R right = new ScanTask<>(middle, end, create, accumulate, merge).compute();
+            return merge.apply(left.join(), right);
+        }
+
+        private R scan(ArchiveBlock block) {
+            R result = create.get();
+            if (!block.overlaps(from, to)) {
+                return result;
+            }
+            boolean inRange = block.minTime >= from && block.maxTime < to;
+            ArchiveRow row = new ArchiveRow(snapshot);
+            for (int i = 0; i < block.size; i++) {
+                if (!inRange) {
+                    long time = block.time(i);
+                    if (time < from || time >= to) {
+                        continue;
+                    }
+                }
+                row.moveTo(block, i);
+                if (filter == null || filter.test(row)) {
+                    accumulate.add(result, row);
+                }
+            }
+            return result;
+        }
+    }
+}
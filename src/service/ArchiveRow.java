@@ -0,0 +1,160 @@
+// ============================================================
+// File: ArchiveRow.java
+// Location: src/service/ArchiveRow.java
+// Purpose: Read-only order view over one row of the order archive
+// ============================================================
+
+package service;
+
+import model.OrderPriority;
+import model.OrderStatus;
+import model.OrderView;
+import java.time.LocalDateTime;
+
+/**
+ * Archive Row
+ * Reads the fields of one archived order straight from the off-heap
+ * archive columns; nothing is copied onto the heap
+ *
+ * Queries move the same row object from order to order, so scanning
+ * creates no objects: do not keep a row after the function it was
+ * passed to returns, keep detach() instead. Rows from OrderArchive.get()
+ * and ArchiveQuery.list() are already detached
+ */
+public final class ArchiveRow implements OrderView {
+
+    private final ArchiveSnapshot snapshot;
+    private ArchiveBlock block;
+    private int index;
+    private int firstLine;
+
+    ArchiveRow(ArchiveSnapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    void moveTo(ArchiveBlock block, int index) {
+        this.block = block;
+        this.index = index;
+        this.firstLine = block.lineStart(index);
+    }
+
+    /**
+     * Row that stays on this order when this row moves on
+     */
+    public ArchiveRow detach() {
+        ArchiveRow row = new ArchiveRow(snapshot);
+        row.moveTo(block, index);
+        return row;
+    }
+
+    // ==================== Order Fields ====================
+
+    @Override
+    public int getOrderNumber() {
+        return block.orderNumber(index);
+    }
+
+    /**
+     * Order time as epoch millis (cheap, no object created)
+     */
+    public long getTimeMillis() {
+        return block.time(index);
+    }
+
+    /**
+     * Order time (creates a LocalDateTime, prefer getTimeMillis in hot filters)
+     */
+    @Override
+    public LocalDateTime getTimestamp() {
+        return snapshot.localTime(block.time(index));
+    }
+
+    /**
+     * Local hour of the day the order was placed, 0-23
+     */
+    public int getHourOfDay() {
+        return snapshot.hourOfDay(block.time(index));
+    }
+
+    @Override
+    public OrderPriority getPriority() {
+        return OrderPriority.fromOrdinal(block.priority(index));
+    }
+
+    /**
+     * DONE or CANCELLED
+     */
+    @Override
+    public OrderStatus getStatus() {
+        return OrderStatus.fromOrdinal(block.status(index));
+    }
+
+    public boolean isCancelled() {
+        return block.status(index) == OrderStatus.CANCELLED.ordinal();
+    }
+
+    /**
+     * Total charged, in minor units
+     */
+    @Override
+    public long getTotalPriceMinor() {
+        return block.total(index);
+    }
+
+    /**
+     * Total quantity of all lines (basket size)
+     */
+    @Override
+    public int getTotalQuantity() {
+        return block.quantity(index);
+    }
+
+    // ==================== Line Fields ====================
+
+    /**
+     * Number of lines
+     */
+    @Override
+    public int getItemCount() {
+        return block.lineStart(index + 1) - firstLine;
+    }
+
+    /**
+     * Dense index of the line's menu item, 0 until the archive's item count - 1
+     */
+    public int getItemIndex(int line) {
+        return block.lineItem(firstLine + line);
+    }
+
+    @Override
+    public String getItemId(int line) {
+        return snapshot.itemIds()[getItemIndex(line)];
+    }
+
+    @Override
+    public String getItemName(int line) {
+        return snapshot.itemNames()[getItemIndex(line)];
+    }
+
+    public String getCategory(int line) {
+        return snapshot.categories()[snapshot.itemCategories()[getItemIndex(line)]];
+    }
+
+    @Override
+    public int getQuantity(int line) {
+        return block.lineQuantity(firstLine + line);
+    }
+
+    /**
+     * Amount charged for the line, in minor units
+     */
+    @Override
+    public long getSubtotalMinor(int line) {
+        return block.lineSubtotal(firstLine + line);
+    }
+
+    @Override
+    public String toString() {
+        return getSummary();
+    }
+}
@@ -0,0 +1,64 @@
+// ============================================================
+// File: ArchiveSnapshot.java
+// Location: src/service/ArchiveSnapshot.java
+// Purpose: Consistent, immutable view of the order archive for one query
+// ============================================================
+
+package service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.zone.ZoneRules;
+
+/**
+ * Archive Snapshot
+ * The blocks and item dictionary of the archive at one moment; orders
+ * archived later are not seen. Nothing in it changes, so it can be
+ * shared by all threads of a query
+ *
+ * @param blocks Archived orders, oldest block first
+ * @param itemIds Menu item ID by item index
+ * @param itemNames Item name (when last archived) by item index
+ * @param itemCategories Category index by item index
+ * @param categories Category name by category index
+ * @param zone Zone the query reads local times in (the system zone when taken)
+ */
+record ArchiveSnapshot(ArchiveBlock[] blocks, String[] itemIds, String[] itemNames,
+                       int[] itemCategories, String[] categories, ZoneId zone) {
+
+    private static final long MILLIS_PER_HOUR = 3_600_000L;
+
+    // ==================== Times ====================
+
+    /**
+     * Epoch millis of a local time (how archived times are stored)
+     */
+    long epochMillis(LocalDateTime time) {
+        return time.atZone(zone).toInstant().toEpochMilli();
+    }
+
+    LocalDateTime localTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), zone);
+    }
+
+    /**
+     * Local hour of the day, 0-23, without building a LocalDateTime
+     */
+    int hourOfDay(long epochMillis) {
+        ZoneRules rules = zone.getRules();
+        int offsetSeconds = rules.isFixedOffset() ? rules.getOffset(Instant.EPOCH).getTotalSeconds()
+                                                  : rules.getOffset(Instant.ofEpochMilli(epochMillis)).getTotalSeconds();
+        return (int) (Math.floorMod(epochMillis + offsetSeconds * 1000L, 24 * MILLIS_PER_HOUR) / MILLIS_PER_HOUR);
+    }
+
+    // ==================== Counts ====================
+
+    long orderCount() {
+        long count = 0;
+        for (ArchiveBlock block : blocks) {
+            count += block.size;
+        }
+        return count;
+    }
+}
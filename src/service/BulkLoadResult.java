@@ -0,0 +1,59 @@
+// ============================================================
+// File: BulkLoadResult.java
+// Location: src/service/BulkLoadResult.java
+// Purpose: Outcome of a bulk menu import
+// ============================================================
+
+package service;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Bulk Load Result
+ * Number of items added plus one entry per rejected item
+ * A rejected item never stops the rest of the batch
+ */
+public class BulkLoadResult {
+
+    /**
+     * One rejected item
+     *
+     * @param index Position of the item in the input
+     * @param id ID of the item (null if the item itself was null)
+     * @param reason Why it was rejected
+     */
+    public record Failure(int index, String id, String reason) {
+    }
+
+    private final int addedCount;           // Number of items added
+    private final List<Failure> failures;   // Rejected items in input order
+
+    public BulkLoadResult(int addedCount, List<Failure> failures) {
+        this.addedCount = addedCount;
+        this.failures = Collections.unmodifiableList(failures);
+    }
+
+    // ==================== Getters ====================
+
+    public int getAddedCount() {
+        return addedCount;
+    }
+
+    public List<Failure> getFailures() {
+        return failures;
+    }
+
+    public int getFailedCount() {
+        return failures.size();
+    }
+
+    public boolean isAllAdded() {
+        return failures.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Added %d items, %d failed", addedCount, failures.size());
+    }
+}
@@ -8,32 +8,106 @@
 package service;
 
 import model.*;
-import java.util.*;
+import storage.StorageEngine;
+import util.Logger;
+import util.Metrics;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Data Manager Class (Simplified Version)
  * Only responsible for declaring and storing all shared data structures
  * Specific business logic is handled by respective Service classes
+ * 
+ * All structures are concurrent so that several POS terminals and the
+ * kitchen display can use them at the same time without a global lock
+ * The menu map, price index, order queue/registry and order numbers are
+ * also available as a DataStore (see store())
  */
 public class DataManager {
     
+    private static final Logger LOG = Logger.getLogger(DataManager.class);
+    
     // ==================== Menu-Related Data Structures ====================
     
     /**
      * Menu HashMap
      * Key: Menu item ID, Value: MenuItem
      * Purpose: Fast item lookup (O(1))
+     * Concurrency: Lock-striped, writers on different IDs do not block each other
      * Users: MenuService, CustomerOrderPage
      */
-    public static HashMap<String, MenuItem> menuHashMap = new HashMap<>();
+    public static final ConcurrentHashMap<String, MenuItem> menuHashMap = new ConcurrentHashMap<>();
     
     /**
-     * Menu BST (implemented using TreeMap)
-     * Key: Price, Value: MenuItem
-     * Purpose: Automatic sorting by price
+     * Menu BST (implemented using a skip list, see MenuPriceIndex)
+     * Key: (Price, ID), Value: MenuItem
+     * Purpose: Automatic sorting by price, items with the same price are all kept
+     * Concurrency: Lock-free skip list, safe to iterate while being modified
      * Users: MenuService, MenuManagementPage
      */
-    public static TreeMap<Double, MenuItem> menuBST = new TreeMap<>();
+    public static final MenuPriceIndex menuBST = new MenuPriceIndex();
+    
+    /**
+     * Menu Search Index
+     * Trigram index (substring search) and word-prefix index (type-ahead)
+     * Purpose: Name/description search without scanning the whole menu
+     * Users: MenuService
+     */
+    public static final MenuSearchIndex menuSearchIndex = new MenuSearchIndex();
+    
+    /**
+     * Menu Name Index
+     * Key: Name (exact and normalized), Value: IDs using that name
+     * Purpose: O(1) duplicate-name checks
+     * Users: MenuService
+     */
+    public static final MenuNameIndex menuNameIndex = new MenuNameIndex();
+    
+    /**
+     * Menu Category Index
+     * Key: Category, Value: Items of that category plus a counter
+     * Purpose: O(k) category listing and O(1) category counts
+     * Users: MenuService
+     */
+    public static final MenuCategoryIndex menuCategoryIndex = new MenuCategoryIndex();
+    
+    /**
+     * Menu Statistics
+     * Running sum/count of prices (all, per category, available only)
+     * Purpose: O(1) dashboard statistics such as average price
+     * Users: MenuService
+     */
+    public static final MenuStatistics menuStatistics = new MenuStatistics();
+    
+    /**
+     * Menu Version
+     * Incremented on every menu change
+     * Purpose: Tells readers when menuSnapshot is out of date
+     * Users: MenuService
+     */
+    public static final AtomicLong menuVersion = new AtomicLong();
+    
+    /**
+     * Bulk Load Counter
+     * Number of MenuService.addAll and restoreAll calls currently running
+     * Purpose: Snapshot readers keep the previous snapshot until a batch ends
+     * Users: MenuService
+     */
+    public static final AtomicInteger menuBulkLoads = new AtomicInteger();
+    
+    /**
+     * Menu Snapshot
+     * Latest immutable, price-sorted copy of the menu
+     * Purpose: Zero-copy, lock-free reads for listings such as the ordering UI
+     * Users: MenuService, CustomerOrderPage
+     */
+    public static final AtomicReference<MenuSnapshot> menuSnapshot = new AtomicReference<>();
     
     // ==================== Order-Related Data Structures ====================
     
@@ -46,17 +120,137 @@ public class DataManager {
     
     /**
      * Order Priority Queue
-     * Purpose: Sort orders by priority and time
-     * Users: OrderService, KitchenPage
+     * Purpose: Sort orders by priority and time, with aging so that
+     *          Normal orders cannot starve behind a stream of VIP orders
+     * Concurrency: Thread-safe, poll() and offer() can be called from any thread
+     * Users: OrderService, KitchenDispatcher (takes orders off it for the stations)
+     */
+    public static final OrderScheduler orderPriorityQueue = new OrderScheduler();
+    
+    /**
+     * Order Registry
+     * Key: Order number, Value: Order (queued, cooking or finished)
+     * Purpose: O(1) order lookup for status queries, cancel and re-prioritize
+     * Users: OrderService
      */
-    public static PriorityQueue<Order> orderPriorityQueue = new PriorityQueue<>();
+    public static final OrderRegistry orderRegistry = new OrderRegistry();
     
+    /**
+     * Order Pipeline
+     * Purpose: Validates, prices and places submitted orders on virtual threads,
+     *          at most OrderPipeline.DEFAULT_MAX_IN_FLIGHT at a time
+     * Concurrency: submit() can be called from any thread and never blocks
+     * Users: OrderService.submitOrder, CustomerOrderPage
+     */
+    public static final OrderPipeline orderPipeline = new OrderPipeline(OrderPipeline.DEFAULT_MAX_IN_FLIGHT);
+    
+    /**
+     * Sales Analytics
+     * Key: Hourly window, Value: Sales per menu item / category / priority
+     * Purpose: End-of-day and top-seller reports without rescanning orders
+     * Concurrency: Synchronized, each order is folded in once when it is done
+     * Scope: Sales since startup only, nothing is reloaded after a restart
+     * Users: KitchenDispatcher (record), reporting (reportDay, reportAllTime)
+     */
+    public static final SalesAnalytics salesAnalytics = new SalesAnalytics();
+    
+    /**
+     * Order Archive
+     * Purpose: Finished orders stored off-heap by column, for parallel ad-hoc queries
+     *          (revenue by hour, items ordered together, basket size)
+     * Concurrency: Appends are synchronized, queries run on a snapshot
+     * Users: OrderService.archiveFinishedOrders, reporting (query())
+     */
+    public static final OrderArchive orderArchive = new OrderArchive();
     
     /**
      * Order Number Counter
-     * Automatically increments when creating new orders
+     * Holds the next order number to hand out
+     * Use nextOrderNumber() instead of incrementing it by hand
      */
-    public static int orderCounter = 1;
+    public static final AtomicInteger orderCounter = new AtomicInteger(1);
+    
+    // ==================== Persistence ====================
+    
+    /**
+     * Storage Engine
+     * Journals every menu/order change to disk when set, null means in-memory only
+     * Set by StorageEngine.open(), see initialize(Path)
+     * Users: MenuService, OrderService
+     */
+    public static volatile StorageEngine storage;
+    
+    // ==================== Metrics ====================
+    
+    // Gauges over the shared structures, read only when metrics are read
+    static {
+        Metrics.gauge("menu.items", menuHashMap::size);
+        Metrics.gauge("order.queue.depth", orderPriorityQueue::size);
+        Metrics.gauge("order.registered", orderRegistry::size);
+        Metrics.gauge("pipeline.in_flight", orderPipeline::getInFlight);
+        Metrics.gauge("order.archived", orderArchive::size);
+        Metrics.gauge("order.archive.bytes", orderArchive::getOffHeapBytes);
+    }
+    
+    // ==================== Store ====================
+    
+    // The fields above, behind the DataStore interface
+    private static final DataStore STORE = new DataStore() {
+        @Override
+        public ConcurrentMap<String, MenuItem> menuItems() {
+            return menuHashMap;
+        }
+        
+        @Override
+        public MenuPriceIndex menuByPrice() {
+            return menuBST;
+        }
+        
+        @Override
+        public OrderScheduler orderQueue() {
+            return orderPriorityQueue;
+        }
+        
+        @Override
+        public OrderRegistry orders() {
+            return orderRegistry;
+        }
+        
+        @Override
+        public int nextOrderNumber() {
+            return DataManager.nextOrderNumber();
+        }
+        
+        @Override
+        public int peekOrderNumber() {
+            return orderCounter.get();
+        }
+        
+        @Override
+        public void reserveOrderNumbers(int atLeast) {
+            orderCounter.accumulateAndGet(atLeast, Math::max);
+        }
+    };
+    
+    /**
+     * The shared structures as a DataStore
+     * Code outside this package should use it rather than the fields
+     */
+    public static DataStore store() {
+        return STORE;
+    }
+    
+    // ==================== Order Number Method ====================
+    
+    /**
+     * Get a new unique order number
+     * Lock-free, never returns the same number twice even under contention
+     * 
+     * @return Next order number
+     */
+    public static int nextOrderNumber() {
+        return orderCounter.getAndIncrement();
+    }
     
     // ==================== Initialization Method ====================
     
@@ -65,12 +259,47 @@ public class DataManager {
      * Load initial menu data
      */
     public static void initialize() {
-        System.out.println("Initializing DataManager...");
+        LOG.info("Initializing DataManager...");
+        Metrics.registerMBean();
         
         // Load initial menu
         InitialDataLoader.loadInitialMenu();
         
-        System.out.println("DataManager initialization complete!");
-        System.out.println("Current menu count: " + menuHashMap.size());
+        LOG.info("DataManager initialization complete!");
+        LOG.info(() -> "Current menu count: " + menuHashMap.size());
+    }
+    
+    /**
+     * Initialize system with durable storage
+     * Restores the menu and open orders saved in the data directory;
+     * the initial menu is only loaded when nothing was saved yet
+     * 
+     * @param dataDirectory Directory for the log and snapshot files
+     */
+    public static void initialize(Path dataDirectory) throws IOException {
+        LOG.info(() -> "Initializing DataManager from " + dataDirectory + "...");
+        Metrics.registerMBean();
+        
+        StorageEngine.open(dataDirectory);
+        if (menuHashMap.isEmpty()) {
+            InitialDataLoader.loadInitialMenu();
+        }
+        
+        LOG.info("DataManager initialization complete!");
+        LOG.info(() -> "Current menu count: " + menuHashMap.size());
+    }
+    
+    /**
+     * Shut down the system
+     * Finishes the order submissions in progress, then writes a final
+     * snapshot and closes storage, if it is open
+     */
+    public static void shutdown() throws IOException {
+        orderPipeline.close();
+        StorageEngine current = storage;
+        if (current != null) {
+            current.close();
+        }
+        Logger.flush();
     }
 }
\ No newline at end of file
@@ -0,0 +1,70 @@
+// ============================================================
+// File: DataStore.java
+// Location: src/service/DataStore.java
+// Purpose: Interface to the shared menu and order structures
+// ============================================================
+
+package service;
+
+import model.MenuItem;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Data Store
+ * The structures that POS terminals and the kitchen display use at the
+ * same time, gathered behind one accessor
+ * DataManager.store() is the in-memory store over those fields
+ *
+ * This is a facade only, not an abstraction: it hands out the same
+ * concrete objects as DataManager's public fields (MenuPriceIndex,
+ * OrderScheduler, OrderRegistry), and those fields stay the API that
+ * the services in this package use. It gives code outside the package
+ * one place to reach the shared state, nothing more
+ *
+ * Every method may be called from any thread. The menu structures and
+ * order numbers take no global lock; the order queue does (see
+ * OrderScheduler)
+ */
+public interface DataStore {
+
+    // ==================== Menu ====================
+
+    /**
+     * Menu items by ID (lock-striped)
+     */
+    ConcurrentMap<String, MenuItem> menuItems();
+
+    /**
+     * Menu items sorted by (price, ID)
+     */
+    MenuPriceIndex menuByPrice();
+
+    // ==================== Orders ====================
+
+    /**
+     * Orders waiting for the kitchen, by priority with aging
+     */
+    OrderScheduler orderQueue();
+
+    /**
+     * Every known order by number
+     */
+    OrderRegistry orders();
+
+    // ==================== Order Numbers ====================
+
+    /**
+     * New unique order number, never the same twice
+     */
+    int nextOrderNumber();
+
+    /**
+     * Number the next nextOrderNumber() call will return, without taking it
+     */
+    int peekOrderNumber();
+
+    /**
+     * Never hand out numbers below atLeast (e.g. after restoring saved orders)
+     */
+    void reserveOrderNumbers(int atLeast);
+}
@@ -0,0 +1,56 @@
+// ============================================================
+// File: DenseIndex.java
+// Location: src/service/DenseIndex.java
+// Purpose: Assigns small consecutive int indexes to string keys
+// ============================================================
+
+package service;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Dense Index
+ * Gives every new key the next index (0, 1, 2, ...) so data per key can
+ * live in plain primitive arrays instead of maps
+ * Indexes are never reused, a key keeps its index for the life of the object
+ *
+ * Not thread-safe, guarded by its owner (SalesAnalytics)
+ */
+final class DenseIndex {
+
+    private final HashMap<String, Integer> indexes = new HashMap<>();
+    private String[] keys = new String[16];
+
+    /**
+     * Index of a key, assigning the next one if the key is new
+     */
+    int indexOf(String key) {
+        Integer index = indexes.get(key);
+        if (index != null) {
+            return index;
+        }
+        int next = indexes.size();
+        if (next == keys.length) {
+            keys = Arrays.copyOf(keys, next * 2);
+        }
+        keys[next] = key;
+        indexes.put(key, next);
+        return next;
+    }
+
+    String keyAt(int index) {
+        return keys[index];
+    }
+
+    int size() {
+        return indexes.size();
+    }
+
+    /**
+     * All keys by index (copy)
+     */
+    String[] toArray() {
+        return Arrays.copyOf(keys, indexes.size());
+    }
+}
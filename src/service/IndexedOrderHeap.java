@@ -0,0 +1,198 @@
+// ============================================================
+// File: IndexedOrderHeap.java
+// Location: src/service/IndexedOrderHeap.java
+// Purpose: Binary min-heap of orders that can find, re-rank and remove any order
+// ============================================================
+
+package service;
+
+import model.Order;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Indexed Order Heap
+ * Binary min-heap on (rank, sequence) where every entry knows its own
+ * slot and a hash map finds the entry by order number, so besides
+ * offer/poll it supports in O(log n):
+ * - remove(orderNumber)
+ * - update(orderNumber, rank) (decrease-key and increase-key)
+ *
+ * Not thread-safe, OrderScheduler guards it with a lock
+ */
+final class IndexedOrderHeap {
+
+    /**
+     * Heap slot: an order and the rank it is sorted by
+     */
+    private static final class Entry {
+        final Order order;
+        final long sequence;    // Ties on rank are first-in, first-out
+        long rank;
+        int index;              // Current position in heap
+
+        Entry(Order order, long rank, long sequence) {
+            this.order = order;
+            this.rank = rank;
+            this.sequence = sequence;
+        }
+
+        boolean before(Entry other) {
+            return rank != other.rank ? rank < other.rank : sequence < other.sequence;
+        }
+    }
+
+    private Entry[] heap = new Entry[64];
+    private int size;
+    private long nextSequence;
+    private final HashMap<Integer, Entry> byNumber = new HashMap<>();
+
+    // ==================== Update Methods ====================
+
+    /**
+     * Add an order, or re-rank it if its number is already queued
+     */
+    void offer(Order order, long rank) {
+        if (update(order.getOrderNumber(), rank)) {
+            return;
+        }
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+        Entry entry = new Entry(order, rank, nextSequence++);
+        entry.index = size;
+        heap[size++] = entry;
+        byNumber.put(order.getOrderNumber(), entry);
+        siftUp(entry.index);
+    }
+
+    /**
+     * Remove and return the first order, null if empty
+     */
+    Order poll() {
+        return size == 0 ? null : removeAt(0).order;
+    }
+
+    /**
+     * First order without removing it, null if empty
+     */
+    Order peek() {
+        return size == 0 ? null : heap[0].order;
+    }
+
+    /**
+     * Remove the order with the given number
+     *
+     * @return Removed order, null if it was not queued
+     */
+    Order remove(int orderNumber) {
+        Entry entry = byNumber.get(orderNumber);
+        return entry == null ? null : removeAt(entry.index).order;
+    }
+
+    /**
+     * Give a queued order a new rank
+     *
+     * @return false if the order is not queued
+     */
+    boolean update(int orderNumber, long rank) {
+        Entry entry = byNumber.get(orderNumber);
+        if (entry == null) {
+            return false;
+        }
+        long old = entry.rank;
+        entry.rank = rank;
+        if (rank < old) {
+            siftUp(entry.index);
+        } else {
+            siftDown(entry.index);
+        }
+        return true;
+    }
+
+    void clear() {
+        Arrays.fill(heap, 0, size, null);
+        size = 0;
+        byNumber.clear();
+    }
+
+    // ==================== Query Methods ====================
+
+    boolean contains(int orderNumber) {
+        return byNumber.containsKey(orderNumber);
+    }
+
+    Order get(int orderNumber) {
+        Entry entry = byNumber.get(orderNumber);
+        return entry == null ? null : entry.order;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * All queued orders in serving order (copy, O(n log n))
+     */
+    Order[] toSortedArray() {
+        Entry[] entries = Arrays.copyOf(heap, size);
+        Arrays.sort(entries, (a, b) -> a == b ? 0 : a.before(b) ? -1 : 1);
+        Order[] orders = new Order[size];
+        for (int i = 0; i < size; i++) {
+            orders[i] = entries[i].order;
+        }
+        return orders;
+    }
+
+    // ==================== Internal ====================
+
+    private Entry removeAt(int index) {
+        Entry removed = heap[index];
+        byNumber.remove(removed.order.getOrderNumber());
+
+        Entry last = heap[--size];
+        heap[size] = null;
+        if (index < size) {
+            place(last, index);
+            siftDown(index);
+            siftUp(last.index);
+        }
+        return removed;
+    }
+
+    private void siftUp(int index) {
+        Entry entry = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!entry.before(heap[parent])) {
+                break;
+            }
+            place(heap[parent], index);
+            index = parent;
+        }
+        place(entry, index);
+    }
+
+    private void siftDown(int index) {
+        Entry entry = heap[index];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < size && heap[right].before(heap[child])) {
+                child = right;
+            }
+            if (!heap[child].before(entry)) {
+                break;
+            }
+            place(heap[child], index);
+            index = child;
+        }
+        place(entry, index);
+    }
+
+    private void place(Entry entry, int index) {
+        heap[index] = entry;
+        entry.index = index;
+    }
+}
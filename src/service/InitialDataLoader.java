@@ -8,6 +8,9 @@
 package service;
 
 import model.MenuItem;
+import util.Logger;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Initial Data Loader
@@ -16,54 +19,70 @@ import model.MenuItem;
  */
 public class InitialDataLoader {
     
+    private static final Logger LOG = Logger.getLogger(InitialDataLoader.class);
+    
     /**
      * Load initial menu
      * Create default menu items
      */
     public static void loadInitialMenu() {
-        System.out.println("Loading initial menu...");
+        LOG.info("Loading initial menu...");
+        
+        List<MenuItem> items = new ArrayList<>();
         
         // Load main dishes
-        loadMainDishes();
+        loadMainDishes(items);
         
         // Load beverages
-        loadDrinks();
+        loadDrinks(items);
         
         // Load desserts
-        loadDesserts();
+        loadDesserts(items);
+        
+        // Add everything in one batch
+        reportFailures(MenuService.addAll(items));
         
-        System.out.println("Initial menu loaded! Total " + MenuService.getMenuCount() + " items");
+        LOG.info(() -> "Initial menu loaded! Total " + MenuService.getMenuCount() + " items");
+    }
+    
+    /**
+     * Log every item a bulk load rejected
+     */
+    private static void reportFailures(BulkLoadResult result) {
+        for (BulkLoadResult.Failure failure : result.getFailures()) {
+            LOG.warn(() -> "Skipped menu item " + failure.id() + ": " + failure.reason());
+        }
     }
     
     /**
      * Load main dishes
      */
-    private static void loadMainDishes() {
-        MenuService.addMenuItem(
+    private static void loadMainDishes(List<MenuItem> items) {
+        items.add(
             new MenuItem("M001", "Classic Beef Burger", 150, "Main Dish", "100% pure beef with fresh vegetables")
         );
         
-        MenuService.addMenuItem(
+        items.add(
             new MenuItem("M002", "Crispy Fried Chicken", 120, "Main Dish", "Crispy outside, tender inside")
         );
         
-        MenuService.addMenuItem(
+        items.add(
             new MenuItem("M003", "Italian Bolognese Pasta", 180, "Main Dish", "Classic Italian flavor")
         );
         
-        MenuService.addMenuItem(
+        items.add(
             new MenuItem("M004", "Caesar Salad", 100, "Main Dish", "Fresh and healthy choice")
         );
         
-        MenuService.addMenuItem(
+        items.add(
             new MenuItem("M005", "Premium Steak", 350, "Main Dish", "Australian imported beef")
         );
         
-        MenuService.addMenuItem(
+        items.add(
             new MenuItem("M006", "Teriyaki Chicken Rice", 160, "Main Dish", "Japanese style teriyaki sauce")
         );
         
-        MenuService.addMenuItem(
+        items.add(
             new MenuItem("M007", "Seafood Pizza", 280, "Main Dish", "Fresh seafood toppings")
         );
     }
@@ -71,28 +90,28 @@ public class InitialDataLoader {
     /**
      * Load beverages
      */
-    private static void loadDrinks() {
-        MenuService.addMenuItem(
+    private static void loadDrinks(List<MenuItem> items) {
+        items.add(
             new MenuItem("D001", "Coca Cola", 30, "Beverage", "Cold and refreshing")
         );
         
-        MenuService.addMenuItem(
+        items.add(
             new MenuItem("D002", "Orange Juice", 40, "Beverage", "Freshly squeezed")
         );
         
-        MenuService.addMenuItem(
+        items.add(
             new MenuItem("D003", "Bubble Milk Tea", 60, "Beverage", "Signature drink")
         );
         
-        MenuService.addMenuItem(
+        items.add(
             new MenuItem("D004", "Americano", 50, "Beverage", "Rich and aromatic")
         );
         
-        MenuService.addMenuItem(
+        items.add(
             new MenuItem("D005", "Lemon Iced Tea", 45, "Beverage", "Fresh and thirst-quenching")
         );
         
-        MenuService.addMenuItem(
+        items.add(
             new MenuItem("D006", "Matcha Latte", 70, "Beverage", "Kyoto Uji matcha")
         );
     }
@@ -100,24 +119,24 @@ public class InitialDataLoader {
     /**
      * Load desserts
      */
-    private static void loadDesserts() {
-        MenuService.addMenuItem(
+    private static void loadDesserts(List<MenuItem> items) {
+        items.add(
             new MenuItem("S001", "Chocolate Ice Cream", 60, "Dessert", "Belgian chocolate")
         );
         
-        MenuService.addMenuItem(
+        items.add(
             new MenuItem("S002", "Strawberry Cake", 80, "Dessert", "Fresh strawberries")
         );
         
-        MenuService.addMenuItem(
+        items.add(
             new MenuItem("S003", "Tiramisu", 90, "Dessert", "Italian classic dessert")
         );
         
-        MenuService.addMenuItem(
+        items.add(
             new MenuItem("S004", "Mango Smoothie", 75, "Dessert", "Seasonal limited")
         );
         
-        MenuService.addMenuItem(
+        items.add(
             new MenuItem("S005", "Caramel Pudding", 65, "Dessert", "Handmade")
         );
     }
@@ -127,20 +146,24 @@ public class InitialDataLoader {
      * For quick testing
      */
     public static void loadTestMenu() {
-        System.out.println("Loading test menu...");
+        LOG.info("Loading test menu...");
         
-        MenuService.addMenuItem(
+        List<MenuItem> items = new ArrayList<>();
+        
+        items.add(
             new MenuItem("M001", "Burger", 100, "Main Dish")
         );
         
-        MenuService.addMenuItem(
+        items.add(
             new MenuItem("D001", "Coke", 30, "Beverage")
         );
         
-        MenuService.addMenuItem(
+        items.add(
             new MenuItem("S001", "Ice Cream", 50, "Dessert")
         );
         
-        System.out.println("Test menu loaded! Total " + MenuService.getMenuCount() + " items");
+        reportFailures(MenuService.addAll(items));
+        
+        LOG.info(() -> "Test menu loaded! Total " + MenuService.getMenuCount() + " items");
     }
 }
\ No newline at end of file
@@ -0,0 +1,397 @@
+// ============================================================
+// File: KitchenDispatcher.java
+// Location: src/service/KitchenDispatcher.java
+// Purpose: Splits orders into per-station tickets and runs the station workers
+// ============================================================
+
+package service;
+
+import model.Order;
+import model.OrderItem;
+import model.OrderStatus;
+import storage.StorageEngine;
+import util.Counter;
+import util.LatencyHistogram;
+import util.Logger;
+import util.Metrics;
+import util.SampledTimer;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Kitchen Dispatcher
+ * Takes orders from DataManager.orderPriorityQueue, splits each one into
+ * tickets (one per order item) and routes every ticket to the queue of
+ * its KitchenStation
+ *
+ * Each station has its own queue and its own workers, so the grill,
+ * drinks and dessert lines never wait on each other's locks. Workers
+ * take up to batchSize tickets per lock acquisition (drainTo)
+ *
+ * Order status moves WAITING -> COOKING when the first of its tickets is
+ * picked up, and COOKING -> DONE when the last one is finished; both are
+ * compare-and-set transitions, so exactly one worker makes each change
+ * Tickets of cancelled orders are dropped
+ *
+ * When the handler fails a batch, its tickets are prepared again one at a
+ * time, so a single bad ticket cannot hold back the rest of its batch
+ * A ticket that fails on its own goes back on its queue after a backoff
+ * (RETRY_DELAY_MILLIS, doubling up to MAX_RETRY_DELAY_MILLIS); after
+ * MAX_ATTEMPTS failures it is moved to the failed tickets (see
+ * getFailedTickets) and its order goes COOKING -> CANCELLED
+ *
+ * Metrics: batch preparation time, tickets done, failed batches, failed
+ * tickets, time each order spent waiting and cooking, and (while running)
+ * the queue depth of every station as gauges kitchen.queue.<station>
+ */
+public final class KitchenDispatcher {
+
+    private static final Logger LOG = Logger.getLogger(KitchenDispatcher.class);
+    private static final SampledTimer BATCH_TIMER = Metrics.timer("kitchen.batch");
+    private static final Counter TICKETS_DONE = Metrics.counter("kitchen.tickets.done");
+    private static final Counter BATCHES_FAILED = Metrics.counter("kitchen.batches.failed");
+    private static final Counter TICKETS_FAILED = Metrics.counter("kitchen.tickets.failed");
+    private static final Counter ORDERS_GIVEN_UP = Metrics.counter("kitchen.orders.given_up");
+    private static final Counter ORDERS_DONE = Metrics.counter("order.done");
+    private static final LatencyHistogram WAITING_TIME =
+        Metrics.histogram("order.time_in_status.waiting", TimeUnit.MILLISECONDS);
+    private static final LatencyHistogram COOKING_TIME =
+        Metrics.histogram("order.time_in_status.cooking", TimeUnit.MILLISECONDS);
+
+    /**
+     * One order item waiting at (or being prepared by) a station
+     *
+     * @param rank Scheduling rank of the order when it was submitted
+     * @param line Position of the item in its order, keeps lines in order
+     * @param remaining Tickets of the same order not finished yet (shared)
+     * @param attempts Times the handler already failed this ticket on its own
+     */
+    public record Ticket(Order order, OrderItem item, KitchenStation station,
+                         long rank, int line, AtomicInteger remaining, int attempts) {
+
+        /**
+         * Same ticket with one more failed attempt
+         */
+        Ticket failedOnce() {
+            return new Ticket(order, item, station, rank, line, remaining, attempts + 1);
+        }
+    }
+
+    /**
+     * Does the actual preparation of a batch of tickets
+     * Returning normally marks every ticket in the batch as finished
+     */
+    @FunctionalInterface
+    public interface StationHandler {
+        void prepare(KitchenStation station, List<Ticket> batch) throws Exception;
+    }
+
+    // Aged order rank first (see OrderScheduler), then order number, then item position
+    private static final Comparator<Ticket> TICKET_ORDER =
+        Comparator.comparingLong(Ticket::rank)
+                  .thenComparingInt(ticket -> ticket.order().getOrderNumber())
+                  .thenComparingInt(Ticket::line);
+
+    private static final int INTAKE_BATCH = 64;
+    private static final int MAX_ATTEMPTS = 5;                  // Failures before a ticket is given up
+    private static final long RETRY_DELAY_MILLIS = 100;         // Backoff after the first failure
+    private static final long MAX_RETRY_DELAY_MILLIS = 5_000;
+
+    private final EnumMap<KitchenStation, PriorityBlockingQueue<Ticket>> queues =
+        new EnumMap<>(KitchenStation.class);
+    private final StationHandler handler;
+    private final int batchSize;
+    private final List<Thread> threads = new ArrayList<>();
+    private final ScheduledExecutorService retries;
+    private final Queue<Ticket> failedTickets = new ConcurrentLinkedQueue<>();
+    private volatile boolean running;
+    private boolean terminated;                                 // shutdown() was called, guarded by this
+
+    /**
+     * @param workersPerStation Worker threads for every station
+     * @param batchSize Most tickets a worker takes at once
+     * @param handler Prepares the tickets (e.g. shows them on the kitchen display)
+     */
+    public KitchenDispatcher(int workersPerStation, int batchSize, StationHandler handler) {
+        if (workersPerStation < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("workersPerStation and batchSize must be at least 1");
+        }
+        this.batchSize = batchSize;
+        this.handler = handler;
+
+        for (KitchenStation station : KitchenStation.values()) {
+            PriorityBlockingQueue<Ticket> queue = new PriorityBlockingQueue<>(256, TICKET_ORDER);
+            queues.put(station, queue);
+            for (int i = 1; i <= workersPerStation; i++) {
+                threads.add(newThread(() -> work(station, queue),
+                    "kitchen-" + station.name().toLowerCase() + "-" + i));
+            }
+        }
+        threads.add(newThread(this::intake, "kitchen-intake"));
+        retries = Executors.newSingleThreadScheduledExecutor(task -> newThread(task, "kitchen-retry"));
+    }
+
+    // ==================== Lifecycle ====================
+
+    /**
+     * Start the intake thread and all station workers
+     * A dispatcher runs once: after shutdown() create a new one
+     *
+     * @throws IllegalStateException If shutdown() was already called
+     */
+    public synchronized void start() {
+        if (terminated) {
+            throw new IllegalStateException("Kitchen dispatcher was shut down and cannot be restarted");
+        }
+        if (running) {
+            return;
+        }
+        running = true;
+        for (KitchenStation station : KitchenStation.values()) {
+            PriorityBlockingQueue<Ticket> queue = queues.get(station);
+            Metrics.gauge(gaugeName(station), queue::size);
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        LOG.info(() -> "Kitchen dispatcher started with " + (threads.size() - 1) + " station workers");
+    }
+
+    /**
+     * Stop all threads and wait for them, for good (see start())
+     * Tickets still queued stay queued (tickets waiting out a backoff are
+     * queued at once); their orders keep their status
+     */
+    public synchronized void shutdown() throws InterruptedException {
+        terminated = true;
+        running = false;
+        for (Runnable retry : retries.shutdownNow()) {
+            retry.run();
+        }
+        for (Thread thread : threads) {
+            thread.interrupt();
+        }
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+        for (KitchenStation station : KitchenStation.values()) {
+            Metrics.remove(gaugeName(station));
+        }
+    }
+    
+    private static String gaugeName(KitchenStation station) {
+        return "kitchen.queue." + station.name().toLowerCase();
+    }
+
+    // ==================== Dispatch Methods ====================
+
+    /**
+     * Split an order into tickets and queue them at their stations
+     * Normally called by the intake thread; can be called directly for
+     * orders that do not go through DataManager.orderPriorityQueue
+     */
+    public void submit(Order order) {
+        List<OrderItem> items = order.getItems();
+        if (items.isEmpty()) {
+            // Nothing to cook: through COOKING straight to DONE
+            if (order.transitionStatus(OrderStatus.WAITING, OrderStatus.COOKING)) {
+                journalStatus(order, OrderStatus.COOKING);
+                if (order.transitionStatus(OrderStatus.COOKING, OrderStatus.DONE)) {
+                    finished(order);
+                }
+            }
+            return;
+        }
+
+        long rank = DataManager.orderPriorityQueue.rankOf(order);
+        AtomicInteger remaining = new AtomicInteger(items.size());
+        for (int line = 0; line < items.size(); line++) {
+            OrderItem item = items.get(line);
+            KitchenStation station = KitchenStation.forCategory(item.getMenuItem().getCategory());
+            queues.get(station).offer(new Ticket(order, item, station, rank, line, remaining, 0));
+        }
+    }
+
+    /**
+     * Number of tickets waiting at a station
+     */
+    public int getQueuedCount(KitchenStation station) {
+        return queues.get(station).size();
+    }
+
+    /**
+     * Tickets given up after MAX_ATTEMPTS failures, oldest first
+     */
+    public List<Ticket> getFailedTickets() {
+        return new ArrayList<>(failedTickets);
+    }
+
+    // ==================== Internal ====================
+
+    private static Thread newThread(Runnable task, String name) {
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * Move orders from the shared order queue to the station queues
+     */
+    private void intake() {
+        List<Order> orders = new ArrayList<>(INTAKE_BATCH);
+        while (running) {
+            try {
+                orders.add(DataManager.orderPriorityQueue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            DataManager.orderPriorityQueue.drainTo(orders, INTAKE_BATCH - 1);
+            for (Order order : orders) {
+                submit(order);
+            }
+            orders.clear();
+        }
+    }
+
+    /**
+     * Station worker: take a batch, start its orders, prepare it, finish its orders
+     */
+    private void work(KitchenStation station, PriorityBlockingQueue<Ticket> queue) {
+        List<Ticket> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch, batchSize - 1);
+
+            Iterator<Ticket> it = batch.iterator();
+            while (it.hasNext()) {
+                Order order = it.next().order();
+                if (order.transitionStatus(OrderStatus.WAITING, OrderStatus.COOKING)) {
+                    journalStatus(order, OrderStatus.COOKING);
+                    WAITING_TIME.record(order.getTimeInStatus(OrderStatus.WAITING).toNanos());
+                } else if (order.getStatus() == OrderStatus.CANCELLED) {
+                    it.remove();  // Cancelled after it reached the station
+                }
+            }
+            if (batch.isEmpty()) {
+                continue;
+            }
+
+            boolean prepared = false;
+            long start = BATCH_TIMER.start();
+            try {
+                handler.prepare(station, batch);
+                BATCH_TIMER.stop(start);
+                prepared = true;
+            } catch (InterruptedException e) {
+                queue.addAll(batch);
+                return;
+            } catch (Exception e) {
+                BATCHES_FAILED.increment();
+                if (batch.size() == 1) {
+                    failed(queue, batch.get(0), e);
+                } else if (!prepareOneByOne(station, queue, batch)) {
+                    return;
+                }
+            }
+            if (prepared) {
+                completed(batch);
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * After a failed batch: prepare each ticket on its own, so only the
+     * tickets that fail again count as failed
+     *
+     * @return false if interrupted (the unprepared tickets are queued again)
+     */
+    private boolean prepareOneByOne(KitchenStation station, PriorityBlockingQueue<Ticket> queue,
+                                    List<Ticket> batch) {
+        for (int i = 0; i < batch.size(); i++) {
+            List<Ticket> single = List.of(batch.get(i));
+            try {
+                handler.prepare(station, single);
+            } catch (InterruptedException e) {
+                queue.addAll(batch.subList(i, batch.size()));
+                return false;
+            } catch (Exception e) {
+                failed(queue, batch.get(i), e);
+                continue;
+            }
+            completed(single);
+        }
+        return true;
+    }
+
+    /**
+     * Count down the tickets' orders and finish the ones with nothing left
+     */
+    private static void completed(List<Ticket> tickets) {
+        for (Ticket ticket : tickets) {
+            if (ticket.remaining().decrementAndGet() == 0
+                    && ticket.order().transitionStatus(OrderStatus.COOKING, OrderStatus.DONE)) {
+                COOKING_TIME.record(ticket.order().getTimeInStatus(OrderStatus.COOKING).toNanos());
+                finished(ticket.order());
+            }
+        }
+        TICKETS_DONE.add(tickets.size());
+    }
+
+    /**
+     * A ticket failed on its own: queue it again after a backoff, or give
+     * it up (and its order) once it has failed MAX_ATTEMPTS times
+     */
+    private void failed(PriorityBlockingQueue<Ticket> queue, Ticket ticket, Exception cause) {
+        Ticket retry = ticket.failedOnce();
+        Order order = ticket.order();
+        if (retry.attempts() >= MAX_ATTEMPTS) {
+            failedTickets.add(retry);
+            TICKETS_FAILED.increment();
+            LOG.error(() -> "Station " + ticket.station() + " gave up ticket " + ticket.line()
+                            + " of order " + order.getOrderNumber() + " after " + retry.attempts()
+                            + " attempts: " + cause);
+            if (order.transitionStatus(OrderStatus.COOKING, OrderStatus.CANCELLED)) {
+                journalStatus(order, OrderStatus.CANCELLED);
+                ORDERS_GIVEN_UP.increment();
+            }
+            return;
+        }
+
+        long delay = Math.min(RETRY_DELAY_MILLIS << (retry.attempts() - 1), MAX_RETRY_DELAY_MILLIS);
+        LOG.warn(() -> "Station " + ticket.station() + " failed ticket " + ticket.line() + " of order "
+                       + order.getOrderNumber() + " (attempt " + retry.attempts() + "), retrying in "
+                       + delay + " ms: " + cause);
+        try {
+            retries.schedule(() -> queue.offer(retry), delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            queue.offer(retry);  // Shutting down: keep it queued
+        }
+    }
+
+    /**
+     * Bookkeeping for an order that just became DONE
+     */
+    private static void finished(Order order) {
+        journalStatus(order, OrderStatus.DONE);
+        ORDERS_DONE.increment();
+        DataManager.salesAnalytics.record(order);
+    }
+
+    private static void journalStatus(Order order, OrderStatus status) {
+        StorageEngine storage = DataManager.storage;
+        if (storage != null) {
+            storage.logOrderStatus(order.getOrderNumber(), status);
+        }
+    }
+}
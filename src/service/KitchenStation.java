@@ -0,0 +1,51 @@
+// ============================================================
+// File: KitchenStation.java
+// Location: src/service/KitchenStation.java
+// Purpose: Kitchen stations and which menu categories they prepare
+// ============================================================
+
+package service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Kitchen Station
+ * Each order item is prepared at exactly one station, chosen by the
+ * category of its menu item
+ */
+public enum KitchenStation {
+    GRILL("Main Dish"),
+    DRINKS("Beverage"),
+    DESSERT("Dessert");
+
+    private static final Map<String, KitchenStation> BY_CATEGORY = new HashMap<>();
+
+    static {
+        for (KitchenStation station : values()) {
+            BY_CATEGORY.put(station.category, station);
+        }
+    }
+
+    private final String category;
+
+    KitchenStation(String category) {
+        this.category = category;
+    }
+
+    /**
+     * Menu category handled by this station
+     */
+    public String getCategory() {
+        return category;
+    }
+
+    /**
+     * Station for a menu category
+     * Unknown categories go to the grill, the main kitchen line
+     */
+    public static KitchenStation forCategory(String category) {
+        KitchenStation station = category == null ? null : BY_CATEGORY.get(category);
+        return station == null ? GRILL : station;
+    }
+}
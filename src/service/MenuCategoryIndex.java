@@ -0,0 +1,137 @@
+// ============================================================
+// File: MenuCategoryIndex.java
+// Location: src/service/MenuCategoryIndex.java
+// Purpose: Category -> menu items index with per-category counters
+// ============================================================
+
+package service;
+
+import model.MenuItem;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Menu Category Index
+ * Keeps one bucket per category so listing a category is O(k)
+ * and counting it is O(1)
+ *
+ * Category names are registered once and the same String instance is
+ * reused afterwards, so the set of categories acts like an enum registry
+ *
+ * Callers must serialize add/remove for the same ID
+ * (MenuService does this through the menuHashMap compute methods)
+ */
+public class MenuCategoryIndex {
+
+    /**
+     * Items of one category plus a counter
+     */
+    private static final class Bucket {
+        final ConcurrentHashMap<String, MenuItem> items = new ConcurrentHashMap<>();
+        final AtomicInteger count = new AtomicInteger();
+    }
+
+    private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, String> registry = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, String> categoryById = new ConcurrentHashMap<>();
+
+    // ==================== Registry Methods ====================
+
+    /**
+     * Get the canonical instance of a category name, registering it if new
+     *
+     * @param category Category name
+     * @return Shared instance of the same name, null if category is null
+     */
+    public String intern(String category) {
+        if (category == null) {
+            return null;
+        }
+        return registry.computeIfAbsent(category, name -> name);
+    }
+
+    // ==================== Update Methods ====================
+
+    /**
+     * Add an item under its current category, or move it if the category changed
+     * The item is added to the new bucket before it leaves the old one
+     */
+    public void add(MenuItem item) {
+        String id = item.getId();
+        String category = intern(item.getCategory());
+        String oldCategory = categoryById.get(id);
+
+        if (category == null) {
+            remove(id);
+            return;
+        }
+
+        Bucket bucket = buckets.computeIfAbsent(category, name -> new Bucket());
+        if (bucket.items.put(id, item) == null) {
+            bucket.count.incrementAndGet();
+        }
+        categoryById.put(id, category);
+
+        if (oldCategory != null && !oldCategory.equals(category)) {
+            Bucket oldBucket = buckets.get(oldCategory);
+            if (oldBucket != null && oldBucket.items.remove(id) != null) {
+                oldBucket.count.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Remove the item with the given ID from its category
+     */
+    public void remove(String id) {
+        String category = categoryById.remove(id);
+        if (category == null) {
+            return;
+        }
+
+        Bucket bucket = buckets.get(category);
+        if (bucket != null && bucket.items.remove(id) != null) {
+            bucket.count.decrementAndGet();
+        }
+    }
+
+    /**
+     * Remove everything (registered names are kept)
+     */
+    public void clear() {
+        categoryById.clear();
+        buckets.clear();
+    }
+
+    // ==================== Query Methods ====================
+
+    /**
+     * Items of a category, O(k)
+     */
+    public List<MenuItem> getItems(String category) {
+        Bucket bucket = category == null ? null : buckets.get(category);
+        return bucket == null ? new ArrayList<>() : new ArrayList<>(bucket.items.values());
+    }
+
+    /**
+     * Number of items in a category, O(1)
+     */
+    public int getCount(String category) {
+        Bucket bucket = category == null ? null : buckets.get(category);
+        return bucket == null ? 0 : bucket.count.get();
+    }
+
+    /**
+     * Categories that currently have at least one item
+     */
+    public List<String> getCategories() {
+        List<String> result = new ArrayList<>();
+        for (Map.Entry<String, Bucket> entry : buckets.entrySet()) {
+            if (entry.getValue().count.get() > 0) {
+                result.add(entry.getKey());
+            }
+        }
+        return result;
+    }
+}
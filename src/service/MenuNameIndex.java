@@ -0,0 +1,144 @@
+// ============================================================
+// File: MenuNameIndex.java
+// Location: src/service/MenuNameIndex.java
+// Purpose: Name -> menu item IDs index for O(1) duplicate-name checks
+// ============================================================
+
+package service;
+
+import model.MenuItem;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Menu Name Index
+ * Maps each name to the IDs using it, both as typed and in a normalized
+ * form (lowercase, trimmed, runs of whitespace collapsed to one space)
+ *
+ * Callers must serialize add/remove for the same ID
+ * (MenuService does this through the menuHashMap compute methods)
+ */
+public class MenuNameIndex {
+
+    private final ConcurrentHashMap<String, Set<String>> exactNames = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Set<String>> normalizedNames = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, String> nameById = new ConcurrentHashMap<>();
+
+    // ==================== Update Methods ====================
+
+    /**
+     * Index an item under its current name, or move it if it was renamed
+     * The new name is added before the old one is dropped
+     */
+    public void add(MenuItem item) {
+        String id = item.getId();
+        String name = item.getName();
+        String oldName = nameById.get(id);
+
+        if (name == null) {
+            remove(id);
+            return;
+        }
+        if (name.equals(oldName)) {
+            return;  // Name did not move
+        }
+
+        addId(exactNames, name, id);
+        addId(normalizedNames, normalize(name), id);
+        nameById.put(id, name);
+
+        if (oldName != null) {
+            removeId(exactNames, oldName, id);
+            if (!normalize(oldName).equals(normalize(name))) {
+                removeId(normalizedNames, normalize(oldName), id);
+            }
+        }
+    }
+
+    /**
+     * Remove the item with the given ID
+     */
+    public void remove(String id) {
+        String name = nameById.remove(id);
+        if (name == null) {
+            return;
+        }
+
+        removeId(exactNames, name, id);
+        removeId(normalizedNames, normalize(name), id);
+    }
+
+    /**
+     * Remove everything
+     */
+    public void clear() {
+        nameById.clear();
+        exactNames.clear();
+        normalizedNames.clear();
+    }
+
+    // ==================== Query Methods ====================
+
+    /**
+     * Check whether a name is used by any item other than excludeId
+     *
+     * @param name Name to check
+     * @param excludeId ID to ignore, may be null
+     * @param ignoreCaseAndSpace Compare normalized names instead of exact ones
+     * @return true if another item already uses the name
+     */
+    public boolean contains(String name, String excludeId, boolean ignoreCaseAndSpace) {
+        if (name == null) {
+            return false;
+        }
+
+        Set<String> ids = ignoreCaseAndSpace
+            ? normalizedNames.get(normalize(name))
+            : exactNames.get(name);
+        if (ids == null) {
+            return false;
+        }
+
+        int size = ids.size();
+        return size > 1 || (size == 1 && (excludeId == null || !ids.contains(excludeId)));
+    }
+
+    /**
+     * Normalize a name for case- and whitespace-insensitive comparison
+     */
+    public static String normalize(String name) {
+        StringBuilder sb = new StringBuilder(name.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = sb.length() > 0;
+            } else {
+                if (pendingSpace) {
+                    sb.append(' ');
+                    pendingSpace = false;
+                }
+                sb.append(Character.toLowerCase(c));
+            }
+        }
+        return sb.toString();
+    }
+
+    // ==================== Helper Methods ====================
+
+    private static void addId(Map<String, Set<String>> names, String name, String id) {
+        names.compute(name, (key, ids) -> {
+            Set<String> result = ids == null ? ConcurrentHashMap.newKeySet() : ids;
+            result.add(id);
+            return result;
+        });
+    }
+
+    private static void removeId(Map<String, Set<String>> names, String name, String id) {
+        names.computeIfPresent(name, (key, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+}
@@ -0,0 +1,197 @@
+// ============================================================
+// File: MenuPriceIndex.java
+// Location: src/service/MenuPriceIndex.java
+// Purpose: Price-ordered index of menu items that allows equal prices
+// ============================================================
+
+package service;
+
+import model.MenuItem;
+import model.Money;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Menu Price Index
+ * Sorted by (price, ID) so items that share a price are all kept
+ * Keys hold the price in minor units (see Money), so equal prices always
+ * compare equal
+ * Remembers the key each item was indexed under, so an item can still be
+ * removed after its price field has been changed from outside
+ *
+ * Callers must serialize put/remove for the same ID
+ * (MenuService does this through the menuHashMap compute methods)
+ */
+public class MenuPriceIndex {
+
+    /**
+     * Composite key: price first, then ID as tie-breaker
+     * A null ID sorts before every real ID and is used for range bounds
+     */
+    public static final class PriceKey implements Comparable<PriceKey> {
+        private final long price;       // Minor units
+        private final String id;
+
+        public PriceKey(long price, String id) {
+            this.price = price;
+            this.id = id;
+        }
+
+        /**
+         * Key that sorts before every item with the given price
+         */
+        public static PriceKey lowest(long price) {
+            return new PriceKey(price, null);
+        }
+
+        public long getPrice() {
+            return price;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public int compareTo(PriceKey other) {
+            int result = Long.compare(price, other.price);
+            if (result != 0) {
+                return result;
+            }
+            if (id == null) {
+                return other.id == null ? 0 : -1;
+            }
+            if (other.id == null) {
+                return 1;
+            }
+            return id.compareTo(other.id);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof PriceKey)) return false;
+            PriceKey key = (PriceKey) obj;
+            return price == key.price && Objects.equals(id, key.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Long.hashCode(price) + Objects.hashCode(id);
+        }
+    }
+
+    private final ConcurrentSkipListMap<PriceKey, MenuItem> tree = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<String, PriceKey> keysById = new ConcurrentHashMap<>();
+
+    // ==================== Update Methods ====================
+
+    /**
+     * Add or re-index an item under its current price
+     */
+    public void put(MenuItem item) {
+        PriceKey key = new PriceKey(item.getPriceMinor(), item.getId());
+        PriceKey oldKey = keysById.put(item.getId(), key);
+
+        tree.put(key, item);
+        if (oldKey != null && !oldKey.equals(key)) {
+            tree.remove(oldKey);
+        }
+    }
+
+    /**
+     * Add or re-index many items
+     * Sorted by key first so consecutive skip-list inserts land next to each other
+     */
+    public void putAll(Collection<MenuItem> items) {
+        List<MenuItem> sorted = new ArrayList<>(items);
+        sorted.sort(Comparator.comparingLong(MenuItem::getPriceMinor).thenComparing(MenuItem::getId));
+        for (MenuItem item : sorted) {
+            put(item);
+        }
+    }
+
+    /**
+     * Remove the item with the given ID
+     *
+     * @return Removed item, null if it was not indexed
+     */
+    public MenuItem remove(String id) {
+        PriceKey key = keysById.remove(id);
+        return key == null ? null : tree.remove(key);
+    }
+
+    /**
+     * Remove everything
+     */
+    public void clear() {
+        keysById.clear();
+        tree.clear();
+    }
+
+    // ==================== Query Methods ====================
+
+    public boolean isEmpty() {
+        return tree.isEmpty();
+    }
+
+    public int size() {
+        return keysById.size();
+    }
+
+    /**
+     * Cheapest item, null if empty
+     */
+    public MenuItem first() {
+        Map.Entry<PriceKey, MenuItem> entry = tree.firstEntry();
+        return entry == null ? null : entry.getValue();
+    }
+
+    /**
+     * Most expensive item, null if empty
+     */
+    public MenuItem last() {
+        Map.Entry<PriceKey, MenuItem> entry = tree.lastEntry();
+        return entry == null ? null : entry.getValue();
+    }
+
+    /**
+     * All items in ascending price order (live view)
+     */
+    public Collection<MenuItem> values() {
+        return tree.values();
+    }
+
+    /**
+     * All items in descending price order (live view)
+     */
+    public Collection<MenuItem> descendingValues() {
+        return tree.descendingMap().values();
+    }
+
+    /**
+     * Items with minPrice <= price <= maxPrice, O(log n + k) (live view)
+     * Bounds are in currency units and rounded to minor units
+     */
+    public Collection<MenuItem> range(double minPrice, double maxPrice) {
+        long limit = Long.MAX_VALUE / Money.MINOR_PER_MAJOR;  // Beyond this, no price can be outside
+        long min = minPrice <= -limit ? Long.MIN_VALUE : Money.ofMajor(minPrice);
+        long max = maxPrice >= limit ? Long.MAX_VALUE : Money.ofMajor(maxPrice);
+        return rangeMinor(min, max);
+    }
+
+    /**
+     * Items with minPrice <= price <= maxPrice in minor units, O(log n + k) (live view)
+     */
+    public Collection<MenuItem> rangeMinor(long minPrice, long maxPrice) {
+        if (minPrice > maxPrice) {
+            return Collections.emptyList();
+        }
+        if (maxPrice == Long.MAX_VALUE) {
+            return tree.tailMap(PriceKey.lowest(minPrice), true).values();
+        }
+        return tree.subMap(PriceKey.lowest(minPrice), true,
+                           PriceKey.lowest(maxPrice + 1), false).values();
+    }
+}
@@ -0,0 +1,392 @@
+// ============================================================
+// File: MenuSearchIndex.java
+// Location: src/service/MenuSearchIndex.java
+// Purpose: Incrementally maintained text index for menu search
+// ============================================================
+
+package service;
+
+import model.MenuItem;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Menu Search Index
+ * - Trigram index over names and descriptions for substring search
+ * - Sorted word-prefix index over names for type-ahead search
+ *
+ * Texts are padded with two NUL chars, so every char of a text starts a
+ * trigram, and trigrams are sorted: a 1- or 2-char keyword (the first
+ * keystrokes of a search) is answered from the trigrams that start with
+ * it, one range of the sorted map, instead of scanning every item
+ *
+ * Lowercase copies of each name/description are made once when the item
+ * is indexed, so a query only lowercases the keyword itself
+ *
+ * Callers must serialize add/remove for the same ID
+ * (MenuService does this through the menuHashMap compute methods)
+ */
+public class MenuSearchIndex {
+
+    /**
+     * Indexed text of one item, kept so it can be unindexed later
+     * even if the MenuItem fields were changed from outside
+     */
+    private static final class Entry {
+        final MenuItem item;
+        final String name;           // Lowercase name
+        final String description;    // Lowercase description
+
+        Entry(MenuItem item, String name, String description) {
+            this.item = item;
+            this.name = name;
+            this.description = description;
+        }
+    }
+
+    private static final int GRAM = 3;
+    // Collecting a posting ID costs about this many scanned items
+    private static final int POSTING_COST = 8;
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentNavigableMap<Long, Set<String>> nameGrams = new ConcurrentSkipListMap<>();
+    private final ConcurrentNavigableMap<Long, Set<String>> descriptionGrams = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<String, String> prefixes = new ConcurrentSkipListMap<>();
+
+    // ==================== Update Methods ====================
+
+    /**
+     * Index an item, or re-index it if the ID is already indexed
+     * New text is indexed before old text is dropped, so a concurrent
+     * search never misses the item while it is being updated
+     */
+    public void add(MenuItem item) {
+        String id = item.getId();
+        Entry entry = new Entry(item, lower(item.getName()), lower(item.getDescription()));
+        Entry old = entries.get(id);
+
+        boolean nameChanged = old == null || !old.name.equals(entry.name);
+        boolean descriptionChanged = old == null || !old.description.equals(entry.description);
+
+        if (nameChanged) {
+            addGrams(nameGrams, entry.name, id);
+            for (String key : prefixKeys(entry.name, id)) {
+                prefixes.put(key, id);
+            }
+        }
+        if (descriptionChanged) {
+            addGrams(descriptionGrams, entry.description, id);
+        }
+
+        entries.put(id, entry);
+
+        if (old != null && nameChanged) {
+            removeGrams(nameGrams, old.name, id, entry.name);
+            Set<String> keep = prefixKeys(entry.name, id);
+            for (String key : prefixKeys(old.name, id)) {
+                if (!keep.contains(key)) {
+                    prefixes.remove(key);
+                }
+            }
+        }
+        if (old != null && descriptionChanged) {
+            removeGrams(descriptionGrams, old.description, id, entry.description);
+        }
+    }
+
+    /**
+     * Index many items at once
+     * Trigrams are grouped per batch first, so each posting set is
+     * updated (and sized) once instead of once per item
+     */
+    public void addAll(Collection<MenuItem> items) {
+        Map<Long, List<String>> batchNameGrams = new HashMap<>();
+        Map<Long, List<String>> batchDescriptionGrams = new HashMap<>();
+        SortedMap<String, String> batchPrefixes = new TreeMap<>();
+
+        for (MenuItem item : items) {
+            String id = item.getId();
+            if (entries.containsKey(id)) {
+                add(item);  // Already indexed, re-index only what moved
+                continue;
+            }
+
+            Entry entry = new Entry(item, lower(item.getName()), lower(item.getDescription()));
+            collectGrams(batchNameGrams, entry.name, id);
+            collectGrams(batchDescriptionGrams, entry.description, id);
+            for (String key : prefixKeys(entry.name, id)) {
+                batchPrefixes.put(key, id);
+            }
+            entries.put(id, entry);
+        }
+
+        mergeGrams(nameGrams, batchNameGrams);
+        mergeGrams(descriptionGrams, batchDescriptionGrams);
+        prefixes.putAll(batchPrefixes);  // Sorted input keeps skip-list inserts local
+    }
+
+    /**
+     * Remove an item from the index
+     */
+    public void remove(String id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+
+        removeGrams(nameGrams, entry.name, id, "");
+        removeGrams(descriptionGrams, entry.description, id, "");
+        for (String key : prefixKeys(entry.name, id)) {
+            prefixes.remove(key);
+        }
+    }
+
+    /**
+     * Remove everything
+     */
+    public void clear() {
+        entries.clear();
+        nameGrams.clear();
+        descriptionGrams.clear();
+        prefixes.clear();
+    }
+
+    // ==================== Query Methods ====================
+
+    /**
+     * Case-insensitive substring search
+     *
+     * @param keyword Text to look for
+     * @param includeDescription Whether descriptions are searched too
+     * @return Matching items (no specific order)
+     */
+    public List<MenuItem> search(String keyword, boolean includeDescription) {
+        List<MenuItem> result = new ArrayList<>();
+        if (keyword == null) {
+            return result;
+        }
+
+        String key = keyword.trim().toLowerCase();
+        if (key.isEmpty()) {
+            return result;
+        }
+
+        if (key.length() < GRAM) {
+            return searchShort(key, includeDescription);
+        }
+
+        Set<String> candidates = smallestPosting(nameGrams, key);
+        if (includeDescription) {
+            Set<String> descriptionCandidates = smallestPosting(descriptionGrams, key);
+            if (!descriptionCandidates.isEmpty()) {
+                if (candidates.isEmpty()) {
+                    candidates = descriptionCandidates;
+                } else {
+                    candidates = new HashSet<>(candidates);
+                    candidates.addAll(descriptionCandidates);
+                }
+            }
+        }
+
+        // Verify candidates, a trigram hit alone does not prove a substring match
+        for (String id : candidates) {
+            Entry entry = entries.get(id);
+            if (entry != null && matches(entry, key, includeDescription)) {
+                result.add(entry.item);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Search for a keyword shorter than a trigram: candidates are the items
+     * of every trigram that starts with it
+     * Falls back to scanning when collecting those postings would cost more
+     * (e.g. a single common letter, found in most items)
+     */
+    private List<MenuItem> searchShort(String key, boolean includeDescription) {
+        Collection<Set<String>> namePostings = gramsStartingWith(nameGrams, key);
+        Collection<Set<String>> descriptionPostings = includeDescription
+            ? gramsStartingWith(descriptionGrams, key) : Collections.emptyList();
+        long postingSize = totalSize(namePostings) + totalSize(descriptionPostings);
+
+        List<MenuItem> result = new ArrayList<>();
+        if (postingSize * POSTING_COST >= entries.size()) {
+            for (Entry entry : entries.values()) {
+                if (matches(entry, key, includeDescription)) {
+                    result.add(entry.item);
+                }
+            }
+            return result;
+        }
+
+        Set<String> candidates = new HashSet<>((int) postingSize * 2);
+        for (Set<String> posting : namePostings) {
+            candidates.addAll(posting);
+        }
+        for (Set<String> posting : descriptionPostings) {
+            candidates.addAll(posting);
+        }
+        // Verify, a posting may be stale while its item is being updated
+        for (String id : candidates) {
+            Entry entry = entries.get(id);
+            if (entry != null && matches(entry, key, includeDescription)) {
+                result.add(entry.item);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Case-insensitive prefix search on the start of any word in the name
+     * e.g. "tea" finds "Lemon Iced Tea", O(log n + k)
+     *
+     * @param prefix Prefix to look for
+     * @return Matching items ordered by matched text
+     */
+    public List<MenuItem> searchByPrefix(String prefix) {
+        List<MenuItem> result = new ArrayList<>();
+        if (prefix == null) {
+            return result;
+        }
+
+        String key = prefix.trim().toLowerCase();
+        if (key.isEmpty()) {
+            return result;
+        }
+
+        // An item with two matching words appears twice in the index, keep it once
+        Set<String> ids = new LinkedHashSet<>(
+            prefixes.subMap(key, true, key + Character.MAX_VALUE, true).values());
+        for (String id : ids) {
+            Entry entry = entries.get(id);
+            if (entry != null) {
+                result.add(entry.item);
+            }
+        }
+        return result;
+    }
+
+    // ==================== Helper Methods ====================
+
+    private static boolean matches(Entry entry, String key, boolean includeDescription) {
+        return entry.name.contains(key)
+            || (includeDescription && entry.description.contains(key));
+    }
+
+    /**
+     * Postings of every trigram whose first chars are key (1 or 2 chars)
+     */
+    private static Collection<Set<String>> gramsStartingWith(NavigableMap<Long, Set<String>> grams, String key) {
+        long low = (long) key.charAt(0) << 32;
+        long high = low | 0xFFFF_FFFFL;
+        if (key.length() > 1) {
+            low |= (long) key.charAt(1) << 16;
+            high = low | 0xFFFFL;
+        }
+        return grams.subMap(low, true, high, true).values();
+    }
+
+    private static long totalSize(Collection<Set<String>> postings) {
+        long total = 0;
+        for (Set<String> posting : postings) {
+            total += posting.size();
+        }
+        return total;
+    }
+
+    private static Set<String> smallestPosting(Map<Long, Set<String>> grams, String key) {
+        Set<String> smallest = null;
+        for (int i = 0; i + GRAM <= key.length(); i++) {
+            Set<String> posting = grams.get(gram(key, i));
+            if (posting == null || posting.isEmpty()) {
+                return Collections.emptySet();  // One missing trigram rules out every item
+            }
+            if (smallest == null || posting.size() < smallest.size()) {
+                smallest = posting;
+            }
+        }
+        return smallest == null ? Collections.emptySet() : smallest;
+    }
+
+    private static void addGrams(Map<Long, Set<String>> grams, String text, String id) {
+        for (int i = 0; i < text.length(); i++) {
+            // Add inside compute so a concurrent removeGrams cannot drop the posting under us
+            grams.compute(gram(text, i), (g, posting) -> {
+                Set<String> result = posting == null ? ConcurrentHashMap.newKeySet() : posting;
+                result.add(id);
+                return result;
+            });
+        }
+    }
+
+    private static void collectGrams(Map<Long, List<String>> grams, String text, String id) {
+        for (int i = 0; i < text.length(); i++) {
+            grams.computeIfAbsent(gram(text, i), g -> new ArrayList<>()).add(id);
+        }
+    }
+
+    private static void mergeGrams(Map<Long, Set<String>> grams, Map<Long, List<String>> batch) {
+        for (Map.Entry<Long, List<String>> entry : batch.entrySet()) {
+            List<String> ids = entry.getValue();
+            grams.compute(entry.getKey(), (g, posting) -> {
+                Set<String> result = posting == null ? ConcurrentHashMap.newKeySet(ids.size()) : posting;
+                result.addAll(ids);
+                return result;
+            });
+        }
+    }
+
+    /**
+     * Remove the trigrams of text, except those that also occur in keep
+     */
+    private static void removeGrams(Map<Long, Set<String>> grams, String text, String id, String keep) {
+        Set<Long> kept = new HashSet<>();
+        for (int i = 0; i < keep.length(); i++) {
+            kept.add(gram(keep, i));
+        }
+
+        for (int i = 0; i < text.length(); i++) {
+            long g = gram(text, i);
+            if (kept.contains(g)) {
+                continue;
+            }
+            grams.computeIfPresent(g, (k, posting) -> {
+                posting.remove(id);
+                return posting.isEmpty() ? null : posting;
+            });
+        }
+    }
+
+    /**
+     * Pack three chars into one long so no substring is created per trigram
+     * Chars past the end of the text count as NUL (padding)
+     */
+    private static long gram(String text, int start) {
+        int length = text.length();
+        return ((long) text.charAt(start) << 32)
+             | ((long) (start + 1 < length ? text.charAt(start + 1) : 0) << 16)
+             | (start + 2 < length ? text.charAt(start + 2) : 0);
+    }
+
+    /**
+     * One key per word start: text from that word on, then the ID
+     */
+    private static Set<String> prefixKeys(String text, String id) {
+        Set<String> keys = new HashSet<>();
+        for (int i = 0; i < text.length(); i++) {
+            if (!Character.isWhitespace(text.charAt(i))
+                    && (i == 0 || Character.isWhitespace(text.charAt(i - 1)))) {
+                keys.add(text.substring(i) + KEY_SEPARATOR + id);
+            }
+        }
+        return keys;
+    }
+
+    private static String lower(String text) {
+        return text == null ? "" : text.toLowerCase();
+    }
+}
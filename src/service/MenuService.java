@@ -8,86 +8,460 @@
 package service;
 
 import model.MenuItem;
+import model.OrderItem;
+import storage.StorageEngine;
+import util.Logger;
+import util.Metrics;
+import util.SampledTimer;
 import java.util.*;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * Menu Service Class
  * Provides all menu-related operations
  * Includes: add, delete, update, query, search, categorize functions
+ * 
+ * Changes, queries and searches are timed (util.Metrics): bulk loads
+ * every call, single-item changes 1 call in 16, queries 1 in 128
+ * (price ranges 1 in 1024, they take only a few hundred nanoseconds)
+ * O(1) lookups, counters and statistics are not timed, even a sampled
+ * timer would cost a noticeable share of their few nanoseconds
+ *
+ * Changes return only once their journal records are on disk (see
+ * StorageEngine), so a change reported as done survives a crash
+ * 
+ * Writers: single-item changes hold the compute lock of their ID and
+ * share WRITERS (read side), so they only wait for each other per ID;
+ * addAll takes WRITERS exclusively, its batch-wide index passes are then
+ * the only writer and the indexes never see two changes to one ID at once
  */
 public class MenuService {
     
+    private static final Logger LOG = Logger.getLogger(MenuService.class);
+    private static final SampledTimer ADD_TIMER = Metrics.timer("menu.add", 16);
+    private static final SampledTimer ADD_ALL_TIMER = Metrics.timer("menu.addAll");
+    private static final SampledTimer REMOVE_TIMER = Metrics.timer("menu.remove", 16);
+    private static final SampledTimer UPDATE_TIMER = Metrics.timer("menu.update", 16);
+    private static final SampledTimer AVAILABILITY_TIMER = Metrics.timer("menu.setAvailability", 16);
+    private static final SampledTimer CATEGORY_TIMER = Metrics.timer("menu.byCategory", 128);
+    private static final SampledTimer SEARCH_TIMER = Metrics.timer("menu.search", 128);
+    private static final SampledTimer PREFIX_TIMER = Metrics.timer("menu.searchByPrefix", 128);
+    private static final SampledTimer PRICE_RANGE_TIMER = Metrics.timer("menu.priceRange", 1024);
+    
+    // Read side: single-item changes (shared); write side: addAll batches
+    private static final ReentrantReadWriteLock WRITERS = new ReentrantReadWriteLock();
+    private static final Lock ITEM_WRITER = WRITERS.readLock();
+    private static final Lock BATCH_WRITER = WRITERS.writeLock();
+    
     // ==================== Basic CRUD Operations ====================
     
     /**
      * Add menu item
-     * Updates both HashMap and BST
+     * Updates HashMap, BST, search/name/category indexes and statistics
      * 
      * @param item Menu item to add
      * @return Whether addition was successful
      */
     public static boolean addMenuItem(MenuItem item) {
+        long start = ADD_TIMER.start();
+        boolean added = add(item);
+        ADD_TIMER.stop(start);
+        return added;
+    }
+    
+    private static boolean add(MenuItem item) {
         if (item == null) {
-            System.err.println("Error: Menu item cannot be null");
+            LOG.warn("Menu item cannot be null");
             return false;
         }
         
-        // Check for duplicate ID
-        if (DataManager.menuHashMap.containsKey(item.getId())) {
-            System.err.println("Error: Menu item ID already exists: " + item.getId());
+        if (item.getId() == null) {
+            LOG.warn("Menu item ID cannot be null");
             return false;
         }
         
-        // Add to both HashMap and BST
-        DataManager.menuHashMap.put(item.getId(), item);
-        DataManager.menuBST.put(item.getPrice(), item);
+        // Share one String instance per category name
+        item.setCategory(DataManager.menuCategoryIndex.intern(item.getCategory()));
         
-        System.out.println("Successfully added menu item: " + item.getName());
+        // Check for duplicate ID and add to HashMap and all indexes
+        // The compute lock on this ID keeps the indexes in step with the HashMap
+        MenuItem stored;
+        ITEM_WRITER.lock();
+        try {
+            stored = DataManager.menuHashMap.computeIfAbsent(item.getId(), id -> {
+                indexMenuItem(item, () -> removeIndexes(id));
+                return item;
+            });
+        } finally {
+            ITEM_WRITER.unlock();
+        }
+        
+        if (stored != item) {
+            LOG.warn(() -> "Menu item ID already exists: " + item.getId());
+            return false;
+        }
+        awaitJournal();
+        
+        LOG.debug(() -> "Successfully added menu item: " + item.getName());
         return true;
     }
     
+    /**
+     * Add many menu items at once
+     * Validates every item in one pass, claims the IDs, then builds each
+     * index for the whole batch at once (no per-item logging)
+     * Other menu changes wait until the batch is indexed and journaled
+     * Snapshot readers see the whole batch appear together when it is done
+     * Invalid or duplicate items are reported and skipped, the rest are still added
+     * 
+     * @param items Menu items to add
+     * @return Number added and the reason for each rejected item
+     */
+    public static BulkLoadResult addAll(Collection<MenuItem> items) {
+        long start = ADD_ALL_TIMER.start();
+        BulkLoadResult result = bulkAdd(items, false);
+        ADD_ALL_TIMER.stop(start);
+        return result;
+    }
+    
+    /**
+     * Load menu items restored from the journal (used by StorageEngine recovery)
+     * Skips validateMenuItem, since these items were accepted when first added
+     * and later rule changes must not drop them, and writes no journal records
+     * Only an ID already in the menu is rejected; the caller decides whether
+     * that is fatal
+     * 
+     * @param items Menu items to restore
+     * @return Number restored and the reason for each rejected item
+     */
+    public static BulkLoadResult restoreAll(Collection<MenuItem> items) {
+        return bulkAdd(items, true);
+    }
+    
+    private static BulkLoadResult bulkAdd(Collection<MenuItem> items, boolean restoring) {
+        List<BulkLoadResult.Failure> failures = new ArrayList<>();
+        if (items == null) {
+            return new BulkLoadResult(0, failures);
+        }
+        
+        // Validation pass
+        List<MenuItem> valid = new ArrayList<>(items.size());
+        int[] validIndexes = new int[items.size()];
+        Set<String> batchIds = new HashSet<>(items.size() * 2);
+        int index = 0;
+        for (MenuItem item : items) {
+            String error = restoring && item != null ? "" : validateMenuItem(item);
+            if (error.isEmpty() && !batchIds.add(item.getId())) {
+                error = "菜品 ID 在匯入資料中重複";
+            }
+            if (error.isEmpty()) {
+                validIndexes[valid.size()] = index;
+                valid.add(item);
+            } else {
+                failures.add(new BulkLoadResult.Failure(index, item == null ? null : item.getId(), error));
+            }
+            index++;
+        }
+        
+        // Claim pass, snapshot readers keep seeing the old menu until the batch ends
+        List<MenuItem> accepted = new ArrayList<>(valid.size());
+        BATCH_WRITER.lock();
+        DataManager.menuBulkLoads.incrementAndGet();
+        try {
+            for (int i = 0; i < valid.size(); i++) {
+                MenuItem item = valid.get(i);
+                item.setCategory(DataManager.menuCategoryIndex.intern(item.getCategory()));
+                if (DataManager.menuHashMap.putIfAbsent(item.getId(), item) == null) {
+                    accepted.add(item);
+                } else {
+                    failures.add(new BulkLoadResult.Failure(validIndexes[i], item.getId(), "菜品 ID 已存在"));
+                }
+            }
+            
+            // Index pass, each index is built for the whole batch at once
+            DataManager.menuBST.putAll(accepted);
+            DataManager.menuSearchIndex.addAll(accepted);
+            for (MenuItem item : accepted) {
+                DataManager.menuNameIndex.add(item);
+                DataManager.menuCategoryIndex.add(item);
+                DataManager.menuStatistics.add(item);
+            }
+            
+            StorageEngine storage = DataManager.storage;
+            if (storage != null && !restoring) {
+                for (MenuItem item : accepted) {
+                    storage.logMenuPut(item);
+                }
+            }
+        } finally {
+            DataManager.menuBulkLoads.decrementAndGet();
+            DataManager.menuVersion.incrementAndGet();
+            BATCH_WRITER.unlock();
+        }
+        int added = accepted.size();
+        if (added > 0 && !restoring) {
+            awaitJournal();  // One wait for the whole batch
+        }
+        
+        failures.sort(Comparator.comparingInt(BulkLoadResult.Failure::index));
+        BulkLoadResult result = new BulkLoadResult(added, failures);
+        LOG.info(() -> "Bulk menu load: " + result);
+        return result;
+    }
+    
     /**
      * Remove menu item
-     * Removes from both HashMap and BST
+     * Removes from HashMap, BST, search/name/category indexes and statistics
      * 
      * @param id Menu item ID to remove
      * @return Whether removal was successful
      */
     public static boolean removeMenuItem(String id) {
-        MenuItem item = DataManager.menuHashMap.get(id);
+        long start = REMOVE_TIMER.start();
+        // Remove from HashMap and all indexes under the compute lock on this ID
+        MenuItem item;
+        ITEM_WRITER.lock();
+        try {
+            item = id == null ? null : unindexAndRemove(id);
+        } finally {
+            ITEM_WRITER.unlock();
+        }
+        if (item != null) {
+            awaitJournal();
+        }
+        REMOVE_TIMER.stop(start);
         
         if (item == null) {
-            System.err.println("Error: Menu item ID not found: " + id);
+            LOG.warn(() -> "Menu item ID not found: " + id);
             return false;
         }
         
-        // Remove from both data structures
-        DataManager.menuHashMap.remove(id);
-        DataManager.menuBST.remove(item.getPrice());
-        
-        System.out.println("Successfully removed menu item: " + item.getName());
+        LOG.debug(() -> "Successfully removed menu item: " + item.getName());
         return true;
     }
     
     /**
      * Update menu item
-     * Removes old item and adds new one
+     * Replaces the item in place and only re-indexes what moved
+     * (price, name, category); readers see either the old or the new item
+     * If the ID changes, the new ID is added before the old one is removed
      * 
      * @param id Menu item ID to update
      * @param newItem New menu item data
      * @return Whether update was successful
      */
     public static boolean updateMenuItem(String id, MenuItem newItem) {
-        if (!DataManager.menuHashMap.containsKey(id)) {
-            System.err.println("Error: Menu item ID not found: " + id);
+        long start = UPDATE_TIMER.start();
+        boolean updated;
+        ITEM_WRITER.lock();
+        try {
+            updated = update(id, newItem);
+        } finally {
+            ITEM_WRITER.unlock();
+        }
+        if (updated) {
+            awaitJournal();
+        }
+        UPDATE_TIMER.stop(start);
+        return updated;
+    }
+    
+    private static boolean update(String id, MenuItem newItem) {
+        if (newItem == null || newItem.getId() == null) {
+            LOG.warn("Menu item and its ID cannot be null");
+            return false;
+        }
+        
+        if (id == null || !DataManager.menuHashMap.containsKey(id)) {
+            LOG.warn(() -> "Menu item ID not found: " + id);
             return false;
         }
         
-        // Remove old item
-        removeMenuItem(id);
+        // Share one String instance per category name
+        newItem.setCategory(DataManager.menuCategoryIndex.intern(newItem.getCategory()));
+        
+        MenuItem[] replaced = new MenuItem[1];
+        if (id.equals(newItem.getId())) {
+            // Same ID: swap the item under the compute lock on this ID
+            MenuItem updated = DataManager.menuHashMap.computeIfPresent(id, (key, existing) -> {
+                indexMenuItem(newItem, () -> applyIndexes(existing));
+                replaced[0] = existing;
+                return newItem;
+            });
+            
+            if (updated == null) {
+                LOG.warn(() -> "Menu item ID not found: " + id);
+                return false;
+            }
+        } else {
+            // New ID: add the new item first, the original is untouched if this fails
+            MenuItem stored = DataManager.menuHashMap.computeIfAbsent(newItem.getId(), key -> {
+                indexMenuItem(newItem, () -> removeIndexes(key));
+                return newItem;
+            });
+            
+            if (stored != newItem) {
+                LOG.warn(() -> "Menu item ID already exists: " + newItem.getId());
+                return false;
+            }
+            
+            // Then remove the original; undo the add if it was removed meanwhile
+            replaced[0] = unindexAndRemove(id);
+            if (replaced[0] == null) {
+                unindexAndRemove(newItem.getId());
+                LOG.warn(() -> "Menu item ID not found: " + id);
+                return false;
+            }
+        }
+        
+        // Open orders follow the new price (only the orders using this item)
+        if (replaced[0] != newItem) {
+            for (OrderItem line : replaced[0].getOpenOrderLines()) {
+                line.setMenuItem(newItem);
+            }
+        }
+        
+        LOG.debug(() -> "Successfully updated menu item: " + newItem.getName());
+        return true;
+    }
+    
+    /**
+     * Set availability of a menu item
+     * Use this instead of MenuItem.setAvailable so statistics stay correct
+     * 
+     * @param id Menu item ID
+     * @param available New availability
+     * @return Whether the item was found
+     */
+    public static boolean setMenuItemAvailability(String id, boolean available) {
+        if (id == null) {
+            return false;
+        }
+        
+        long start = AVAILABILITY_TIMER.start();
+        MenuItem item;
+        ITEM_WRITER.lock();
+        try {
+            item = DataManager.menuHashMap.computeIfPresent(id, (key, existing) -> {
+                boolean was = existing.isAvailable();
+                existing.setAvailable(available);
+                indexMenuItem(existing, () -> {
+                    existing.setAvailable(was);
+                    applyIndexes(existing);
+                });
+                return existing;
+            });
+        } finally {
+            ITEM_WRITER.unlock();
+        }
+        if (item != null) {
+            awaitJournal();
+        }
+        AVAILABILITY_TIMER.stop(start);
+        
+        if (item == null) {
+            LOG.warn(() -> "Menu item ID not found: " + id);
+            return false;
+        }
+        return true;
+    }
+    
+    /**
+     * Add or re-index an item in every index, then journal it
+     * Must be called inside a menuHashMap compute call for the item's ID
+     * 
+     * If the journal append fails (e.g. the log is closed), undo puts the
+     * indexes back the way they were and the exception aborts the compute
+     * call, which leaves the HashMap unchanged too
+     * 
+     * @param undo Restores the indexes as they were before this call
+     */
+    private static void indexMenuItem(MenuItem item, Runnable undo) {
+        applyIndexes(item);
+        
+        // Journal after the indexes so a checkpoint never misses a logged change
+        StorageEngine storage = DataManager.storage;
+        if (storage != null) {
+            try {
+                storage.logMenuPut(item);
+            } catch (RuntimeException e) {
+                undo.run();
+                throw e;
+            }
+        }
+    }
+    
+    /**
+     * Add or re-index an item in every index (no journal)
+     */
+    private static void applyIndexes(MenuItem item) {
+        DataManager.menuBST.put(item);
+        DataManager.menuSearchIndex.add(item);
+        DataManager.menuNameIndex.add(item);
+        DataManager.menuCategoryIndex.add(item);
+        DataManager.menuStatistics.add(item);
+        DataManager.menuVersion.incrementAndGet();
+    }
+    
+    /**
+     * Wait until the menu changes journaled so far are on disk
+     * Called after the compute and writer locks are released, so other changes are never held up
+     */
+    private static void awaitJournal() {
+        StorageEngine storage = DataManager.storage;
+        if (storage != null) {
+            storage.sync();
+        }
+    }
+    
+    /**
+     * Remove an item from the HashMap and every index
+     * 
+     * @return Removed item, null if the ID was not present
+     */
+    private static MenuItem unindexAndRemove(String id) {
+        MenuItem[] removed = new MenuItem[1];
+        DataManager.menuHashMap.computeIfPresent(id, (key, existing) -> {
+            unindexMenuItem(key, existing);
+            removed[0] = existing;
+            return null;
+        });
+        return removed[0];
+    }
+    
+    /**
+     * Remove an ID from every index (the HashMap is left alone), then journal it
+     * Must be called inside a menuHashMap compute call for that ID
+     * If the journal append fails, existing is indexed again before the
+     * exception aborts the compute call (see indexMenuItem)
+     * 
+     * @param existing Item the indexes held for the ID
+     */
+    private static void unindexMenuItem(String id, MenuItem existing) {
+        removeIndexes(id);
         
-        // Add new item (with new ID)
-        return addMenuItem(newItem);
+        StorageEngine storage = DataManager.storage;
+        if (storage != null) {
+            try {
+                storage.logMenuRemove(id);
+            } catch (RuntimeException e) {
+                applyIndexes(existing);
+                throw e;
+            }
+        }
+    }
+    
+    /**
+     * Remove an ID from every index (no journal)
+     */
+    private static void removeIndexes(String id) {
+        DataManager.menuBST.remove(id);
+        DataManager.menuSearchIndex.remove(id);
+        DataManager.menuNameIndex.remove(id);
+        DataManager.menuCategoryIndex.remove(id);
+        DataManager.menuStatistics.remove(id);
+        DataManager.menuVersion.incrementAndGet();
     }
     
     // ==================== Query Methods ====================
@@ -99,79 +473,121 @@ public class MenuService {
      * @return Found menu item, null if not found
      */
     public static MenuItem getMenuItemById(String id) {
+        if (id == null) {
+            return null;  // ConcurrentHashMap does not accept null keys
+        }
         return DataManager.menuHashMap.get(id);
     }
     
+    /**
+     * Get the current menu snapshot
+     * Rebuilt at most once per menu change, otherwise the same immutable
+     * object is returned to every caller without copying
+     * 
+     * @return Immutable, price-sorted snapshot of the menu
+     */
+    public static MenuSnapshot getMenuSnapshot() {
+        while (true) {
+            MenuSnapshot current = DataManager.menuSnapshot.get();
+            long version = DataManager.menuVersion.get();
+            if (current != null && current.getVersion() == version) {
+                return current;
+            }
+            
+            // Keep serving the old snapshot while a bulk load is running,
+            // so the batch becomes visible all at once
+            if (current != null && DataManager.menuBulkLoads.get() > 0) {
+                return current;
+            }
+            
+            // Version is read before the index, so a change made while
+            // building bumps the version and the next reader rebuilds
+            MenuSnapshot rebuilt = MenuSnapshot.build(version, DataManager.menuBST);
+            if (DataManager.menuSnapshot.compareAndSet(current, rebuilt)) {
+                return rebuilt;
+            }
+        }
+    }
+    
     /**
      * Get all menu items (no specific order)
      * 
-     * @return List of all menu items
+     * @return Unmodifiable list of all menu items (from the current snapshot)
      */
     public static List<MenuItem> getAllMenuItems() {
-        return new ArrayList<>(DataManager.menuHashMap.values());
+        return getMenuSnapshot().getItems();
     }
     
     /**
      * Get menu sorted by price (using BST)
      * 
-     * @return List of menu items sorted by price
+     * @return Unmodifiable list of menu items sorted by price (from the current snapshot)
      */
     public static List<MenuItem> getMenuByPrice() {
-        return new ArrayList<>(DataManager.menuBST.values());
+        return getMenuSnapshot().getItems();
     }
     
     /**
      * Get menu sorted by price (descending)
      * 
-     * @return List of menu items sorted by price in descending order
+     * @return Unmodifiable list of menu items sorted by price in descending order
      */
     public static List<MenuItem> getMenuByPriceDescending() {
-        List<MenuItem> items = new ArrayList<>(DataManager.menuBST.descendingMap().values());
-        return items;
+        return getMenuSnapshot().getItemsDescending();
     }
     
     // ==================== 搜尋方法 ====================
     
     /**
      * 根據分類取得菜品
+     * 使用分類索引，O(k)
      * 
      * @param category 分類名稱（主餐/飲料/甜點）
      * @return 該分類的所有菜品
      */
     public static List<MenuItem> getMenuByCategory(String category) {
-        List<MenuItem> result = new ArrayList<>();
-        
-        for (MenuItem item : DataManager.menuHashMap.values()) {
-            if (item.getCategory().equals(category)) {
-                result.add(item);
-            }
-        }
-        
-        return result;
+        long start = CATEGORY_TIMER.start();
+        List<MenuItem> items = DataManager.menuCategoryIndex.getItems(category);
+        CATEGORY_TIMER.stop(start);
+        return items;
     }
     
     /**
      * 搜尋菜品（根據名稱，支援部分比對）
+     * 使用搜尋索引，不會掃描整個菜單
      * 
      * @param keyword 搜尋關鍵字
      * @return 符合的菜品列表
      */
     public static List<MenuItem> searchMenuByName(String keyword) {
-        List<MenuItem> result = new ArrayList<>();
-        
-        if (keyword == null || keyword.trim().isEmpty()) {
-            return result;
-        }
-        
-        String lowerKeyword = keyword.toLowerCase().trim();
-        
-        for (MenuItem item : DataManager.menuHashMap.values()) {
-            if (item.getName().toLowerCase().contains(lowerKeyword)) {
-                result.add(item);
-            }
-        }
-        
-        return result;
+        return searchMenu(keyword, false);
+    }
+    
+    /**
+     * 搜尋菜品（名稱或描述，支援部分比對）
+     * 
+     * @param keyword 搜尋關鍵字
+     * @param includeDescription 是否一併搜尋描述
+     * @return 符合的菜品列表
+     */
+    public static List<MenuItem> searchMenu(String keyword, boolean includeDescription) {
+        long start = SEARCH_TIMER.start();
+        List<MenuItem> items = DataManager.menuSearchIndex.search(keyword, includeDescription);
+        SEARCH_TIMER.stop(start);
+        return items;
+    }
+    
+    /**
+     * 前綴搜尋菜品（名稱中任一單字的開頭，適合輸入時即時搜尋）
+     * 
+     * @param prefix 前綴
+     * @return 符合的菜品列表
+     */
+    public static List<MenuItem> searchMenuByPrefix(String prefix) {
+        long start = PREFIX_TIMER.start();
+        List<MenuItem> items = DataManager.menuSearchIndex.searchByPrefix(prefix);
+        PREFIX_TIMER.stop(start);
+        return items;
     }
     
     /**
@@ -182,15 +598,11 @@ public class MenuService {
      * @return 價格範圍內的菜品列表
      */
     public static List<MenuItem> getMenuByPriceRange(double minPrice, double maxPrice) {
-        List<MenuItem> result = new ArrayList<>();
-        
-        // 使用 BST 的 subMap 功能（高效）
-        NavigableMap<Double, MenuItem> subMap = 
-            DataManager.menuBST.subMap(minPrice, true, maxPrice, true);
-        
-        result.addAll(subMap.values());
-        
-        return result;
+        // 使用 BST 的範圍查詢（O(log n + k)，同價格的菜品都會回傳）
+        long start = PRICE_RANGE_TIMER.start();
+        List<MenuItem> items = new ArrayList<>(DataManager.menuBST.range(minPrice, maxPrice));
+        PRICE_RANGE_TIMER.stop(start);
+        return items;
     }
     
     // ==================== 統計方法 ====================
@@ -206,12 +618,13 @@ public class MenuService {
     
     /**
      * 取得某分類的菜品數量
+     * 直接讀取分類計數器，O(1)
      * 
      * @param category 分類名稱
      * @return 該分類的菜品數量
      */
     public static int getMenuCountByCategory(String category) {
-        return getMenuByCategory(category).size();
+        return DataManager.menuCategoryIndex.getCount(category);
     }
     
     /**
@@ -220,10 +633,7 @@ public class MenuService {
      * @return 最便宜的菜品，如果沒有菜品則回傳 null
      */
     public static MenuItem getCheapestItem() {
-        if (DataManager.menuBST.isEmpty()) {
-            return null;
-        }
-        return DataManager.menuBST.firstEntry().getValue();
+        return DataManager.menuBST.first();
     }
     
     /**
@@ -232,45 +642,58 @@ public class MenuService {
      * @return 最貴的菜品，如果沒有菜品則回傳 null
      */
     public static MenuItem getMostExpensiveItem() {
-        if (DataManager.menuBST.isEmpty()) {
-            return null;
-        }
-        return DataManager.menuBST.lastEntry().getValue();
+        return DataManager.menuBST.last();
     }
     
     /**
      * 計算平均價格
+     * 讀取累計的總和與數量，O(1)
      * 
      * @return 所有菜品的平均價格
      */
     public static double getAveragePrice() {
-        if (DataManager.menuHashMap.isEmpty()) {
-            return 0;
-        }
-        
-        double total = 0;
-        for (MenuItem item : DataManager.menuHashMap.values()) {
-            total += item.getPrice();
-        }
-        
-        return total / DataManager.menuHashMap.size();
+        return DataManager.menuStatistics.getAveragePrice();
+    }
+    
+    /**
+     * 計算某分類的平均價格
+     * 
+     * @param category 分類名稱
+     * @return 該分類菜品的平均價格，沒有菜品則回傳 0
+     */
+    public static double getAveragePriceByCategory(String category) {
+        return DataManager.menuStatistics.getAveragePrice(category);
+    }
+    
+    /**
+     * 取得可供應的菜品數量
+     * 
+     * @return 目前可供應的菜品數量
+     */
+    public static long getAvailableCount() {
+        return DataManager.menuStatistics.getAvailableCount();
+    }
+    
+    /**
+     * 計算可供應菜品的平均價格
+     * 
+     * @return 可供應菜品的平均價格，沒有菜品則回傳 0
+     */
+    public static double getAvailableAveragePrice() {
+        return DataManager.menuStatistics.getAvailableAveragePrice();
     }
     
     // ==================== 驗證方法 ====================
     
     /**
      * 檢查菜品名稱是否重複
+     * 使用名稱索引，O(1)
      * 
      * @param name 要檢查的菜品名稱
      * @return 如果名稱已存在回傳 true
      */
     public static boolean isNameDuplicate(String name) {
-        for (MenuItem item : DataManager.menuHashMap.values()) {
-            if (item.getName().equals(name)) {
-                return true;
-            }
-        }
-        return false;
+        return DataManager.menuNameIndex.contains(name, null, false);
     }
     
     /**
@@ -282,12 +705,20 @@ public class MenuService {
      * @return 如果名稱已存在（排除指定ID後）回傳 true
      */
     public static boolean isNameDuplicate(String name, String excludeId) {
-        for (MenuItem item : DataManager.menuHashMap.values()) {
-            if (!item.getId().equals(excludeId) && item.getName().equals(name)) {
-                return true;
-            }
-        }
-        return false;
+        return DataManager.menuNameIndex.contains(name, excludeId, false);
+    }
+    
+    /**
+     * 檢查菜品名稱是否重複（可忽略大小寫與空白）
+     * 例如 "Coca  cola " 與 "Coca Cola" 視為相同
+     * 
+     * @param name 要檢查的菜品名稱
+     * @param excludeId 要排除的菜品 ID（可為 null）
+     * @param ignoreCaseAndSpace 是否忽略大小寫與多餘空白
+     * @return 如果名稱已存在（排除指定ID後）回傳 true
+     */
+    public static boolean isNameDuplicate(String name, String excludeId, boolean ignoreCaseAndSpace) {
+        return DataManager.menuNameIndex.contains(name, excludeId, ignoreCaseAndSpace);
     }
     
     /**
@@ -309,7 +740,7 @@ public class MenuService {
             return "菜品名稱不能為空";
         }
         
-        if (item.getPrice() <= 0) {
+        if (item.getPriceMinor() <= 0) {
             return "價格必須大於 0";
         }
         
@@ -328,13 +759,7 @@ public class MenuService {
      * @return 所有不重複的分類列表
      */
     public static List<String> getAllCategories() {
-        Set<String> categories = new HashSet<>();
-        
-        for (MenuItem item : DataManager.menuHashMap.values()) {
-            categories.add(item.getCategory());
-        }
-        
-        return new ArrayList<>(categories);
+        return DataManager.menuCategoryIndex.getCategories();
     }
     
     /**
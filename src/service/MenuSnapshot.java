@@ -0,0 +1,88 @@
+// ============================================================
+// File: MenuSnapshot.java
+// Location: src/service/MenuSnapshot.java
+// Purpose: Immutable, versioned view of the whole menu
+// ============================================================
+
+package service;
+
+import model.MenuItem;
+import model.MenuItemRecord;
+import java.util.*;
+
+/**
+ * Menu Snapshot
+ * The menu as it was at one menu version, sorted by price
+ * Never changes after it is built, so any number of readers can hold and
+ * iterate it without locking or copying
+ *
+ * Built lazily by MenuService.getMenuSnapshot() the first time it is read
+ * after a change, then shared until the next change
+ */
+public final class MenuSnapshot {
+    private final long version;                    // Menu version this snapshot was taken at
+    private final List<MenuItem> items;            // Items in ascending price order
+    private final List<MenuItemRecord> records;    // Immutable values, same order as items
+
+    private MenuSnapshot(long version, List<MenuItem> items, List<MenuItemRecord> records) {
+        this.version = version;
+        this.items = items;
+        this.records = records;
+    }
+
+    /**
+     * Build a snapshot from the price index
+     * Readers should use MenuService.getMenuSnapshot(), which caches it
+     *
+     * @param version Menu version read before the index is walked
+     * @param priceIndex Source of the items, in price order
+     */
+    public static MenuSnapshot build(long version, MenuPriceIndex priceIndex) {
+        List<MenuItem> items = new ArrayList<>(priceIndex.size());
+        List<MenuItemRecord> records = new ArrayList<>(priceIndex.size());
+        Set<String> seen = new HashSet<>();
+
+        // An in-flight price change can briefly list an ID under both prices
+        for (MenuItem item : priceIndex.values()) {
+            if (seen.add(item.getId())) {
+                items.add(item);
+                records.add(item.toRecord());
+            }
+        }
+
+        return new MenuSnapshot(version, Collections.unmodifiableList(items),
+                                Collections.unmodifiableList(records));
+    }
+
+    // ==================== Getters ====================
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Items in ascending price order (unmodifiable)
+     */
+    public List<MenuItem> getItems() {
+        return items;
+    }
+
+    /**
+     * Items in descending price order (unmodifiable view, no copy)
+     */
+    public List<MenuItem> getItemsDescending() {
+        return items.reversed();
+    }
+
+    /**
+     * Immutable values of the items in ascending price order
+     * These do not change even if a MenuItem is modified later
+     */
+    public List<MenuItemRecord> getRecords() {
+        return records;
+    }
+
+    public int size() {
+        return items.size();
+    }
+}
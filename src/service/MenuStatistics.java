@@ -0,0 +1,180 @@
+// ============================================================
+// File: MenuStatistics.java
+// Location: src/service/MenuStatistics.java
+// Purpose: Running menu aggregates updated on every menu change
+// ============================================================
+
+package service;
+
+import model.MenuItem;
+import model.Money;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Menu Statistics
+ * Keeps running sum/count of prices for the whole menu, per category and
+ * for available items, so dashboard statistics are O(1) to read
+ * Cheapest/most expensive items come from the price index (MenuPriceIndex)
+ * Sums are kept in minor units (see Money), so they never drift however
+ * many times items are added and removed
+ *
+ * Callers must serialize add/remove for the same ID
+ * (MenuService does this through the menuHashMap compute methods)
+ */
+public class MenuStatistics {
+
+    /**
+     * Running sum and count of one group of items
+     */
+    private static final class Aggregate {
+        final LongAdder sum = new LongAdder();      // Minor units
+        final LongAdder count = new LongAdder();
+
+        void add(long price) {
+            sum.add(price);
+            count.increment();
+        }
+
+        void remove(long price) {
+            sum.add(-price);
+            count.decrement();
+        }
+
+        /**
+         * Average in currency units
+         */
+        double average() {
+            long n = count.sum();
+            return n == 0 ? 0 : Money.toMajor(sum.sum()) / n;
+        }
+    }
+
+    /**
+     * Values an item was counted with, so it can be uncounted exactly
+     */
+    private static final class Counted {
+        final long price;
+        final String category;
+        final boolean available;
+
+        Counted(long price, String category, boolean available) {
+            this.price = price;
+            this.category = category;
+            this.available = available;
+        }
+
+        boolean sameAs(Counted other) {
+            return price == other.price
+                && available == other.available
+                && Objects.equals(category, other.category);
+        }
+    }
+
+    private final Aggregate all = new Aggregate();
+    private final Aggregate available = new Aggregate();
+    private final ConcurrentHashMap<String, Aggregate> byCategory = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Counted> countedById = new ConcurrentHashMap<>();
+
+    // ==================== Update Methods ====================
+
+    /**
+     * Count an item with its current price, category and availability
+     * If the item is already counted, only a change in those values is applied
+     */
+    public void add(MenuItem item) {
+        Counted counted = new Counted(item.getPriceMinor(), item.getCategory(), item.isAvailable());
+        Counted old = countedById.get(item.getId());
+        if (old != null && old.sameAs(counted)) {
+            return;  // Nothing that is counted has moved
+        }
+
+        countedById.put(item.getId(), counted);
+        apply(counted);
+        if (old != null) {
+            unapply(old);
+        }
+    }
+
+    /**
+     * Uncount the item with the given ID
+     */
+    public void remove(String id) {
+        Counted counted = countedById.remove(id);
+        if (counted != null) {
+            unapply(counted);
+        }
+    }
+
+    /**
+     * Reset everything
+     */
+    public void clear() {
+        for (String id : countedById.keySet()) {
+            remove(id);
+        }
+    }
+
+    private void apply(Counted counted) {
+        all.add(counted.price);
+        if (counted.available) {
+            available.add(counted.price);
+        }
+        if (counted.category != null) {
+            byCategory.computeIfAbsent(counted.category, c -> new Aggregate()).add(counted.price);
+        }
+    }
+
+    private void unapply(Counted counted) {
+        all.remove(counted.price);
+        if (counted.available) {
+            available.remove(counted.price);
+        }
+        if (counted.category != null) {
+            Aggregate aggregate = byCategory.get(counted.category);
+            if (aggregate != null) {
+                aggregate.remove(counted.price);
+            }
+        }
+    }
+
+    // ==================== Query Methods ====================
+
+    public long getCount() {
+        return all.count.sum();
+    }
+
+    /**
+     * Sum of all menu prices in minor units (exact)
+     */
+    public long getTotalPriceMinor() {
+        return all.sum.sum();
+    }
+
+    public double getTotalPrice() {
+        return Money.toMajor(all.sum.sum());
+    }
+
+    public double getAveragePrice() {
+        return all.average();
+    }
+
+    public long getCount(String category) {
+        Aggregate aggregate = category == null ? null : byCategory.get(category);
+        return aggregate == null ? 0 : aggregate.count.sum();
+    }
+
+    public double getAveragePrice(String category) {
+        Aggregate aggregate = category == null ? null : byCategory.get(category);
+        return aggregate == null ? 0 : aggregate.average();
+    }
+
+    public long getAvailableCount() {
+        return available.count.sum();
+    }
+
+    public double getAvailableAveragePrice() {
+        return available.average();
+    }
+}
@@ -0,0 +1,193 @@
+// ============================================================
+// File: OrderArchive.java
+// Location: src/service/OrderArchive.java
+// Purpose: Columnar off-heap archive of finished orders for ad-hoc queries
+// ============================================================
+
+package service;
+
+import model.MenuItem;
+import model.Order;
+import model.OrderItem;
+import model.OrderStatus;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Order Archive
+ * Finished (done or cancelled) orders, stored column by column in blocks
+ * of ArchiveBlock.CAPACITY orders instead of as Order objects
+ * (Order -> ArrayList -> OrderItem -> MenuItem, LocalDateTime):
+ * - full blocks live off-heap in direct buffers: about 30 bytes per order
+ *   plus 16 per line, and nothing for the GC to scan or copy; only the
+ *   block being filled is on the heap
+ * - times are epoch millis (the order's local time in the system zone),
+ *   priority and status enum ordinals in a byte, items int
+ *   indexes, amounts long minor units
+ * - a query reads only the columns it uses, sequentially
+ * - full blocks never change, so queries scan them without locks and
+ *   split the work by block (see ArchiveQuery)
+ * - get() and ArchiveQuery.list() give read-only OrderViews over any row
+ *
+ * Menu items are stored as an index into the archive's item dictionary;
+ * amounts are what the customer was charged, in minor units
+ *
+ * Appends are synchronized; query() takes a snapshot and never blocks appends
+ * for longer than copying the block being filled
+ * Off-heap memory is freed when a dropped block is garbage collected
+ * The heap block (about 4 MB) is only allocated by the first append
+ */
+public final class OrderArchive {
+
+    private final List<ArchiveBlock> blocks = new ArrayList<>();    // Full blocks
+    private ArchiveBlock.Builder open;                               // Block being filled, null until used
+    private ArchiveBlock openCopy;                                   // Built open block, null when it changed
+
+    private final DenseIndex items = new DenseIndex();
+    private final DenseIndex categories = new DenseIndex();
+    private String[] itemNames = new String[16];
+    private int[] itemCategories = new int[16];
+    private long size;
+    private long offHeapBytes;
+
+    // ==================== Append ====================
+
+    /**
+     * Archive a finished order
+     *
+     * @return false if the order is not done or cancelled yet (not archived)
+     */
+    public synchronized boolean append(Order order) {
+        synchronized (order) {
+            OrderStatus status = order.getStatus();
+            if (!status.isFinal()) {
+                return false;
+            }
+            if (open == null) {
+                open = new ArchiveBlock.Builder();
+            }
+            List<OrderItem> orderItems = order.getItems();
+            for (int i = 0; i < orderItems.size(); i++) {
+                OrderItem orderItem = orderItems.get(i);
+                open.addLine(indexOfItem(orderItem.getMenuItem()), orderItem.getQuantity(),
+                             orderItem.getChargedSubtotalMinor());
+            }
+            long time = order.getTimestamp().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            open.endOrder(order.getOrderNumber(), time,
+                          order.getPriority(), status, order.getTotalPriceMinor(), order.getTotalQuantity());
+        }
+        size++;
+        openCopy = null;
+        if (open.isFull()) {
+            ArchiveBlock block = open.build();
+            blocks.add(block);
+            offHeapBytes += block.byteSize();
+            open.clear();
+        }
+        return true;
+    }
+
+    /**
+     * Archive many finished orders; orders not finished yet are skipped
+     *
+     * @return Number of orders archived
+     */
+    public synchronized int appendAll(Collection<Order> orders) {
+        int archived = 0;
+        for (Order order : orders) {
+            if (append(order)) {
+                archived++;
+            }
+        }
+        return archived;
+    }
+
+    private int indexOfItem(MenuItem menuItem) {
+        int index = items.indexOf(menuItem.getId());
+        if (index >= itemNames.length) {
+            itemNames = Arrays.copyOf(itemNames, itemNames.length * 2);
+            itemCategories = Arrays.copyOf(itemCategories, itemCategories.length * 2);
+        }
+        itemNames[index] = menuItem.getName();
+        itemCategories[index] = categories.indexOf(menuItem.getCategory());
+        return index;
+    }
+
+    // ==================== Query ====================
+
+    /**
+     * New query over the orders archived so far
+     */
+    public ArchiveQuery query() {
+        return new ArchiveQuery(snapshot());
+    }
+
+    synchronized ArchiveSnapshot snapshot() {
+        int full = blocks.size();
+        boolean filling = open != null && !open.isEmpty();
+        ArchiveBlock[] all = blocks.toArray(new ArchiveBlock[full + (filling ? 1 : 0)]);
+        if (filling) {
+            if (openCopy == null) {
+                openCopy = open.build();
+            }
+            all[full] = openCopy;
+        }
+        int itemCount = items.size();
+        return new ArchiveSnapshot(all, items.toArray(), Arrays.copyOf(itemNames, itemCount),
+                                   Arrays.copyOf(itemCategories, itemCount), categories.toArray(),
+                                   ZoneId.systemDefault());
+    }
+
+    /**
+     * Read-only view of one archived order
+     *
+     * @param position 0 until size() - 1, in the order they were archived
+     */
+    public ArchiveRow get(long position) {
+        ArchiveSnapshot snapshot = snapshot();
+        if (position < 0 || position >= snapshot.orderCount()) {
+            throw new IndexOutOfBoundsException("No archived order at " + position);
+        }
+        ArchiveRow row = new ArchiveRow(snapshot);
+        row.moveTo(snapshot.blocks()[(int) (position / ArchiveBlock.CAPACITY)],
+                   (int) (position % ArchiveBlock.CAPACITY));
+        return row;
+    }
+
+    // ==================== Status ====================
+
+    /**
+     * Number of archived orders
+     */
+    public synchronized long size() {
+        return size;
+    }
+
+    /**
+     * Off-heap bytes used by the full blocks
+     */
+    public synchronized long getOffHeapBytes() {
+        return offHeapBytes;
+    }
+
+    /**
+     * Number of different menu items in the archive
+     */
+    public synchronized int getItemCount() {
+        return items.size();
+    }
+
+    /**
+     * Drop all archived orders (the item dictionary is kept)
+     */
+    public synchronized void clear() {
+        blocks.clear();
+        open = null;
+        openCopy = null;
+        size = 0;
+        offHeapBytes = 0;
+    }
+}
@@ -0,0 +1,275 @@
+// ============================================================
+// File: OrderPipeline.java
+// Location: src/service/OrderPipeline.java
+// Purpose: Takes order submissions and places them on virtual threads
+// ============================================================
+
+package service;
+
+import model.MenuItem;
+import model.Order;
+import model.OrderItem;
+import model.OrderSubmission;
+import util.Counter;
+import util.Logger;
+import util.Metrics;
+import util.SampledTimer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+/**
+ * Order Pipeline
+ * Each submission gets one virtual thread, which runs four steps in order
+ * (there is no queue or hand-off between them):
+ *   validate -> price -> enqueue -> notify
+ * - validate: items exist and are available, quantities and priority are valid
+ * - price:    build the Order from the current menu items, with a new order number
+ * - enqueue:  OrderService.placeOrder (register, journal, wait for the group
+ *             commit, queue for the kitchen)
+ * - notify:   tell the order listeners (e.g. the kitchen display)
+ *
+ * submit() never blocks: it returns a CompletableFuture right away, so
+ * the UI thread can call it directly. The enqueue step does block its
+ * thread until the journal record is on disk; WriteAheadLog.sync waits
+ * inside a synchronized block, which pins the carrier thread on Java 21,
+ * so at most one journal wait per carrier (about one per core) is in
+ * progress at a time. Group commit lets those waits share one force
+ *
+ * Back-pressure: at most maxInFlight submissions are processed at once.
+ * When all are taken, submit() rejects at once ("busy") and the
+ * timed submit() waits up to its timeout for a free slot
+ *
+ * The future completes on the pipeline's virtual thread; UI code should
+ * hop back to its own thread (e.g. thenAcceptAsync(..., Platform::runLater))
+ */
+public final class OrderPipeline implements AutoCloseable {
+
+    public static final int DEFAULT_MAX_IN_FLIGHT = 1024;
+    public static final int MAX_QUANTITY = 999;
+
+    private static final Logger LOG = Logger.getLogger(OrderPipeline.class);
+    private static final SampledTimer PROCESS_TIMER = Metrics.timer("pipeline.process", 16);
+    private static final Counter ACCEPTED = Metrics.counter("pipeline.accepted");
+    private static final Counter REJECTED_INVALID = Metrics.counter("pipeline.rejected.invalid");
+    private static final Counter REJECTED_BUSY = Metrics.counter("pipeline.rejected.busy");
+    private static final Counter REJECTED_PLACEMENT = Metrics.counter("pipeline.rejected.placement");
+
+    private final int maxInFlight;
+    private final Semaphore slots;
+    private final ExecutorService executor;
+    private final List<Consumer<Order>> listeners = new CopyOnWriteArrayList<>();
+    private volatile boolean closed;
+
+    /**
+     * @param maxInFlight Most submissions processed at the same time
+     */
+    public OrderPipeline(int maxInFlight) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be positive: " + maxInFlight);
+        }
+        this.maxInFlight = maxInFlight;
+        this.slots = new Semaphore(maxInFlight);
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("order-pipeline-", 0).factory());
+    }
+
+    // ==================== Submission ====================
+
+    /**
+     * Submit an order without waiting
+     * Rejected at once if maxInFlight submissions are already in progress
+     *
+     * @return Completes with the placed order or the reason it was rejected
+     */
+    public CompletableFuture<OrderSubmissionResult> submit(OrderSubmission submission) {
+        if (!slots.tryAcquire()) {
+            return busy();
+        }
+        return start(submission);
+    }
+
+    /**
+     * Submit an order, waiting up to timeout for a free slot
+     * Blocks the caller while the pipeline is full, so call it from a
+     * request thread (ideally virtual), never from the UI thread
+     *
+     * @return Completes with the placed order or the reason it was rejected
+     */
+    public CompletableFuture<OrderSubmissionResult> submit(OrderSubmission submission, long timeout, TimeUnit unit)
+            throws InterruptedException {
+        if (!slots.tryAcquire(timeout, unit)) {
+            return busy();
+        }
+        return start(submission);
+    }
+
+    private CompletableFuture<OrderSubmissionResult> busy() {
+        REJECTED_BUSY.increment();
+        return CompletableFuture.completedFuture(OrderSubmissionResult.rejected("Too many orders in progress, try again"));
+    }
+
+    /**
+     * Run a submission that already holds a slot
+     */
+    private CompletableFuture<OrderSubmissionResult> start(OrderSubmission submission) {
+        CompletableFuture<OrderSubmissionResult> result = new CompletableFuture<>();
+        try {
+            if (closed) {
+                throw new RejectedExecutionException();
+            }
+            executor.execute(() -> {
+                try {
+                    result.complete(process(submission));
+                } catch (RuntimeException e) {
+                    LOG.error(() -> "Order submission failed: " + e);
+                    result.complete(OrderSubmissionResult.rejected("Internal error: " + e.getMessage()));
+                } finally {
+                    slots.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            slots.release();
+            result.complete(OrderSubmissionResult.rejected("Order intake is closed"));
+        }
+        return result;
+    }
+
+    // ==================== Stages ====================
+
+    /**
+     * Run all stages for one submission (on a pipeline thread)
+     */
+    private OrderSubmissionResult process(OrderSubmission submission) {
+        long start = PROCESS_TIMER.start();
+        try {
+            MenuItem[] menuItems = new MenuItem[submission == null ? 0 : submission.lines().size()];
+            String error = validate(submission, menuItems);
+            if (!error.isEmpty()) {
+                return reject(submission, error);
+            }
+
+            Order order;
+            try {
+                order = price(submission, menuItems);
+            } catch (ArithmeticException e) {
+                return reject(submission, "Order total is too large");
+            }
+
+            if (!OrderService.placeOrder(order)) {
+                REJECTED_PLACEMENT.increment();
+                LOG.warn(() -> "Order #" + order.getOrderNumber() + " from " + submission.channel() + " could not be placed");
+                return OrderSubmissionResult.rejected("Order could not be placed");
+            }
+
+            notifyListeners(order);
+            ACCEPTED.increment();
+            return OrderSubmissionResult.accepted(order);
+        } finally {
+            PROCESS_TIMER.stop(start);
+        }
+    }
+
+    /**
+     * Check a submission and resolve its menu items into menuItems
+     *
+     * @return Error message, empty string if the submission is valid
+     */
+    static String validate(OrderSubmission submission, MenuItem[] menuItems) {
+        if (submission == null) {
+            return "Order cannot be empty";
+        }
+        if (submission.priority() == null) {
+            return "Priority is required";
+        }
+
+        List<OrderSubmission.Line> lines = submission.lines();
+        if (lines.isEmpty()) {
+            return "Order cannot be empty";
+        }
+        for (int i = 0; i < lines.size(); i++) {
+            OrderSubmission.Line line = lines.get(i);
+            if (line.quantity() < 1 || line.quantity() > MAX_QUANTITY) {
+                return "Invalid quantity for " + line.menuItemId() + ": " + line.quantity();
+            }
+            MenuItem item = MenuService.getMenuItemById(line.menuItemId());
+            if (item == null) {
+                return "Menu item not found: " + line.menuItemId();
+            }
+            if (!item.isAvailable()) {
+                return item.getName() + " is not available";
+            }
+            menuItems[i] = item;
+        }
+        return "";
+    }
+
+    /**
+     * Build the order at the current menu prices
+     *
+     * @throws ArithmeticException If the total does not fit in a long
+     */
+    private static Order price(OrderSubmission submission, MenuItem[] menuItems) {
+        List<OrderSubmission.Line> lines = submission.lines();
+        List<OrderItem> items = new ArrayList<>(lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            items.add(new OrderItem(menuItems[i], lines.get(i).quantity()));
+        }
+        return new Order(DataManager.nextOrderNumber(), items, submission.priority());
+    }
+
+    private void notifyListeners(Order order) {
+        for (Consumer<Order> listener : listeners) {
+            try {
+                listener.accept(order);
+            } catch (RuntimeException e) {
+                LOG.error(() -> "Order listener failed for order #" + order.getOrderNumber() + ": " + e);
+            }
+        }
+    }
+
+    /**
+     * Reject a submission that failed validation or pricing
+     */
+    private static OrderSubmissionResult reject(OrderSubmission submission, String error) {
+        REJECTED_INVALID.increment();
+        LOG.info(() -> "Rejected order from " + (submission == null ? null : submission.channel()) + ": " + error);
+        return OrderSubmissionResult.rejected(error);
+    }
+
+    // ==================== Listeners ====================
+
+    /**
+     * Be told about every order the pipeline places (e.g. the kitchen display)
+     * Called on a pipeline thread, after the order is queued for the kitchen
+     */
+    public void addOrderListener(Consumer<Order> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeOrderListener(Consumer<Order> listener) {
+        listeners.remove(listener);
+    }
+
+    // ==================== Status and Lifecycle ====================
+
+    /**
+     * Number of submissions being processed right now
+     */
+    public int getInFlight() {
+        return maxInFlight - slots.availablePermits();
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * Stop taking submissions and wait for the ones in progress to finish
+     */
+    @Override
+    public void close() {
+        closed = true;
+        executor.close();
+    }
+}
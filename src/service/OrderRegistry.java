@@ -0,0 +1,109 @@
+// ============================================================
+// File: OrderRegistry.java
+// Location: src/service/OrderRegistry.java
+// Purpose: Hash index of all orders by order number
+// ============================================================
+
+package service;
+
+import model.Order;
+import model.OrderStatus;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Order Registry
+ * Finds any order of the session by its number in O(1), whether it is
+ * still queued, at a kitchen station or already finished
+ */
+public class OrderRegistry {
+
+    private final ConcurrentHashMap<Integer, Order> orders = new ConcurrentHashMap<>();
+
+    // ==================== Update Methods ====================
+
+    /**
+     * Add an order
+     *
+     * @return false if another order already uses that number (nothing is changed)
+     */
+    public boolean register(Order order) {
+        Order existing = orders.putIfAbsent(order.getOrderNumber(), order);
+        return existing == null || existing == order;
+    }
+
+    /**
+     * Remove an order
+     *
+     * @return Removed order, null if unknown
+     */
+    public Order unregister(int orderNumber) {
+        return orders.remove(orderNumber);
+    }
+
+    /**
+     * Forget every finished (done or cancelled) order
+     *
+     * @return Number of orders removed
+     */
+    public int removeFinished() {
+        int before = orders.size();
+        orders.values().removeIf(order -> order.getStatus().isFinal());
+        return before - orders.size();
+    }
+
+    /**
+     * Remove every finished (done or cancelled) order and return them
+     * (e.g. to move them to the order archive)
+     */
+    public List<Order> takeFinished() {
+        List<Order> finished = new ArrayList<>();
+        orders.values().removeIf(order -> {
+            if (order.getStatus().isFinal()) {
+                finished.add(order);
+                return true;
+            }
+            return false;
+        });
+        return finished;
+    }
+
+    public void clear() {
+        orders.clear();
+    }
+
+    // ==================== Query Methods ====================
+
+    /**
+     * Order with the given number, null if unknown
+     */
+    public Order get(int orderNumber) {
+        return orders.get(orderNumber);
+    }
+
+    /**
+     * Status of an order, null if unknown
+     */
+    public OrderStatus getStatus(int orderNumber) {
+        Order order = orders.get(orderNumber);
+        return order == null ? null : order.getStatus();
+    }
+
+    /**
+     * Orders that are not finished yet (copy)
+     */
+    public List<Order> getOpenOrders() {
+        List<Order> open = new ArrayList<>();
+        for (Order order : orders.values()) {
+            if (!order.getStatus().isFinal()) {
+                open.add(order);
+            }
+        }
+        return open;
+    }
+
+    public int size() {
+        return orders.size();
+    }
+}
@@ -0,0 +1,274 @@
+// ============================================================
+// File: OrderScheduler.java
+// Location: src/service/OrderScheduler.java
+// Purpose: Order queue where waiting orders gain priority as they age
+// ============================================================
+
+package service;
+
+import model.Order;
+import model.OrderPriority;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Order Scheduler
+ * Serves orders by rank = time placed - head start of its priority class
+ * Time placed is Order.getPlacedNanos(), a monotonic clock, so DST and
+ * wall-clock changes never reorder the queue
+ *
+ * This is aging with one common slope: every order's effective priority
+ * rises as it waits, and a higher class only starts ahead by a fixed
+ * credit. A VIP order placed now ranks with a Normal order placed
+ * vipCredit earlier, so a Normal order is never passed by VIP orders
+ * placed more than vipCredit after it, however many arrive
+ * (strict priority could starve it forever)
+ *
+ * Because every order ages at the same rate the rank never changes once
+ * computed, so it is taken once at offer() and cached in the queue entry.
+ * Changing an order's priority or timestamp directly therefore cannot
+ * break the heap; use reprioritize() to move a queued order
+ *
+ * Backed by an IndexedOrderHeap under one lock: remove and reprioritize
+ * by order number are O(log n)
+ *
+ * The lock is deliberately not striped. The kitchen must get the single
+ * lowest rank across all orders, and striped sub-queues could only offer
+ * each stripe's best (or a scan of every stripe under all their locks).
+ * Every critical section is one O(log n) heap step, and the queue holds
+ * at most the open orders (hundreds), so the lock is held only briefly;
+ * ContentionStressTest checks it under contention
+ */
+public final class OrderScheduler {
+
+    public static final long DEFAULT_DELIVERY_CREDIT_MILLIS = TimeUnit.MINUTES.toMillis(2);
+    public static final long DEFAULT_VIP_CREDIT_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    private final IndexedOrderHeap heap = new IndexedOrderHeap();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final long deliveryCreditMillis;
+    private final long vipCreditMillis;
+
+    /**
+     * Scheduler with the default credits (Delivery 2 min, VIP 5 min)
+     */
+    public OrderScheduler() {
+        this(DEFAULT_DELIVERY_CREDIT_MILLIS, DEFAULT_VIP_CREDIT_MILLIS);
+    }
+
+    /**
+     * @param deliveryCreditMillis Head start of Delivery orders over Normal ones
+     * @param vipCreditMillis Head start of VIP orders over Normal ones
+     */
+    public OrderScheduler(long deliveryCreditMillis, long vipCreditMillis) {
+        this.deliveryCreditMillis = deliveryCreditMillis;
+        this.vipCreditMillis = vipCreditMillis;
+    }
+
+    // ==================== Rank ====================
+
+    /**
+     * Rank of an order, smaller is served first
+     * Also used by KitchenDispatcher to order station tickets
+     */
+    public long rankOf(Order order) {
+        return order.getPlacedNanos() - TimeUnit.MILLISECONDS.toNanos(creditOf(order.getPriority()));
+    }
+
+    private long creditOf(OrderPriority priority) {
+        switch (priority) {
+            case VIP:
+                return vipCreditMillis;
+            case DELIVERY:
+                return deliveryCreditMillis;
+            case NORMAL:
+            default:
+                return 0;
+        }
+    }
+
+    // ==================== Queue Methods ====================
+
+    /**
+     * Add an order (never blocks)
+     * Offering an order number that is already queued re-ranks it instead
+     */
+    public boolean offer(Order order) {
+        long rank = rankOf(order);
+        lock.lock();
+        try {
+            heap.offer(order, rank);
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remove and return the next order, waiting if there is none
+     */
+    public Order take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (heap.size() == 0) {
+                notEmpty.await();
+            }
+            return heap.poll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remove and return the next order, null if there is none
+     */
+    public Order poll() {
+        lock.lock();
+        try {
+            return heap.poll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Next order without removing it, null if there is none
+     */
+    public Order peek() {
+        lock.lock();
+        try {
+            return heap.peek();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Move up to maxOrders orders into target, in serving order
+     *
+     * @return Number of orders moved
+     */
+    public int drainTo(Collection<? super Order> target, int maxOrders) {
+        lock.lock();
+        try {
+            int count = 0;
+            Order order;
+            while (count < maxOrders && (order = heap.poll()) != null) {
+                target.add(order);
+                count++;
+            }
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remove a queued order by number, O(log n)
+     *
+     * @return Removed order, null if it was not queued
+     */
+    public Order remove(int orderNumber) {
+        lock.lock();
+        try {
+            return heap.remove(orderNumber);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remove a specific order, O(log n)
+     *
+     * @return true if it was queued
+     */
+    public boolean remove(Order order) {
+        lock.lock();
+        try {
+            if (heap.get(order.getOrderNumber()) != order) {
+                return false;
+            }
+            heap.remove(order.getOrderNumber());
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Change the priority of a queued order and move it to its new place, O(log n)
+     *
+     * @return false if the order is not queued (its priority is left unchanged)
+     */
+    public boolean reprioritize(int orderNumber, OrderPriority priority) {
+        lock.lock();
+        try {
+            Order order = heap.get(orderNumber);
+            if (order == null) {
+                return false;
+            }
+            order.setPriority(priority);
+            heap.update(orderNumber, rankOf(order));
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Whether an order is still waiting in this queue, O(1)
+     */
+    public boolean contains(int orderNumber) {
+        lock.lock();
+        try {
+            return heap.contains(orderNumber);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return heap.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            heap.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Queued orders in serving order (copy, for display)
+     */
+    public List<Order> toList() {
+        Order[] orders;
+        lock.lock();
+        try {
+            orders = heap.toSortedArray();
+        } finally {
+            lock.unlock();
+        }
+        return Arrays.asList(orders);
+    }
+
+    @Override
+    public String toString() {
+        return toList().toString();
+    }
+}
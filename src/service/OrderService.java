@@ -0,0 +1,218 @@
+// ============================================================
+// File: OrderService.java
+// Location: src/service/OrderService.java
+// Purpose: Handle all order-related business logic
+// ============================================================
+
+package service;
+
+import model.Order;
+import model.OrderPriority;
+import model.OrderStatus;
+import model.OrderSubmission;
+import storage.StorageEngine;
+import util.Counter;
+import util.Logger;
+import util.Metrics;
+import util.SampledTimer;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Order Service Class
+ * Provides order operations: submit, place, look up, cancel, re-prioritize
+ * Lookups go through DataManager.orderRegistry (O(1)), queue changes
+ * through DataManager.orderPriorityQueue (O(log n))
+ * Changes are timed (1 call in 128) and placed, rejected and cancelled
+ * orders are counted, see util.Metrics; the O(1) lookups are not timed
+ */
+public class OrderService {
+
+    private static final Logger LOG = Logger.getLogger(OrderService.class);
+    private static final SampledTimer PLACE_TIMER = Metrics.timer("order.place", 128);
+    private static final SampledTimer CANCEL_TIMER = Metrics.timer("order.cancel", 128);
+    private static final SampledTimer REPRIORITIZE_TIMER = Metrics.timer("order.reprioritize", 128);
+    private static final SampledTimer QUEUE_LIST_TIMER = Metrics.timer("order.queueList");
+    private static final Counter PLACED = Metrics.counter("order.placed");
+    private static final Counter REJECTED = Metrics.counter("order.rejected");
+    private static final Counter CANCELLED = Metrics.counter("order.cancelled");
+
+    // ==================== Place Order ====================
+
+    /**
+     * Submit an order from a client (POS, online)
+     * Validated, priced and placed by DataManager.orderPipeline on a
+     * virtual thread; never blocks, safe to call from the UI thread
+     *
+     * @return Completes with the placed order or the reason it was rejected
+     */
+    public static CompletableFuture<OrderSubmissionResult> submitOrder(OrderSubmission submission) {
+        return DataManager.orderPipeline.submit(submission);
+    }
+
+    /**
+     * Place an order: register it, journal it and queue it for the kitchen
+     * Returns only once the journal record is on disk (group commit), so
+     * an accepted order survives a crash
+     *
+     * @param order Order with a number from DataManager.nextOrderNumber()
+     * @return Whether the order was accepted
+     */
+    public static boolean placeOrder(Order order) {
+        long start = PLACE_TIMER.start();
+        boolean placed = place(order);
+        PLACE_TIMER.stop(start);
+        (placed ? PLACED : REJECTED).increment();
+        return placed;
+    }
+
+    private static boolean place(Order order) {
+        if (order == null) {
+            LOG.warn("Order cannot be null");
+            return false;
+        }
+
+        if (!DataManager.orderRegistry.register(order)) {
+            LOG.warn(() -> "Order number already exists: " + order.getOrderNumber());
+            return false;
+        }
+
+        StorageEngine storage = DataManager.storage;
+        if (storage != null) {
+            storage.sync(storage.logOrder(order));
+        }
+        DataManager.orderPriorityQueue.offer(order);
+
+        LOG.debug(() -> "Placed order: " + order.getSummary());
+        return true;
+    }
+
+    // ==================== Query Operations ====================
+
+    /**
+     * Find an order by number, null if unknown
+     */
+    public static Order getOrder(int orderNumber) {
+        return DataManager.orderRegistry.get(orderNumber);
+    }
+
+    /**
+     * Status of an order, null if unknown
+     */
+    public static OrderStatus getOrderStatus(int orderNumber) {
+        return DataManager.orderRegistry.getStatus(orderNumber);
+    }
+
+    /**
+     * Whether an order is still waiting for the kitchen to take it
+     */
+    public static boolean isQueued(int orderNumber) {
+        return DataManager.orderPriorityQueue.contains(orderNumber);
+    }
+
+    /**
+     * Orders waiting for the kitchen, in the order they will be served
+     */
+    public static List<Order> getQueuedOrders() {
+        long start = QUEUE_LIST_TIMER.start();
+        List<Order> orders = DataManager.orderPriorityQueue.toList();
+        QUEUE_LIST_TIMER.stop(start);
+        return orders;
+    }
+
+    // ==================== Archive ====================
+
+    /**
+     * Move finished (done or cancelled) orders from the registry to the
+     * order archive, e.g. at the end of the day
+     * They stay queryable through DataManager.orderArchive.query() but no
+     * longer through getOrder()
+     *
+     * @return Number of orders archived
+     */
+    public static int archiveFinishedOrders() {
+        List<Order> finished = DataManager.orderRegistry.takeFinished();
+        int archived = DataManager.orderArchive.appendAll(finished);
+        LOG.info(() -> "Archived " + archived + " finished orders");
+        return archived;
+    }
+
+    // ==================== Change Operations ====================
+
+    /**
+     * Cancel an order that has not started cooking
+     * Removes it from the queue in O(log n); if the kitchen already took
+     * it, the stations drop its tickets
+     *
+     * @return Whether the order was cancelled
+     */
+    public static boolean cancelOrder(int orderNumber) {
+        long start = CANCEL_TIMER.start();
+        boolean cancelled = cancel(orderNumber);
+        CANCEL_TIMER.stop(start);
+        if (cancelled) {
+            CANCELLED.increment();
+        }
+        return cancelled;
+    }
+
+    private static boolean cancel(int orderNumber) {
+        Order order = DataManager.orderRegistry.get(orderNumber);
+        if (order == null) {
+            LOG.warn(() -> "Order not found: " + orderNumber);
+            return false;
+        }
+
+        if (!order.transitionStatus(OrderStatus.WAITING, OrderStatus.CANCELLED)) {
+            LOG.warn(() -> "Order #" + orderNumber + " cannot be cancelled, status: " + order.getStatus());
+            return false;
+        }
+
+        DataManager.orderPriorityQueue.remove(order);
+        StorageEngine storage = DataManager.storage;
+        if (storage != null) {
+            storage.sync(storage.logOrderStatus(orderNumber, OrderStatus.CANCELLED));
+        }
+
+        LOG.info(() -> "Cancelled order #" + orderNumber);
+        return true;
+    }
+
+    /**
+     * Change the priority of an unfinished order
+     * A queued order moves to its new place in O(log n); once the kitchen
+     * has taken it only the recorded priority changes
+     *
+     * @return Whether the priority was changed
+     */
+    public static boolean reprioritizeOrder(int orderNumber, OrderPriority priority) {
+        long start = REPRIORITIZE_TIMER.start();
+        boolean changed = reprioritize(orderNumber, priority);
+        REPRIORITIZE_TIMER.stop(start);
+        return changed;
+    }
+
+    private static boolean reprioritize(int orderNumber, OrderPriority priority) {
+        if (priority == null) {
+            LOG.warn("Priority is required");
+            return false;
+        }
+
+        Order order = DataManager.orderRegistry.get(orderNumber);
+        if (order == null || order.getStatus().isFinal()) {
+            LOG.warn(() -> "Order not found or already finished: " + orderNumber);
+            return false;
+        }
+
+        if (!DataManager.orderPriorityQueue.reprioritize(orderNumber, priority)) {
+            order.setPriority(priority);
+        }
+        StorageEngine storage = DataManager.storage;
+        if (storage != null) {
+            storage.sync(storage.logOrderPriority(orderNumber, priority));
+        }
+
+        LOG.info(() -> "Order #" + orderNumber + " priority changed to " + order.getPriorityText());
+        return true;
+    }
+}
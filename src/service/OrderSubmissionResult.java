@@ -0,0 +1,36 @@
+// ============================================================
+// File: OrderSubmissionResult.java
+// Location: src/service/OrderSubmissionResult.java
+// Purpose: Outcome of one order submission
+// ============================================================
+
+package service;
+
+import model.Order;
+
+/**
+ * Order Submission Result
+ * Either the placed order or the reason it was not placed
+ *
+ * @param order Placed order, null if rejected
+ * @param error Why the submission was rejected, null if accepted
+ */
+public record OrderSubmissionResult(Order order, String error) {
+
+    static OrderSubmissionResult accepted(Order order) {
+        return new OrderSubmissionResult(order, null);
+    }
+
+    static OrderSubmissionResult rejected(String error) {
+        return new OrderSubmissionResult(null, error);
+    }
+
+    public boolean isAccepted() {
+        return order != null;
+    }
+
+    @Override
+    public String toString() {
+        return isAccepted() ? "Accepted: " + order.getSummary() : "Rejected: " + error;
+    }
+}
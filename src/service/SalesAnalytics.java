@@ -0,0 +1,233 @@
+// ============================================================
+// File: SalesAnalytics.java
+// Location: src/service/SalesAnalytics.java
+// Purpose: Running sales sums per time window, for end-of-day reports
+// ============================================================
+
+package service;
+
+import model.MenuItem;
+import model.Order;
+import model.OrderItem;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Sales Analytics
+ * Each completed order is folded once into the sums of the time window
+ * it was placed in (tumbling windows, 1 hour by default) and into the
+ * all-time sums. A report only adds up the windows it covers, so it takes
+ * milliseconds however many orders have been recorded; orders are never
+ * rescanned
+ *
+ * Sums are kept per menu item and per category in primitive arrays
+ * indexed by a dense index (see DenseIndex), not in maps
+ * Windows older than the retention period are dropped; the all-time sums
+ * keep everything
+ *
+ * Amounts are what the customer was charged (OrderItem.getChargedSubtotalMinor),
+ * items are counted under the category they had when sold
+ *
+ * Counts only sales since startup: storage keeps open orders only and
+ * the order archive is in memory, so there is no sales history to
+ * reload after a restart, and reports start from zero
+ *
+ * Thread-safe (all methods synchronized); record() is cheap enough to be
+ * called from the kitchen threads when an order is done
+ */
+public final class SalesAnalytics {
+
+    public static final Duration DEFAULT_WINDOW = Duration.ofHours(1);
+    public static final int DEFAULT_RETAINED_WINDOWS = 24 * 92;     // About a quarter of hourly windows
+
+    private static final long MILLIS_PER_DAY = Duration.ofDays(1).toMillis();
+
+    private final long windowMillis;
+    private final int retainedWindows;
+
+    private final DenseIndex items = new DenseIndex();
+    private final DenseIndex categories = new DenseIndex();
+    private String[] itemNames = new String[16];                       // Last seen name, by item index
+
+    private final TreeMap<Long, SalesTotals> windows = new TreeMap<>(); // Key: window number since the epoch
+    private SalesTotals allTime = new SalesTotals();
+    private long newestWindow = Long.MIN_VALUE;
+
+    public SalesAnalytics() {
+        this(DEFAULT_WINDOW, DEFAULT_RETAINED_WINDOWS);
+    }
+
+    /**
+     * @param window Length of one window, must divide a day (e.g. 15 minutes, 1 hour)
+     * @param retainedWindows Number of most recent windows kept
+     */
+    public SalesAnalytics(Duration window, int retainedWindows) {
+        long millis = window.toMillis();
+        if (millis <= 0 || MILLIS_PER_DAY % millis != 0) {
+            throw new IllegalArgumentException("Window must divide a day: " + window);
+        }
+        if (retainedWindows < 1) {
+            throw new IllegalArgumentException("retainedWindows must be positive: " + retainedWindows);
+        }
+        this.windowMillis = millis;
+        this.retainedWindows = retainedWindows;
+    }
+
+    // ==================== Recording ====================
+
+    /**
+     * Fold a completed order into the sums
+     * Call once per order, when it is done; cancelled orders are not sales
+     */
+    public synchronized void record(Order order) {
+        long window = windowOf(order.getTimestamp());
+        SalesTotals bucket = bucketFor(window);
+
+        synchronized (order) {
+            allTime.addOrder(order.getPriority(), order.getTotalPriceMinor());
+            if (bucket != null) {
+                bucket.addOrder(order.getPriority(), order.getTotalPriceMinor());
+            }
+            List<OrderItem> orderItems = order.getItems();
+            for (int i = 0; i < orderItems.size(); i++) {
+                OrderItem orderItem = orderItems.get(i);
+                MenuItem menuItem = orderItem.getMenuItem();
+                int item = indexOfItem(menuItem);
+                int category = categories.indexOf(menuItem.getCategory());
+                long revenue = orderItem.getChargedSubtotalMinor();
+
+                allTime.addLine(item, category, orderItem.getQuantity(), revenue);
+                if (bucket != null) {
+                    bucket.addLine(item, category, orderItem.getQuantity(), revenue);
+                }
+            }
+        }
+    }
+
+    /**
+     * Sums of a window, created if needed
+     *
+     * @return null if the window is older than the retention period
+     */
+    private SalesTotals bucketFor(long window) {
+        if (window > newestWindow) {
+            newestWindow = window;
+            windows.headMap(newestWindow - retainedWindows, true).clear();
+        } else if (window <= newestWindow - retainedWindows) {
+            return null;
+        }
+        SalesTotals bucket = windows.get(window);
+        if (bucket == null) {
+            bucket = new SalesTotals();
+            windows.put(window, bucket);
+        }
+        return bucket;
+    }
+
+    private int indexOfItem(MenuItem menuItem) {
+        int index = items.indexOf(menuItem.getId());
+        if (index >= itemNames.length) {
+            itemNames = Arrays.copyOf(itemNames, Math.max(index + 1, itemNames.length * 2));
+        }
+        itemNames[index] = menuItem.getName();
+        return index;
+    }
+
+    // ==================== Reports ====================
+
+    /**
+     * Sales of the windows that start in [from, to)
+     * Window boundaries are used as they are, a time inside a window
+     * rounds up to the next window start
+     */
+    public synchronized SalesReport report(LocalDateTime from, LocalDateTime to) {
+        long first = windowCeil(from);
+        long end = windowCeil(to);
+        SalesTotals sum = new SalesTotals();
+        if (first < end) {
+            for (SalesTotals bucket : windows.subMap(first, end).values()) {
+                sum.addAll(bucket);
+            }
+        }
+        return newReport(from, to, sum);
+    }
+
+    /**
+     * Sales of one calendar day (end-of-day report)
+     */
+    public SalesReport reportDay(LocalDate day) {
+        return report(day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+    }
+
+    /**
+     * Sales of every order recorded, including dropped windows
+     */
+    public synchronized SalesReport reportAllTime() {
+        return newReport(null, null, allTime.copy());
+    }
+
+    private SalesReport newReport(LocalDateTime from, LocalDateTime to, SalesTotals sum) {
+        return new SalesReport(from, to, sum, items.toArray(),
+                Arrays.copyOf(itemNames, items.size()), categories.toArray());
+    }
+
+    // ==================== Status ====================
+
+    /**
+     * Number of windows currently kept
+     */
+    public synchronized int getWindowCount() {
+        return windows.size();
+    }
+
+    /**
+     * Number of orders recorded so far
+     */
+    public synchronized int getOrderCount() {
+        return allTime.orders;
+    }
+
+    /**
+     * Oldest time still covered by report(); null if nothing is recorded
+     */
+    public synchronized LocalDateTime getRetainedSince() {
+        Map.Entry<Long, SalesTotals> oldest = windows.firstEntry();
+        return oldest == null ? null : startOf(oldest.getKey());
+    }
+
+    /**
+     * Forget everything recorded (e.g. before reloading the history)
+     */
+    public synchronized void clear() {
+        windows.clear();
+        allTime = new SalesTotals();
+        newestWindow = Long.MIN_VALUE;
+    }
+
+    // ==================== Window Arithmetic ====================
+
+    // Local date-time as millis on a UTC clock, so windows line up with local days
+    static long localMillis(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1000 + time.getNano() / 1_000_000;
+    }
+
+    private long windowOf(LocalDateTime time) {
+        return Math.floorDiv(localMillis(time), windowMillis);
+    }
+
+    private long windowCeil(LocalDateTime time) {
+        return Math.ceilDiv(localMillis(time), windowMillis);
+    }
+
+    private LocalDateTime startOf(long window) {
+        long millis = window * windowMillis;
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000), Math.floorMod(millis, 1000) * 1_000_000,
+                ZoneOffset.UTC);
+    }
+}
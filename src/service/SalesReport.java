@@ -0,0 +1,219 @@
+// ============================================================
+// File: SalesReport.java
+// Location: src/service/SalesReport.java
+// Purpose: Sales of a period: totals, top sellers, category breakdown
+// ============================================================
+
+package service;
+
+import model.Money;
+import model.OrderPriority;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Sales Report
+ * Snapshot made by SalesAnalytics; does not change after it is created
+ * Amounts are in minor units (see model.Money), the get...Revenue()
+ * methods without "Minor" convert for display
+ */
+public final class SalesReport {
+
+    /**
+     * Sales of one menu item
+     *
+     * @param menuItemId Menu item ID
+     * @param name Item name when it was last sold
+     * @param quantity Number sold
+     * @param revenueMinor Amount charged, in minor units
+     */
+    public record ItemSales(String menuItemId, String name, long quantity, long revenueMinor) {
+
+        public double revenue() {
+            return Money.toMajor(revenueMinor);
+        }
+    }
+
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+    private final SalesTotals totals;
+    private final String[] itemIds;
+    private final String[] itemNames;
+    private final String[] categories;
+
+    SalesReport(LocalDateTime from, LocalDateTime to, SalesTotals totals,
+                String[] itemIds, String[] itemNames, String[] categories) {
+        this.from = from;
+        this.to = to;
+        this.totals = totals;
+        this.itemIds = itemIds;
+        this.itemNames = itemNames;
+        this.categories = categories;
+    }
+
+    // ==================== Totals ====================
+
+    /**
+     * Start of the period, null for an all-time report
+     */
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    /**
+     * End of the period (exclusive), null for an all-time report
+     */
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    public int getOrderCount() {
+        return totals.orders;
+    }
+
+    public long getItemQuantity() {
+        return totals.quantity;
+    }
+
+    public long getRevenueMinor() {
+        return totals.revenue;
+    }
+
+    public double getRevenue() {
+        return Money.toMajor(totals.revenue);
+    }
+
+    /**
+     * Average order value in minor units, 0 if there were no orders
+     */
+    public long getAverageOrderMinor() {
+        return totals.orders == 0 ? 0 : totals.revenue / totals.orders;
+    }
+
+    // ==================== Breakdowns ====================
+
+    /**
+     * Items sold most, by quantity (ties by revenue)
+     *
+     * @param limit Most entries returned
+     */
+    public List<ItemSales> getTopSellers(int limit) {
+        return top(limit, Comparator.comparingLong(ItemSales::quantity)
+                .thenComparingLong(ItemSales::revenueMinor));
+    }
+
+    /**
+     * Items that earned most, by revenue (ties by quantity)
+     *
+     * @param limit Most entries returned
+     */
+    public List<ItemSales> getTopSellersByRevenue(int limit) {
+        return top(limit, Comparator.comparingLong(ItemSales::revenueMinor)
+                .thenComparingLong(ItemSales::quantity));
+    }
+
+    /**
+     * Sales of one menu item, null if it was not sold in this period
+     */
+    public ItemSales getItemSales(String menuItemId) {
+        for (int i = 0; i < itemIds.length; i++) {
+            if (itemIds[i].equals(menuItemId)) {
+                ItemSales sales = itemSales(i);
+                return sales.quantity() == 0 ? null : sales;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Revenue in minor units per category, highest first
+     */
+    public Map<String, Long> getRevenueByCategory() {
+        return byCategory(totals.categoryRevenue);
+    }
+
+    /**
+     * Items sold per category, highest first
+     */
+    public Map<String, Long> getQuantityByCategory() {
+        return byCategory(totals.categoryQuantity);
+    }
+
+    /**
+     * Orders of one priority class
+     */
+    public int getOrderCount(OrderPriority priority) {
+        return totals.priorityOrders[priority.ordinal()];
+    }
+
+    /**
+     * Revenue in minor units of one priority class
+     */
+    public long getRevenueMinor(OrderPriority priority) {
+        return totals.priorityRevenue[priority.ordinal()];
+    }
+
+    // Bounded min-heap: keeps the best `limit` items without sorting all of them
+    private List<ItemSales> top(int limit, Comparator<ItemSales> order) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        PriorityQueue<ItemSales> best = new PriorityQueue<>(limit + 1, order);
+        int count = Math.min(itemIds.length, totals.itemQuantity.length);
+        for (int i = 0; i < count; i++) {
+            if (totals.itemQuantity[i] == 0) {
+                continue;
+            }
+            ItemSales sales = itemSales(i);
+            if (best.size() < limit) {
+                best.add(sales);
+            } else if (order.compare(sales, best.peek()) > 0) {
+                best.poll();
+                best.add(sales);
+            }
+        }
+        List<ItemSales> result = new ArrayList<>(best);
+        result.sort(Collections.reverseOrder(order));
+        return result;
+    }
+
+    private ItemSales itemSales(int index) {
+        boolean sold = index < totals.itemQuantity.length;
+        return new ItemSales(itemIds[index], itemNames[index],
+                sold ? totals.itemQuantity[index] : 0, sold ? totals.itemRevenue[index] : 0);
+    }
+
+    private Map<String, Long> byCategory(long[] sums) {
+        List<Integer> sold = new ArrayList<>();
+        for (int i = 0; i < sums.length && i < categories.length; i++) {
+            if (totals.categoryQuantity[i] != 0) {
+                sold.add(i);
+            }
+        }
+        sold.sort((a, b) -> Long.compare(sums[b], sums[a]));
+
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (int i : sold) {
+            result.put(categories[i], sums[i]);
+        }
+        return result;
+    }
+
+    // ==================== Display ====================
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(from == null ? "All time" : from + " - " + to)
+          .append(": ").append(totals.orders).append(" orders, ")
+          .append(totals.quantity).append(" items, ")
+          .append(Money.format(totals.revenue));
+        return sb.toString();
+    }
+}
@@ -0,0 +1,101 @@
+// ============================================================
+// File: SalesTotals.java
+// Location: src/service/SalesTotals.java
+// Purpose: Sales sums of one time window, in primitive arrays
+// ============================================================
+
+package service;
+
+import model.OrderPriority;
+import java.util.Arrays;
+
+/**
+ * Sales Totals
+ * Order count, revenue and quantity overall, per priority class, per
+ * menu item and per category; items and categories are addressed by
+ * their DenseIndex index, so every sum is one array slot
+ * Amounts are in minor units (see model.Money)
+ *
+ * Not thread-safe, guarded by SalesAnalytics
+ */
+final class SalesTotals {
+
+    private static final long[] EMPTY = new long[0];
+
+    int orders;
+    long revenue;
+    long quantity;
+    final int[] priorityOrders = new int[OrderPriority.values().length];     // By ordinal
+    final long[] priorityRevenue = new long[OrderPriority.values().length];
+    long[] itemQuantity = EMPTY;
+    long[] itemRevenue = EMPTY;
+    long[] categoryQuantity = EMPTY;
+    long[] categoryRevenue = EMPTY;
+
+    // ==================== Folding ====================
+
+    void addOrder(OrderPriority priority, long orderRevenue) {
+        int slot = priority.ordinal();
+        orders++;
+        revenue += orderRevenue;
+        priorityOrders[slot]++;
+        priorityRevenue[slot] += orderRevenue;
+    }
+
+    void addLine(int item, int category, long lineQuantity, long lineRevenue) {
+        if (item >= itemQuantity.length) {
+            int length = grownLength(itemQuantity.length, item);
+            itemQuantity = Arrays.copyOf(itemQuantity, length);
+            itemRevenue = Arrays.copyOf(itemRevenue, length);
+        }
+        if (category >= categoryQuantity.length) {
+            int length = grownLength(categoryQuantity.length, category);
+            categoryQuantity = Arrays.copyOf(categoryQuantity, length);
+            categoryRevenue = Arrays.copyOf(categoryRevenue, length);
+        }
+        quantity += lineQuantity;
+        itemQuantity[item] += lineQuantity;
+        itemRevenue[item] += lineRevenue;
+        categoryQuantity[category] += lineQuantity;
+        categoryRevenue[category] += lineRevenue;
+    }
+
+    /**
+     * Add another window's sums to these
+     */
+    void addAll(SalesTotals other) {
+        orders += other.orders;
+        revenue += other.revenue;
+        quantity += other.quantity;
+        for (int i = 0; i < priorityOrders.length; i++) {
+            priorityOrders[i] += other.priorityOrders[i];
+            priorityRevenue[i] += other.priorityRevenue[i];
+        }
+        if (other.itemQuantity.length > itemQuantity.length) {
+            itemQuantity = Arrays.copyOf(itemQuantity, other.itemQuantity.length);
+            itemRevenue = Arrays.copyOf(itemRevenue, other.itemRevenue.length);
+        }
+        for (int i = 0; i < other.itemQuantity.length; i++) {
+            itemQuantity[i] += other.itemQuantity[i];
+            itemRevenue[i] += other.itemRevenue[i];
+        }
+        if (other.categoryQuantity.length > categoryQuantity.length) {
+            categoryQuantity = Arrays.copyOf(categoryQuantity, other.categoryQuantity.length);
+            categoryRevenue = Arrays.copyOf(categoryRevenue, other.categoryRevenue.length);
+        }
+        for (int i = 0; i < other.categoryQuantity.length; i++) {
+            categoryQuantity[i] += other.categoryQuantity[i];
+            categoryRevenue[i] += other.categoryRevenue[i];
+        }
+    }
+
+    SalesTotals copy() {
+        SalesTotals copy = new SalesTotals();
+        copy.addAll(this);
+        return copy;
+    }
+
+    private static int grownLength(int length, int index) {
+        return Math.max(index + 1, Math.max(8, length + (length >> 1)));
+    }
+}
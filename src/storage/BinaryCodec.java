@@ -0,0 +1,375 @@
+// ============================================================
+// File: BinaryCodec.java
+// Location: src/storage/BinaryCodec.java
+// Purpose: Versioned binary format for MenuItem, OrderItem and Order
+// ============================================================
+
+package storage;
+
+import model.MenuItem;
+import model.Money;
+import model.Order;
+import model.OrderItem;
+import model.OrderPriority;
+import model.OrderStatus;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Binary Codec
+ * Encodes straight into a ByteBuffer and decodes straight out of one,
+ * without building byte[] copies or stream objects in between
+ *
+ * Each top-level message starts with a format version byte, followed by
+ * tagged fields. A tag is (field number << 3 | wire type):
+ *   0 VARINT   unsigned LEB128 (ints, longs, booleans)
+ *   1 FIXED64  8 bytes (doubles, only in data written before prices were fixed-point)
+ *   2 BYTES    varint length + bytes (UTF-8 strings)
+ *   3 MESSAGE  4-byte length + nested fields (OrderItem inside Order)
+ * Unknown field numbers are skipped by wire type, so new fields can be
+ * added without breaking older readers; field numbers are never reused
+ * (prices moved from double fields 3 to minor-unit fields 7/4, the old
+ * fields are still read when the new ones are absent)
+ *
+ * An OrderItem stores the menu item ID plus the unit price it was sold
+ * at, not a copy of the whole MenuItem; decoding resolves the ID again
+ * Signed longs (prices) are zigzag-encoded varints
+ *
+ * A top-level message has no length of its own, the caller frames it
+ * (one log record, or a length prefix in a snapshot)
+ * Encoding throws BufferOverflowException if the buffer is too small
+ */
+public final class BinaryCodec {
+
+    public static final byte FORMAT_VERSION = 1;
+
+    private static final int VARINT = 0;
+    private static final int FIXED64 = 1;
+    private static final int BYTES = 2;
+    private static final int MESSAGE = 3;
+
+    // MenuItem fields
+    private static final int MENU_ID = 1;
+    private static final int MENU_NAME = 2;
+    private static final int MENU_PRICE_DOUBLE = 3;     // Old, read only
+    private static final int MENU_CATEGORY = 4;
+    private static final int MENU_DESCRIPTION = 5;
+    private static final int MENU_AVAILABLE = 6;
+    private static final int MENU_PRICE_MINOR = 7;
+
+    // OrderItem fields
+    private static final int LINE_MENU_ID = 1;
+    private static final int LINE_QUANTITY = 2;
+    private static final int LINE_UNIT_PRICE_DOUBLE = 3; // Old, read only
+    private static final int LINE_UNIT_PRICE_MINOR = 4;
+
+    // Order fields
+    private static final int ORDER_NUMBER = 1;
+    private static final int ORDER_PRIORITY = 2;
+    private static final int ORDER_EPOCH_SECOND = 3;
+    private static final int ORDER_NANO = 4;
+    private static final int ORDER_STATUS = 5;
+    private static final int ORDER_ITEM = 6;
+
+    private BinaryCodec() {
+    }
+
+    // ==================== MenuItem ====================
+
+    public static void encodeMenuItem(MenuItem item, ByteBuffer out) {
+        out.put(FORMAT_VERSION);
+        putString(out, MENU_ID, item.getId());
+        putString(out, MENU_NAME, item.getName());
+        putString(out, MENU_CATEGORY, item.getCategory());
+        putString(out, MENU_DESCRIPTION, item.getDescription());
+        putVarintField(out, MENU_AVAILABLE, item.isAvailable() ? 1 : 0);
+        putSignedField(out, MENU_PRICE_MINOR, item.getPriceMinor());
+    }
+
+    /**
+     * Decode a MenuItem from the buffer position up to its limit
+     */
+    public static MenuItem decodeMenuItem(ByteBuffer in) {
+        checkVersion(in);
+        String id = null, name = "", category = "", description = "";
+        long price = 0;
+        boolean available = true;
+
+        while (in.hasRemaining()) {
+            int tag = (int) getVarint(in);
+            switch (tag >>> 3) {
+                case MENU_ID: id = getText(in); break;
+                case MENU_NAME: name = getText(in); break;
+                case MENU_PRICE_DOUBLE: price = Money.ofMajor(in.getDouble()); break;
+                case MENU_PRICE_MINOR: price = getSigned(in); break;
+                case MENU_CATEGORY: category = getText(in); break;
+                case MENU_DESCRIPTION: description = getText(in); break;
+                case MENU_AVAILABLE: available = getVarint(in) != 0; break;
+                default: skip(in, tag & 7);
+            }
+        }
+
+        MenuItem item = new MenuItem(id, name, 0, category, description);
+        item.setPriceMinor(price);
+        item.setAvailable(available);
+        return item;
+    }
+
+    // ==================== OrderItem ====================
+
+    /**
+     * Encode an OrderItem as a nested message (no version byte)
+     */
+    public static void encodeOrderItem(OrderItem line, ByteBuffer out) {
+        putString(out, LINE_MENU_ID, line.getMenuItem().getId());
+        putVarintField(out, LINE_QUANTITY, line.getQuantity());
+        putSignedField(out, LINE_UNIT_PRICE_MINOR, line.getMenuItem().getPriceMinor());
+    }
+
+    /**
+     * Decode an OrderItem from the buffer position up to its limit
+     *
+     * @param menu Looks up a menu item by ID; if it returns null a
+     *             stand-in item with the stored unit price is used
+     */
+    public static OrderItem decodeOrderItem(ByteBuffer in, Function<String, MenuItem> menu) {
+        String menuId = null;
+        int quantity = 0;
+        long unitPrice = 0;
+
+        while (in.hasRemaining()) {
+            int tag = (int) getVarint(in);
+            switch (tag >>> 3) {
+                case LINE_MENU_ID: menuId = getText(in); break;
+                case LINE_QUANTITY: quantity = (int) getVarint(in); break;
+                case LINE_UNIT_PRICE_DOUBLE: unitPrice = Money.ofMajor(in.getDouble()); break;
+                case LINE_UNIT_PRICE_MINOR: unitPrice = getSigned(in); break;
+                default: skip(in, tag & 7);
+            }
+        }
+
+        MenuItem item = menu.apply(menuId);
+        if (item == null) {
+            item = new MenuItem(menuId, menuId, 0, "", "");
+            item.setPriceMinor(unitPrice);
+            item.setAvailable(false);
+        }
+        return new OrderItem(item, quantity);
+    }
+
+    // ==================== Order ====================
+
+    public static void encodeOrder(Order order, ByteBuffer out) {
+        out.put(FORMAT_VERSION);
+        putVarintField(out, ORDER_NUMBER, order.getOrderNumber());
+        putVarintField(out, ORDER_PRIORITY, order.getPriority().getLevel());
+        putVarintField(out, ORDER_EPOCH_SECOND, order.getTimestamp().toEpochSecond(ZoneOffset.UTC));
+        putVarintField(out, ORDER_NANO, order.getTimestamp().getNano());
+        putString(out, ORDER_STATUS, order.getStatus().getCode());
+
+        for (OrderItem line : order.getItems()) {
+            putTag(out, ORDER_ITEM, MESSAGE);
+            int lengthAt = out.position();
+            out.putInt(0);  // Filled in once the nested message is written
+            encodeOrderItem(line, out);
+            out.putInt(lengthAt, out.position() - lengthAt - 4);
+        }
+    }
+
+    /**
+     * Decode an Order from the buffer position up to its limit
+     *
+     * @param menu Looks up the menu items referenced by the order lines
+     */
+    public static Order decodeOrder(ByteBuffer in, Function<String, MenuItem> menu) {
+        checkVersion(in);
+        int orderNumber = 0;
+        OrderPriority priority = OrderPriority.NORMAL;
+        long epochSecond = 0;
+        int nano = 0;
+        OrderStatus status = OrderStatus.WAITING;
+        List<OrderItem> items = new ArrayList<>();
+
+        while (in.hasRemaining()) {
+            int tag = (int) getVarint(in);
+            switch (tag >>> 3) {
+                case ORDER_NUMBER: orderNumber = (int) getVarint(in); break;
+                case ORDER_PRIORITY: priority = OrderPriority.fromLevel((int) getVarint(in)); break;
+                case ORDER_EPOCH_SECOND: epochSecond = getVarint(in); break;
+                case ORDER_NANO: nano = (int) getVarint(in); break;
+                case ORDER_STATUS: status = OrderStatus.fromCode(getText(in)); break;
+                case ORDER_ITEM: {
+                    int length = in.getInt();
+                    int end = in.position() + length;
+                    int limit = in.limit();
+                    in.limit(end);
+                    items.add(decodeOrderItem(in, menu));
+                    in.limit(limit);
+                    in.position(end);
+                    break;
+                }
+                default: skip(in, tag & 7);
+            }
+        }
+
+        LocalDateTime timestamp = LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+        return new Order(orderNumber, items, priority, timestamp, status);
+    }
+
+    /**
+     * Format version byte of the top-level message at the buffer position,
+     * without moving past it
+     * Data written before BinaryCodec (DataOutput records) reads as 0
+     */
+    public static int formatVersionOf(ByteBuffer in) {
+        return in.get(in.position());
+    }
+
+    // ==================== Primitive Helpers ====================
+
+    private static void checkVersion(ByteBuffer in) {
+        byte version = in.get();
+        if (version < 1 || version > FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported format version: " + version);
+        }
+    }
+
+    private static void putTag(ByteBuffer out, int field, int wireType) {
+        putVarint(out, (field << 3) | wireType);
+    }
+
+    private static void putVarintField(ByteBuffer out, int field, long value) {
+        putTag(out, field, VARINT);
+        putVarint(out, value);
+    }
+
+    private static void putSignedField(ByteBuffer out, int field, long value) {
+        putTag(out, field, VARINT);
+        putVarint(out, (value << 1) ^ (value >> 63));  // Zigzag: small negatives stay short
+    }
+
+    private static long getSigned(ByteBuffer in) {
+        long raw = getVarint(in);
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    /**
+     * Write a string field; a null string is simply not written
+     * (decoders keep their default)
+     */
+    private static void putString(ByteBuffer out, int field, String value) {
+        if (value != null) {
+            putTag(out, field, BYTES);
+            putText(out, value);
+        }
+    }
+
+    /**
+     * Write varint length + UTF-8 bytes without creating a byte[] first
+     * Also used by StorageEngine for its small untagged records
+     */
+    static void putText(ByteBuffer out, String value) {
+        putVarint(out, utf8Length(value));
+
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                out.put((byte) c);
+            } else if (c < 0x800) {
+                out.put((byte) (0xC0 | (c >> 6)));
+                out.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                       && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, value.charAt(++i));
+                out.put((byte) (0xF0 | (cp >> 18)));
+                out.put((byte) (0x80 | ((cp >> 12) & 0x3F)));
+                out.put((byte) (0x80 | ((cp >> 6) & 0x3F)));
+                out.put((byte) (0x80 | (cp & 0x3F)));
+            } else {
+                out.put((byte) (0xE0 | (c >> 12)));
+                out.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                out.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    private static int utf8Length(String value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                       && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Read a string written by putText
+     */
+    static String getText(ByteBuffer in) {
+        int length = (int) getVarint(in);
+        String value;
+        if (in.hasArray()) {
+            value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+        } else {
+            byte[] bytes = new byte[length];
+            in.get(in.position(), bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        in.position(in.position() + length);
+        return value;
+    }
+
+    private static void putVarint(ByteBuffer out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    private static long getVarint(ByteBuffer in) {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    private static void skip(ByteBuffer in, int wireType) {
+        switch (wireType) {
+            case VARINT: getVarint(in); break;
+            case FIXED64: in.position(in.position() + 8); break;
+            case BYTES: {
+                int length = (int) getVarint(in);
+                in.position(in.position() + length);
+                break;
+            }
+            case MESSAGE: {
+                int length = in.getInt();
+                in.position(in.position() + length);
+                break;
+            }
+            default:
+                throw new IllegalArgumentException("Unknown wire type: " + wireType);
+        }
+    }
+}
@@ -0,0 +1,232 @@
+// ============================================================
+// File: SnapshotFile.java
+// Location: src/storage/SnapshotFile.java
+// Purpose: Compacted, checksummed copy of the whole state at one LSN
+// ============================================================
+
+package storage;
+
+import model.MenuItem;
+import model.Order;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Snapshot File
+ * Holds the menu, the open orders and the order counter as they were at
+ * one log position, so recovery only has to replay the log after it
+ *
+ * Layout: magic, format version, LSN, order counter, menu item count,
+ * menu items, order count, orders, then a CRC32C of everything before it
+ * Each item and order is an int length followed by its BinaryCodec bytes
+ * Written to a temporary file and moved into place, the newest two are kept
+ * A damaged snapshot is skipped; an intact one of another format version
+ * is an error (format 1, from before BinaryCodec, is not migrated)
+ */
+final class SnapshotFile {
+
+    /**
+     * Contents of one snapshot
+     */
+    record Data(long lsn, int orderCounter, List<MenuItem> menu, List<Order> orders) {
+    }
+
+    private static final int MAGIC = 0x444D534E;    // "DMSN"
+    private static final int FORMAT_VERSION = 2;     // 2: BinaryCodec records
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".snap";
+    private static final int KEEP = 2;
+
+    private final Path directory;
+
+    SnapshotFile(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Write a new snapshot and delete all but the newest few
+     *
+     * @return LSN of the oldest snapshot kept: readLatest() may fall back
+     *         to it, so the log after it must be kept
+     */
+    long write(Data data) throws IOException {
+        Path target = directory.resolve(String.format("%s%020d%s", PREFIX, data.lsn(), SUFFIX));
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+
+        CRC32C crc = new CRC32C();
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+                 StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            buffer.putInt(MAGIC)
+                  .putInt(FORMAT_VERSION)
+                  .putLong(data.lsn())
+                  .putInt(data.orderCounter())
+                  .putInt(data.menu().size());
+            for (MenuItem item : data.menu()) {
+                buffer = putRecord(out, crc, buffer, b -> BinaryCodec.encodeMenuItem(item, b));
+            }
+
+            if (buffer.remaining() < 4) {
+                drain(out, crc, buffer);
+            }
+            buffer.putInt(data.orders().size());
+            for (Order order : data.orders()) {
+                buffer = putRecord(out, crc, buffer, b -> BinaryCodec.encodeOrder(order, b));
+            }
+
+            drain(out, crc, buffer);
+            buffer.putInt((int) crc.getValue()).flip();
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            out.force(true);
+        }
+
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        List<Path> all = list();
+        int oldest = Math.max(0, all.size() - KEEP);
+        for (int i = 0; i < oldest; i++) {
+            Files.deleteIfExists(all.get(i));
+        }
+        return lsnOf(all.get(oldest));
+    }
+
+    /**
+     * Read the newest snapshot that passes its checksum
+     *
+     * @return Snapshot contents, null if there is no usable snapshot
+     * @throws IOException If the newest intact snapshot has another format version
+     */
+    Data readLatest() throws IOException {
+        List<Path> all = list();
+        for (int i = all.size() - 1; i >= 0; i--) {
+            Data data = read(all.get(i));
+            if (data != null) {
+                return data;
+            }
+        }
+        return null;
+    }
+
+    private static Data read(Path file) throws IOException {
+        ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(file));
+        if (in.remaining() < 4) {
+            return null;
+        }
+
+        CRC32C crc = new CRC32C();
+        crc.update(in.slice(0, in.limit() - 4));
+        if (in.getInt(in.limit() - 4) != (int) crc.getValue()) {
+            return null;
+        }
+        in.limit(in.limit() - 4);
+
+        if (in.getInt() != MAGIC) {
+            return null;
+        }
+        // Intact but of another format: say so instead of silently using an older snapshot
+        int version = in.getInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Snapshot " + file.getFileName() + " has format version " + version
+                                  + ", this version reads only " + FORMAT_VERSION
+                                  + (version == 1 ? " (1: written before BinaryCodec, not migrated)" : ""));
+        }
+
+        long lsn = in.getLong();
+        int orderCounter = in.getInt();
+
+        int menuCount = in.getInt();
+        List<MenuItem> menu = new ArrayList<>(menuCount);
+        Map<String, MenuItem> menuById = new HashMap<>(menuCount * 2);
+        for (int i = 0; i < menuCount; i++) {
+            MenuItem item = BinaryCodec.decodeMenuItem(nextRecord(in));
+            menu.add(item);
+            menuById.put(item.getId(), item);
+        }
+
+        int orderCount = in.getInt();
+        List<Order> orders = new ArrayList<>(orderCount);
+        for (int i = 0; i < orderCount; i++) {
+            orders.add(BinaryCodec.decodeOrder(nextRecord(in), menuById::get));
+        }
+
+        return new Data(lsn, orderCounter, menu, orders);
+    }
+
+    // ==================== Internal ====================
+
+    /**
+     * Append one length-prefixed record, draining the buffer to the file
+     * first if it is full (or growing it if one record is bigger than it)
+     *
+     * @return Buffer to keep writing into (a new one if it had to grow)
+     */
+    private static ByteBuffer putRecord(FileChannel out, CRC32C crc, ByteBuffer buffer,
+                                        Consumer<ByteBuffer> encoder) throws IOException {
+        while (true) {
+            int start = buffer.position();
+            try {
+                buffer.putInt(0);  // Filled in once the record is written
+                encoder.accept(buffer);
+                buffer.putInt(start, buffer.position() - start - 4);
+                return buffer;
+            } catch (BufferOverflowException e) {
+                buffer.position(start);
+                if (start > 0) {
+                    drain(out, crc, buffer);
+                } else {
+                    buffer = ByteBuffer.allocate(buffer.capacity() * 2);
+                }
+            }
+        }
+    }
+
+    /**
+     * Write out everything in the buffer and clear it
+     */
+    private static void drain(FileChannel out, CRC32C crc, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        crc.update(buffer.duplicate());
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Slice the next length-prefixed record and move past it
+     */
+    private static ByteBuffer nextRecord(ByteBuffer in) {
+        int length = in.getInt();
+        ByteBuffer record = in.slice(in.position(), length);
+        in.position(in.position() + length);
+        return record;
+    }
+
+    private static long lsnOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    /**
+     * Snapshot files, oldest first
+     */
+    private List<Path> list() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        }
+        Collections.sort(files);  // Zero-padded LSN in the name sorts correctly
+        return files;
+    }
+}
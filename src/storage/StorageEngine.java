@@ -0,0 +1,391 @@
+// ============================================================
+// File: StorageEngine.java
+// Location: src/storage/StorageEngine.java
+// Purpose: Durable storage for menu and orders (write-ahead log + snapshots)
+// ============================================================
+
+package storage;
+
+import model.MenuItem;
+import model.Order;
+import model.OrderPriority;
+import model.OrderStatus;
+import service.BulkLoadResult;
+import service.DataManager;
+import service.DataStore;
+import service.MenuService;
+import service.MenuSnapshot;
+import util.Logger;
+import java.io.*;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Storage Engine
+ * Makes the in-memory data in DataManager survive restarts
+ * - Every menu/order change is appended to the write-ahead log
+ * - Every so often the whole state is written to a snapshot; log segments
+ *   older than the oldest snapshot kept are deleted
+ * - On startup the newest valid snapshot is loaded and only the log after
+ *   it is replayed; if the log no longer reaches back to it, startup fails
+ *
+ * Log appends are not fsynced one by one; the log forces its segment in
+ * the background (group commit). Every log method returns the record's
+ * LSN; callers that acknowledge a change (placing an order, editing the
+ * menu) wait with sync(lsn) first, so an acknowledged change survives a
+ * crash. Waiters that arrive together share one force
+ *
+ * Replay is idempotent (puts and removes by key), so a snapshot may
+ * safely contain changes that are also still in the log
+ *
+ * Menu items and orders are encoded with BinaryCodec; order lines refer
+ * to menu items by ID and are resolved against the recovered menu
+ */
+public final class StorageEngine implements Closeable {
+
+    private static final Logger LOG = Logger.getLogger(StorageEngine.class);
+
+    // Record types
+    private static final byte MENU_PUT = 1;
+    private static final byte MENU_REMOVE = 2;
+    private static final byte ORDER_PUT = 3;
+    private static final byte ORDER_STATUS = 4;
+    private static final byte ORDER_PRIORITY = 5;
+
+    private static final int SEGMENT_SIZE = 16 * 1024 * 1024;
+    private static final long SYNC_INTERVAL_MILLIS = 10;
+    private static final long CHECKPOINT_RECORDS = 50_000;     // Log records between snapshots
+    private static final long CHECKPOINT_CHECK_SECONDS = 30;
+
+    // Per-thread encode buffer, replaced by a bigger one when a record does not fit
+    private static final ThreadLocal<ByteBuffer> SCRATCH =
+        ThreadLocal.withInitial(() -> ByteBuffer.allocate(1024));
+
+    private final WriteAheadLog log;
+    private final SnapshotFile snapshots;
+    private final ConcurrentHashMap<Integer, Order> openOrders = new ConcurrentHashMap<>();
+    private final AtomicLong recordsSinceCheckpoint = new AtomicLong();
+    private final ScheduledExecutorService checkpointer;
+
+    private StorageEngine(Path directory) throws IOException {
+        this.log = WriteAheadLog.open(directory, SEGMENT_SIZE, SYNC_INTERVAL_MILLIS);
+        this.snapshots = new SnapshotFile(directory);
+        this.checkpointer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "storage-checkpoint");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Open the storage in a directory, load its data into DataManager and
+     * start journaling every later change
+     *
+     * @param directory Data directory (created if missing)
+     * @return Opened engine, also stored in DataManager.storage
+     */
+    public static StorageEngine open(Path directory) throws IOException {
+        StorageEngine engine = new StorageEngine(directory);
+        engine.recover();
+        DataManager.storage = engine;
+
+        engine.checkpointer.scheduleWithFixedDelay(engine::checkpointIfDue,
+            CHECKPOINT_CHECK_SECONDS, CHECKPOINT_CHECK_SECONDS, TimeUnit.SECONDS);
+        return engine;
+    }
+
+    // ==================== Journal Methods ====================
+
+    /**
+     * Record that a menu item was added or changed
+     *
+     * @return LSN of the record, for sync(lsn)
+     */
+    public long logMenuPut(MenuItem item) {
+        return append(MENU_PUT, out -> BinaryCodec.encodeMenuItem(item, out));
+    }
+
+    /**
+     * Record that a menu item was removed
+     *
+     * @return LSN of the record, for sync(lsn)
+     */
+    public long logMenuRemove(String id) {
+        return append(MENU_REMOVE, out -> BinaryCodec.putText(out, id));
+    }
+
+    /**
+     * Record a new order, before anyone else can change it
+     * Later changes go through logOrderStatus and logOrderPriority, which
+     * carry only the changed field and so cannot undo a concurrent one
+     *
+     * @return LSN of the record, for sync(lsn)
+     */
+    public long logOrder(Order order) {
+        trackOrder(order.getOrderNumber(), order, order.getStatus());
+        return append(ORDER_PUT, out -> BinaryCodec.encodeOrder(order, out));
+    }
+
+    /**
+     * Record an order status change
+     *
+     * @return LSN of the record, for sync(lsn)
+     */
+    public long logOrderStatus(int orderNumber, OrderStatus status) {
+        trackOrder(orderNumber, openOrders.get(orderNumber), status);
+        return append(ORDER_STATUS, out -> {
+            out.putInt(orderNumber);
+            BinaryCodec.putText(out, status.getCode());
+        });
+    }
+
+    /**
+     * Record an order priority change
+     * Replay applies it only while the order is still open
+     *
+     * @return LSN of the record, for sync(lsn)
+     */
+    public long logOrderPriority(int orderNumber, OrderPriority priority) {
+        return append(ORDER_PRIORITY, out -> {
+            out.putInt(orderNumber);
+            out.put((byte) priority.getLevel());
+        });
+    }
+
+    /**
+     * Wait until every record up to lsn is on disk (the next group commit)
+     * Returns early if the calling thread is interrupted
+     */
+    public void sync(long lsn) {
+        log.sync(lsn);
+    }
+
+    /**
+     * Wait until everything journaled so far is on disk
+     */
+    public void sync() {
+        log.sync(log.getLastLsn());
+    }
+
+    // ==================== Snapshot Methods ====================
+
+    /**
+     * Write a snapshot of the current state and drop the log that no kept snapshot needs
+     */
+    public synchronized void checkpoint() throws IOException {
+        // Read the LSN first: every change up to it is already in memory,
+        // later ones may or may not be in the snapshot and are replayed anyway
+        long lsn = log.getLastLsn();
+        List<MenuItem> menu = MenuSnapshot.build(lsn, DataManager.store().menuByPrice()).getItems();
+        List<Order> orders = new ArrayList<>(openOrders.values());
+        int orderCounter = DataManager.store().peekOrderNumber();
+
+        // Keep the log back to the oldest snapshot still on disk, recovery
+        // falls back to it if the newest one turns out to be damaged
+        long keepFrom = snapshots.write(new SnapshotFile.Data(lsn, orderCounter, menu, orders));
+        log.deleteSegmentsUpTo(keepFrom);
+        recordsSinceCheckpoint.set(0);
+
+        LOG.info(() -> "Checkpoint at LSN " + lsn + ": " + menu.size() + " menu items, "
+                       + orders.size() + " open orders");
+    }
+
+    /**
+     * Take a final snapshot and close the log
+     */
+    @Override
+    public void close() throws IOException {
+        checkpointer.shutdownNow();
+        if (DataManager.storage == this) {
+            DataManager.storage = null;
+        }
+        checkpoint();
+        log.close();
+    }
+
+    // ==================== Internal ====================
+
+    /**
+     * Something that writes one record payload
+     */
+    private interface PayloadWriter {
+        void write(ByteBuffer out);
+    }
+
+    private long append(byte type, PayloadWriter writer) {
+        ByteBuffer out = SCRATCH.get();
+        while (true) {
+            out.clear();
+            try {
+                writer.write(out);
+                break;
+            } catch (BufferOverflowException e) {
+                out = ByteBuffer.allocate(out.capacity() * 2);
+                SCRATCH.set(out);
+            }
+        }
+        long lsn = log.append(type, out.flip());
+        recordsSinceCheckpoint.incrementAndGet();
+        return lsn;
+    }
+
+    private void trackOrder(int orderNumber, Order order, OrderStatus status) {
+        if (status.isFinal()) {
+            openOrders.remove(orderNumber);
+        } else if (order != null) {
+            openOrders.put(orderNumber, order);
+            // Finished meanwhile: its final status may have been tracked before the put
+            if (order.getStatus().isFinal()) {
+                openOrders.remove(orderNumber, order);
+            }
+        }
+    }
+
+    private void checkpointIfDue() {
+        if (recordsSinceCheckpoint.get() < CHECKPOINT_RECORDS) {
+            return;
+        }
+        try {
+            checkpoint();
+        } catch (IOException | RuntimeException e) {
+            LOG.error(() -> "Checkpoint failed: " + e);
+        }
+    }
+
+    /**
+     * Load the newest snapshot, replay the log after it, then hand the
+     * result to DataManager (before journaling is switched on)
+     */
+    private void recover() throws IOException {
+        long started = System.nanoTime();
+        Map<String, MenuItem> menu = new LinkedHashMap<>();
+        Map<Integer, Order> orders = new LinkedHashMap<>();
+        int orderCounter = 1;
+        long fromLsn = 0;
+
+        SnapshotFile.Data snapshot = snapshots.readLatest();
+        if (snapshot != null) {
+            fromLsn = snapshot.lsn();
+            orderCounter = snapshot.orderCounter();
+            for (MenuItem item : snapshot.menu()) {
+                menu.put(item.getId(), item);
+            }
+            for (Order order : snapshot.orders()) {
+                orders.put(order.getOrderNumber(), order);
+            }
+        }
+
+        if (log.getFirstLsn() > fromLsn + 1) {
+            throw new IOException("Log starts at LSN " + log.getFirstLsn() + " but the snapshot used ends at LSN "
+                                  + fromLsn + ": the records in between are gone, refusing to restore old state");
+        }
+
+        long[] replayed = new long[1];
+        int[] counter = {orderCounter};
+        log.replay(fromLsn, entry -> {
+            apply(entry, menu, orders, counter);
+            replayed[0]++;
+        });
+        log.skipTo(fromLsn);
+
+        if (!menu.isEmpty()) {
+            BulkLoadResult restored = MenuService.restoreAll(menu.values());
+            if (restored.getFailedCount() > 0) {
+                throw new IOException("Could not restore " + restored.getFailedCount() + " of " + menu.size()
+                                      + " journaled menu items: " + restored.getFailures());
+            }
+        }
+        DataStore store = DataManager.store();
+        for (Order order : orders.values()) {
+            openOrders.put(order.getOrderNumber(), order);
+            store.orders().register(order);
+            store.orderQueue().offer(order);
+        }
+        store.reserveOrderNumbers(counter[0]);
+
+        long millis = (System.nanoTime() - started) / 1_000_000;
+        LOG.info(() -> "Recovered " + menu.size() + " menu items and " + orders.size()
+                       + " open orders (" + replayed[0] + " log records) in " + millis + " ms");
+    }
+
+    /**
+     * Apply one log record to the state being recovered
+     * counter[0] is raised past every order number seen, even for finished orders
+     */
+    private static void apply(WriteAheadLog.Entry entry, Map<String, MenuItem> menu,
+                              Map<Integer, Order> orders, int[] counter) {
+        ByteBuffer in = entry.payload();
+        checkFormat(entry);
+
+        try {
+            switch (entry.type()) {
+                case MENU_PUT: {
+                    MenuItem item = BinaryCodec.decodeMenuItem(in);
+                    menu.put(item.getId(), item);
+                    break;
+                }
+                case MENU_REMOVE:
+                    menu.remove(BinaryCodec.getText(in));
+                    break;
+                case ORDER_PUT: {
+                    Order order = BinaryCodec.decodeOrder(in, menu::get);
+                    counter[0] = Math.max(counter[0], order.getOrderNumber() + 1);
+                    if (order.getStatus().isFinal()) {
+                        orders.remove(order.getOrderNumber());
+                    } else {
+                        orders.put(order.getOrderNumber(), order);
+                    }
+                    break;
+                }
+                case ORDER_STATUS: {
+                    int orderNumber = in.getInt();
+                    OrderStatus status = OrderStatus.fromCode(BinaryCodec.getText(in));
+                    Order order = orders.get(orderNumber);
+                    if (order != null) {
+                        // Recovery, not a live change: no listeners, no status times
+                        order.restoreStatus(status);
+                        if (status.isFinal()) {
+                            orders.remove(orderNumber);
+                        }
+                    }
+                    break;
+                }
+                case ORDER_PRIORITY: {
+                    int orderNumber = in.getInt();
+                    OrderPriority priority = OrderPriority.fromLevel(in.get());
+                    Order order = orders.get(orderNumber);
+                    if (order != null) {
+                        order.setPriority(priority);
+                    }
+                    break;
+                }
+                default:
+                    LOG.warn(() -> "Skipping unknown log record type " + entry.type());
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IllegalStateException("Corrupt log record at LSN " + entry.lsn(), e);
+        }
+    }
+
+    /**
+     * Reject menu/order records of a format this version cannot read,
+     * rather than reporting them as corrupt
+     * Records from before BinaryCodec are not migrated
+     */
+    private static void checkFormat(WriteAheadLog.Entry entry) {
+        if (entry.type() != MENU_PUT && entry.type() != ORDER_PUT || !entry.payload().hasRemaining()) {
+            return;
+        }
+        int version = BinaryCodec.formatVersionOf(entry.payload());
+        if (version < 1 || version > BinaryCodec.FORMAT_VERSION) {
+            throw new IllegalStateException("Log record at LSN " + entry.lsn() + " has format version " + version
+                + ", this version reads 1 to " + BinaryCodec.FORMAT_VERSION
+                + (version == 0 ? " (0: written before BinaryCodec, not migrated)" : ""));
+        }
+    }
+}
@@ -0,0 +1,381 @@
+// ============================================================
+// File: WriteAheadLog.java
+// Location: src/storage/WriteAheadLog.java
+// Purpose: Append-only, checksummed log on memory-mapped segment files
+// ============================================================
+
+package storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Write-Ahead Log
+ * Records are appended to fixed-size segment files mapped into memory,
+ * so an append is a memory copy plus a checksum
+ *
+ * Record layout (big endian):
+ *   int  size      Bytes after this field (never 0, 0 marks the end)
+ *   int  crc       CRC32C of lsn, type and payload
+ *   long lsn       Log sequence number: the segment's first LSN (its file
+ *                  name), then one more for every record
+ *   byte type      Record type, meaning is up to the caller
+ *   byte[] payload
+ *
+ * Group commit: appends do not fsync; a background thread forces the
+ * mapped segment every syncIntervalMillis if anything was written, and
+ * sync(lsn) waits for the next force instead of issuing its own
+ *
+ * Only the newest segment may end in a bad record (a torn write): opening
+ * the log stops there and zeroes the rest of that segment before
+ * appending. A bad size, checksum or LSN anywhere else, or a segment that
+ * does not end in the end marker, means records are missing in the middle
+ * of the log; opening or replaying it then fails instead of skipping them
+ */
+public final class WriteAheadLog implements Closeable {
+
+    /**
+     * One record read back from the log
+     */
+    public record Entry(long lsn, byte type, ByteBuffer payload) {
+    }
+
+    private static final String PREFIX = "wal-";
+    private static final String SUFFIX = ".log";
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 1;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final long syncIntervalMillis;
+    private final TreeMap<Long, Path> segments = new TreeMap<>();   // First LSN -> file
+
+    private FileChannel channel;            // Current segment
+    private MappedByteBuffer buffer;        // Current segment, mapped
+    private long lastLsn;                   // Last LSN written
+    private volatile long durableLsn;       // Last LSN known to be on disk
+    private volatile boolean closed;
+    private final Object syncLock = new Object();  // Guards durableLsn waits
+    private final Thread syncThread;
+
+    private WriteAheadLog(Path directory, int segmentSize, long syncIntervalMillis) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.syncIntervalMillis = syncIntervalMillis;
+        this.syncThread = new Thread(this::syncLoop, "wal-sync");
+        this.syncThread.setDaemon(true);
+    }
+
+    /**
+     * Open (or create) a log in a directory and position it after the last valid record
+     *
+     * @param directory Directory holding the segment files
+     * @param segmentSize Size of each segment file in bytes
+     * @param syncIntervalMillis Group commit interval
+     */
+    public static WriteAheadLog open(Path directory, int segmentSize, long syncIntervalMillis)
+            throws IOException {
+        Files.createDirectories(directory);
+        WriteAheadLog log = new WriteAheadLog(directory, segmentSize, syncIntervalMillis);
+        log.recover();
+        log.syncThread.start();
+        return log;
+    }
+
+    // ==================== Writing ====================
+
+    /**
+     * Append one record
+     * Returns once the record is in the mapped segment; use sync(lsn) to
+     * wait until it is on disk
+     *
+     * @param payload Bytes from its position to its limit (position is not moved)
+     * @return LSN assigned to the record
+     */
+    public synchronized long append(byte type, ByteBuffer payload) {
+        if (closed) {
+            throw new IllegalStateException("Write-ahead log is closed");
+        }
+
+        int recordSize = HEADER_SIZE + payload.remaining();
+        if (recordSize + 4 > segmentSize) {  // Record plus end marker must fit in an empty segment
+            throw new IllegalArgumentException("Record does not fit in a segment: " + recordSize);
+        }
+        if (buffer.remaining() < recordSize + 4) {  // Keep room for the end marker
+            roll();
+        }
+
+        long lsn = lastLsn + 1;
+        CRC32C crc = new CRC32C();
+        crc.update(ByteBuffer.allocate(9).putLong(lsn).put(type).flip());
+        crc.update(payload.duplicate());
+
+        buffer.putInt(recordSize - 4)
+              .putInt((int) crc.getValue())
+              .putLong(lsn)
+              .put(type)
+              .put(payload.duplicate());
+
+        lastLsn = lsn;
+        return lsn;
+    }
+
+    /**
+     * Wait until every record up to lsn is on disk
+     */
+    public void sync(long lsn) {
+        synchronized (syncLock) {
+            while (durableLsn < lsn && !closed) {
+                syncLock.notifyAll();  // Wake the sync thread instead of waiting a full interval
+                try {
+                    syncLock.wait(syncIntervalMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    public synchronized long getLastLsn() {
+        return lastLsn;
+    }
+
+    /**
+     * First LSN the log may still hold; older records were deleted
+     */
+    public synchronized long getFirstLsn() {
+        return segments.firstKey();
+    }
+
+    /**
+     * Make sure the next LSN is greater than lsn
+     * Used after loading a snapshot newer than anything left in the log
+     */
+    public synchronized void skipTo(long lsn) {
+        if (lastLsn < lsn) {
+            lastLsn = lsn;
+            roll();
+        }
+    }
+
+    // ==================== Reading ====================
+
+    /**
+     * Pass every valid record with an LSN greater than afterLsn to consumer, in order
+     */
+    public synchronized void replay(long afterLsn, Consumer<Entry> consumer) throws IOException {
+        for (Map.Entry<Long, Path> segment : segments.entrySet()) {
+            try (FileChannel in = FileChannel.open(segment.getValue(), StandardOpenOption.READ)) {
+                ByteBuffer data = in.map(FileChannel.MapMode.READ_ONLY, 0, in.size());
+                scanSegment(segment.getValue(), segment.getKey(), data, segment.getKey() == segments.lastKey(),
+                            entry -> {
+                                if (entry.lsn() > afterLsn) {
+                                    consumer.accept(entry);
+                                }
+                            });
+            }
+        }
+    }
+
+    // ==================== Maintenance ====================
+
+    /**
+     * Delete segments whose records all have LSN <= lsn
+     * The current segment is never deleted
+     */
+    public synchronized void deleteSegmentsUpTo(long lsn) throws IOException {
+        Iterator<Map.Entry<Long, Path>> it = segments.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Long, Path> segment = it.next();
+            Long next = segments.higherKey(segment.getKey());
+            if (next == null || next - 1 > lsn) {
+                break;
+            }
+            Files.deleteIfExists(segment.getValue());
+            it.remove();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            buffer.force();
+            durableLsn = lastLsn;
+            closed = true;
+            channel.close();
+        }
+        synchronized (syncLock) {
+            syncLock.notifyAll();
+        }
+    }
+
+    // ==================== Internal ====================
+
+    private void recover() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                segments.put(Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length())), file);
+            }
+        }
+
+        if (segments.isEmpty()) {
+            openSegment(1);
+            return;
+        }
+
+        // Every segment before the last one must be complete
+        for (Map.Entry<Long, Path> segment : segments.headMap(segments.lastKey()).entrySet()) {
+            try (FileChannel in = FileChannel.open(segment.getValue(), StandardOpenOption.READ)) {
+                ByteBuffer data = in.map(FileChannel.MapMode.READ_ONLY, 0, in.size());
+                scanSegment(segment.getValue(), segment.getKey(), data, false, entry -> { });
+            }
+        }
+
+        // The last one ends at its last valid record, a torn one after it is dropped
+        mapSegment(segments.lastEntry().getValue());
+        lastLsn = scanSegment(segments.lastEntry().getValue(), segments.lastKey(), buffer, true, entry -> { });
+        durableLsn = lastLsn;
+
+        // Clear a torn tail so stale bytes are never read as records later
+        int tail = buffer.position();
+        while (buffer.hasRemaining()) {
+            buffer.put((byte) 0);
+        }
+        buffer.force();
+        buffer.position(tail);
+    }
+
+    /**
+     * Read every record of one segment from the buffer position on
+     * On return the position is at the end of the last valid record
+     *
+     * @param firstLsn First LSN of the segment (from its file name)
+     * @param newest Whether this is the newest segment, the only one that may end in a torn record
+     * @return LSN of the last record, firstLsn - 1 if the segment holds none
+     * @throws IOException If a record is damaged or out of sequence before the end of the log
+     */
+    private static long scanSegment(Path file, long firstLsn, ByteBuffer data, boolean newest,
+                                    Consumer<Entry> consumer) throws IOException {
+        long previous = firstLsn - 1;
+        Entry entry;
+        while ((entry = readEntry(data, previous + 1)) != null) {
+            previous = entry.lsn();
+            consumer.accept(entry);
+        }
+        boolean endMarker = data.remaining() < 4 || data.getInt(data.position()) == 0;
+        if (!endMarker && !newest) {
+            throw new IOException("Log segment " + file.getFileName() + " has a damaged or out-of-sequence record "
+                                  + "after LSN " + previous + " at offset " + data.position()
+                                  + ", later segments would be replayed over a gap");
+        }
+        return previous;
+    }
+
+    /**
+     * Read one record at the buffer position, null at the end or on a bad record
+     * On null the buffer position is left at the start of that record
+     *
+     * @param expectedLsn LSN the record must have; anything else counts as bad
+     */
+    private static Entry readEntry(ByteBuffer data, long expectedLsn) {
+        int start = data.position();
+        if (data.remaining() < HEADER_SIZE) {
+            return null;
+        }
+
+        int size = data.getInt();
+        if (size < HEADER_SIZE - 4 || size > data.remaining()) {
+            data.position(start);
+            return null;
+        }
+
+        int crcValue = data.getInt();
+        long lsn = data.getLong();
+        byte type = data.get();
+        int payloadLength = size - (HEADER_SIZE - 4);
+        ByteBuffer payload = data.slice(data.position(), payloadLength);
+
+        CRC32C crc = new CRC32C();
+        crc.update(data.slice(start + 8, 9));
+        crc.update(payload.duplicate());
+        if ((int) crc.getValue() != crcValue || lsn != expectedLsn) {
+            data.position(start);
+            return null;
+        }
+
+        data.position(data.position() + payloadLength);
+        return new Entry(lsn, type, payload);
+    }
+
+    private void roll() {
+        try {
+            buffer.force();
+            synchronized (syncLock) {
+                durableLsn = lastLsn;
+                syncLock.notifyAll();
+            }
+            channel.close();
+            openSegment(lastLsn + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start a new log segment", e);
+        }
+    }
+
+    private void openSegment(long firstLsn) throws IOException {
+        Path file = directory.resolve(String.format("%s%020d%s", PREFIX, firstLsn, SUFFIX));
+        segments.put(firstLsn, file);
+        mapSegment(file);
+    }
+
+    private void mapSegment(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                                   StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+    }
+
+    /**
+     * Background group commit: one force() covers every append since the last one
+     */
+    private void syncLoop() {
+        while (!closed) {
+            long target;
+            MappedByteBuffer current;
+            synchronized (this) {
+                target = lastLsn;
+                current = buffer;
+            }
+
+            if (target > durableLsn) {
+                try {
+                    current.force();
+                } catch (UncheckedIOException e) {
+                    // Segment was closed by a roll, which forced it already
+                }
+                synchronized (syncLock) {
+                    durableLsn = Math.max(durableLsn, target);
+                    syncLock.notifyAll();
+                }
+            }
+
+            synchronized (syncLock) {
+                try {
+                    syncLock.wait(syncIntervalMillis);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+// ============================================================
+// File: AsyncLogAppender.java
+// Location: src/util/AsyncLogAppender.java
+// Purpose: Move log output off the calling thread
+// ============================================================
+
+package util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Async Log Appender
+ * Callers only put the event into a bounded ring buffer; one background
+ * thread drains it in batches and passes the events to another appender
+ *
+ * When the buffer is full, DEBUG/INFO events are dropped (and counted)
+ * so logging never slows the caller down; WARN/ERROR events wait for space
+ *
+ * Events the target appender throws on are counted as failed; the first
+ * failure is reported once on stderr, later ones only in the count
+ */
+public final class AsyncLogAppender implements LogAppender {
+
+    private static final int BATCH_SIZE = 256;
+
+    private final LogAppender target;
+    private final ArrayBlockingQueue<LogEvent> buffer;
+    private final AtomicLong submitted = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private volatile long written;
+    private boolean failureReported;        // Worker thread only
+
+    /**
+     * @param target Appender that does the real writing
+     * @param capacity Number of events the ring buffer can hold
+     */
+    public AsyncLogAppender(LogAppender target, int capacity) {
+        this.target = target;
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+
+        Thread worker = new Thread(this::drainLoop, "async-log-appender");
+        worker.setDaemon(true);
+        worker.start();
+
+        // Write out whatever is still buffered when the JVM exits
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "async-log-flush"));
+    }
+
+    @Override
+    public void append(LogEvent event) {
+        if (buffer.offer(event)) {
+            submitted.incrementAndGet();
+            return;
+        }
+
+        if (event.level().compareTo(Logger.Level.WARN) < 0) {
+            dropped.increment();
+            return;
+        }
+
+        try {
+            buffer.put(event);
+            submitted.incrementAndGet();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            dropped.increment();
+        }
+    }
+
+    @Override
+    public void flush() {
+        long goal = submitted.get();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (written < goal && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        target.flush();
+    }
+
+    /**
+     * Number of events dropped because the buffer was full
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Number of events the target appender failed to write
+     */
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    // ==================== Worker ====================
+
+    private void drainLoop() {
+        List<LogEvent> batch = new ArrayList<>(BATCH_SIZE);
+        while (true) {
+            try {
+                batch.add(buffer.take());
+                buffer.drainTo(batch, BATCH_SIZE - 1);
+
+                for (LogEvent event : batch) {
+                    try {
+                        target.append(event);
+                    } catch (RuntimeException e) {
+                        // A broken appender must not kill the worker thread
+                        failed.increment();
+                        reportFailure(e);
+                    }
+                }
+                written += batch.size();  // Only this thread writes the field
+                batch.clear();
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Tell stderr about the first failure of the target (logging itself is what broke)
+     */
+    private void reportFailure(RuntimeException e) {
+        if (failureReported) {
+            return;
+        }
+        failureReported = true;
+        System.err.println("Log appender " + target.getClass().getName() + " failed, "
+                           + "further failures are only counted (getFailedCount): " + e);
+    }
+}
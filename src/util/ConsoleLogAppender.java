@@ -0,0 +1,46 @@
+// ============================================================
+// File: ConsoleLogAppender.java
+// Location: src/util/ConsoleLogAppender.java
+// Purpose: Write log events to the console
+// ============================================================
+
+package util;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Console Log Appender
+ * WARN and ERROR go to System.err, everything else to System.out
+ * Format: 2024-01-01 12:00:00.000 INFO  [main] MenuService - message
+ */
+public class ConsoleLogAppender implements LogAppender {
+
+    private static final DateTimeFormatter TIME_FORMAT =
+        DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    @Override
+    public void append(LogEvent event) {
+        StringBuilder sb = new StringBuilder(64 + event.message().length());
+        TIME_FORMAT.formatTo(Instant.ofEpochMilli(event.timestamp()), sb);
+        sb.append(' ').append(event.level());
+        for (int i = event.level().name().length(); i < 5; i++) {
+            sb.append(' ');
+        }
+        sb.append(" [").append(event.thread()).append("] ")
+          .append(event.logger()).append(" - ").append(event.message());
+
+        if (event.level().compareTo(Logger.Level.WARN) >= 0) {
+            System.err.println(sb);
+        } else {
+            System.out.println(sb);
+        }
+    }
+
+    @Override
+    public void flush() {
+        System.out.flush();
+        System.err.flush();
+    }
+}
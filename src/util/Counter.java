@@ -0,0 +1,42 @@
+// ============================================================
+// File: Counter.java
+// Location: src/util/Counter.java
+// Purpose: Lock-free event counter
+// ============================================================
+
+package util;
+
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counter
+ * Backed by a LongAdder, so threads incrementing at the same time
+ * update separate cells instead of fighting over one value
+ * Does nothing while Metrics are disabled
+ */
+public final class Counter implements Metric {
+
+    private final LongAdder value = new LongAdder();
+
+    public void increment() {
+        if (Metrics.isEnabled()) {
+            value.increment();
+        }
+    }
+
+    public void add(long amount) {
+        if (Metrics.isEnabled()) {
+            value.add(amount);
+        }
+    }
+
+    public long get() {
+        return value.sum();
+    }
+
+    @Override
+    public void export(String name, Map<String, Number> out) {
+        out.put(name, get());
+    }
+}
@@ -0,0 +1,173 @@
+// ============================================================
+// File: LatencyHistogram.java
+// Location: src/util/LatencyHistogram.java
+// Purpose: Lock-free log-linear histogram of durations in nanoseconds
+// ============================================================
+
+package util;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency Histogram
+ * Same bucket layout as HdrHistogram with 2 significant digits:
+ * values below 32 get a bucket each, above that every power of two is
+ * split into 32 equal buckets, so a reported percentile is within ~3%
+ * of the true value anywhere from 1 ns to 292 years
+ * (1888 buckets, about 15 KB)
+ *
+ * record() is a few uncontended atomic adds and never allocates or locks
+ * Readers see a consistent-enough view for monitoring: a value recorded
+ * during a read may be counted in some figures and not yet in others
+ */
+public final class LatencyHistogram implements Metric {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = SUB_BUCKETS + (63 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+    private static final double[] PERCENTILES = {0.5, 0.9, 0.99, 0.999};
+    private static final String[] PERCENTILE_NAMES = {"p50", "p90", "p99", "p999"};
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+    private final TimeUnit unit;
+
+    /**
+     * @param unit Unit the values are reported in (they are recorded in nanoseconds)
+     */
+    public LatencyHistogram(TimeUnit unit) {
+        this.unit = unit;
+    }
+
+    // ==================== Recording ====================
+
+    /**
+     * Record one duration in nanoseconds (negative values count as 0)
+     * Does nothing while Metrics are disabled
+     */
+    public void record(long nanos) {
+        if (!Metrics.isEnabled()) {
+            return;
+        }
+        long value = Math.max(nanos, 0);
+        buckets.getAndIncrement(bucketOf(value));
+        count.increment();
+        sum.add(value);
+        long currentMax = max.get();
+        while (value > currentMax && !max.compareAndSet(currentMax, value)) {
+            currentMax = max.get();
+        }
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return SUB_BUCKETS + shift * SUB_BUCKETS + (int) ((value >>> shift) - SUB_BUCKETS);
+    }
+
+    /**
+     * Largest value that falls in a bucket
+     */
+    static long highestValueIn(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = (bucket - SUB_BUCKETS) >>> SUB_BUCKET_BITS;
+        long subBucket = SUB_BUCKETS + ((bucket - SUB_BUCKETS) & (SUB_BUCKETS - 1));
+        return (subBucket << shift) + (1L << shift) - 1;
+    }
+
+    // ==================== Reading ====================
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Mean in nanoseconds, 0 if empty
+     */
+    public double getMean() {
+        long n = count.sum();
+        return n == 0 ? 0 : (double) sum.sum() / n;
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Value at a percentile in nanoseconds (upper edge of its bucket, never above the max)
+     *
+     * @param percentile Between 0 and 1, e.g. 0.99
+     */
+    public long getValueAtPercentile(double percentile) {
+        return valuesAt(new double[] {percentile})[0];
+    }
+
+    private long[] valuesAt(double[] percentiles) {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        long[] values = new long[percentiles.length];
+        if (total == 0) {
+            return values;
+        }
+        long highest = max.get();
+        int bucket = 0;
+        long seen = counts[0];
+        for (int p = 0; p < percentiles.length; p++) {
+            long rank = Math.max(1, (long) Math.ceil(percentiles[p] * total));
+            while (seen < rank && bucket < BUCKETS - 1) {
+                seen += counts[++bucket];
+            }
+            values[p] = Math.min(highestValueIn(bucket), highest);
+        }
+        return values;
+    }
+
+    /**
+     * count, mean, p50, p90, p99, p999 and max, in the reporting unit
+     * (percentiles must stay in ascending order for the single pass above)
+     */
+    @Override
+    public void export(String name, Map<String, Number> out) {
+        String suffix = "_" + unitSuffix(unit);
+        out.put(name + ".count", getCount());
+        out.put(name + ".mean" + suffix, convert(getMean()));
+        long[] values = valuesAt(PERCENTILES);
+        for (int i = 0; i < values.length; i++) {
+            out.put(name + "." + PERCENTILE_NAMES[i] + suffix, convert(values[i]));
+        }
+        out.put(name + ".max" + suffix, convert(getMax()));
+    }
+
+    private double convert(double nanos) {
+        return nanos / unit.toNanos(1);
+    }
+
+    private static String unitSuffix(TimeUnit unit) {
+        switch (unit) {
+            case NANOSECONDS:
+                return "ns";
+            case MICROSECONDS:
+                return "us";
+            case MILLISECONDS:
+                return "ms";
+            case SECONDS:
+                return "s";
+            default:
+                return unit.name().toLowerCase();
+        }
+    }
+}
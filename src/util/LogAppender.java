@@ -0,0 +1,26 @@
+// ============================================================
+// File: LogAppender.java
+// Location: src/util/LogAppender.java
+// Purpose: Output destination for log events
+// ============================================================
+
+package util;
+
+/**
+ * LogAppender Interface
+ * Receives log events from Logger and writes them somewhere
+ * Implementations must be thread-safe
+ */
+public interface LogAppender {
+
+    /**
+     * Write one event
+     */
+    void append(LogEvent event);
+
+    /**
+     * Block until every event appended so far has been written
+     */
+    default void flush() {
+    }
+}
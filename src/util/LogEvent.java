@@ -0,0 +1,21 @@
+// ============================================================
+// File: LogEvent.java
+// Location: src/util/LogEvent.java
+// Purpose: One structured log record
+// ============================================================
+
+package util;
+
+/**
+ * LogEvent
+ * Immutable log record handed from a Logger to a LogAppender
+ *
+ * @param timestamp Time in epoch milliseconds
+ * @param level Severity
+ * @param logger Name of the logger (usually the class name)
+ * @param thread Name of the thread that logged it
+ * @param message Fully built message text
+ */
+public record LogEvent(long timestamp, Logger.Level level, String logger,
+                       String thread, String message) {
+}
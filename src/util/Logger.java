@@ -0,0 +1,140 @@
+// ============================================================
+// File: Logger.java
+// Location: src/util/Logger.java
+// Purpose: Leveled logging facade used by the service layer
+// ============================================================
+
+package util;
+
+import java.util.function.Supplier;
+
+/**
+ * Logger Class
+ * Small leveled logging facade
+ * - One global level and one global appender (pluggable)
+ * - Supplier overloads build the message only if the level is enabled,
+ *   so a disabled log call costs one comparison
+ * - Default appender is asynchronous, the caller never does console I/O
+ *
+ * Usage:
+ *   private static final Logger LOG = Logger.getLogger(MenuService.class);
+ *   LOG.debug(() -> "Added menu item: " + item.getName());
+ */
+public final class Logger {
+
+    /**
+     * Log levels, from most to least verbose
+     */
+    public enum Level {
+        DEBUG, INFO, WARN, ERROR, OFF
+    }
+
+    private static volatile Level threshold = Level.INFO;
+    private static volatile LogAppender appender =
+        new AsyncLogAppender(new ConsoleLogAppender(), 8192);
+
+    private final String name;
+
+    private Logger(String name) {
+        this.name = name;
+    }
+
+    // ==================== Configuration ====================
+
+    /**
+     * Get a logger named after a class
+     */
+    public static Logger getLogger(Class<?> type) {
+        return new Logger(type.getSimpleName());
+    }
+
+    /**
+     * Get a logger with a custom name
+     */
+    public static Logger getLogger(String name) {
+        return new Logger(name);
+    }
+
+    /**
+     * Set the minimum level that is written (OFF disables logging)
+     */
+    public static void setLevel(Level level) {
+        threshold = level;
+    }
+
+    public static Level getLevel() {
+        return threshold;
+    }
+
+    /**
+     * Replace the appender every logger writes to
+     * The previous appender is flushed first
+     */
+    public static void setAppender(LogAppender newAppender) {
+        LogAppender old = appender;
+        appender = newAppender;
+        old.flush();
+    }
+
+    /**
+     * Wait until every event logged so far has been written
+     */
+    public static void flush() {
+        appender.flush();
+    }
+
+    // ==================== Logging Methods ====================
+
+    public boolean isEnabled(Level level) {
+        return level.compareTo(threshold) >= 0 && level != Level.OFF;
+    }
+
+    public void debug(String message) {
+        log(Level.DEBUG, message);
+    }
+
+    public void debug(Supplier<String> message) {
+        log(Level.DEBUG, message);
+    }
+
+    public void info(String message) {
+        log(Level.INFO, message);
+    }
+
+    public void info(Supplier<String> message) {
+        log(Level.INFO, message);
+    }
+
+    public void warn(String message) {
+        log(Level.WARN, message);
+    }
+
+    public void warn(Supplier<String> message) {
+        log(Level.WARN, message);
+    }
+
+    public void error(String message) {
+        log(Level.ERROR, message);
+    }
+
+    public void error(Supplier<String> message) {
+        log(Level.ERROR, message);
+    }
+
+    private void log(Level level, String message) {
+        if (isEnabled(level)) {
+            write(level, message);
+        }
+    }
+
+    private void log(Level level, Supplier<String> message) {
+        if (isEnabled(level)) {
+            write(level, message.get());
+        }
+    }
+
+    private void write(Level level, String message) {
+        appender.append(new LogEvent(System.currentTimeMillis(), level, name,
+                                     Thread.currentThread().getName(), message));
+    }
+}
@@ -0,0 +1,24 @@
+// ============================================================
+// File: Metric.java
+// Location: src/util/Metric.java
+// Purpose: Common interface of everything held by the Metrics registry
+// ============================================================
+
+package util;
+
+import java.util.Map;
+
+/**
+ * Metric Interface
+ * A counter, gauge, timer or histogram registered under a name
+ * Implementations must be thread-safe
+ */
+public interface Metric {
+
+    /**
+     * Add this metric's current values to out
+     * A single-valued metric adds one entry named name, others add
+     * name.something entries (e.g. name.count, name.p99_us)
+     */
+    void export(String name, Map<String, Number> out);
+}
@@ -0,0 +1,234 @@
+// ============================================================
+// File: Metrics.java
+// Location: src/util/Metrics.java
+// Purpose: Process-wide registry of counters, gauges, timers and histograms
+// ============================================================
+
+package util;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Metrics Class
+ * One global registry, used like Logger:
+ *   private static final SampledTimer SEARCH_TIMER = Metrics.timer("menu.search", 128);
+ *   private static final Counter PLACED = Metrics.counter("order.placed");
+ *
+ * - Counters are LongAdders, timers are sampled log-linear histograms,
+ *   gauges are read only when someone looks at them
+ * - Recording never locks or allocates; with metrics disabled every
+ *   recording call is one volatile read
+ * - Registering a name twice returns the existing metric
+ *
+ * Values can be read three ways, all from the same snapshot():
+ * - text() / a local HTTP endpoint (startHttpEndpoint), one "name value" per line
+ * - JMX, as attributes of the MBean DineManager:type=Metrics (registerMBean)
+ * - snapshot() from code
+ */
+public final class Metrics {
+
+    public static final String MBEAN_NAME = "DineManager:type=Metrics";
+
+    private static final Logger LOG = Logger.getLogger(Metrics.class);
+    private static final Map<String, Metric> registry = new ConcurrentHashMap<>();
+    private static volatile boolean enabled = true;
+    private static HttpServer httpServer;
+
+    private Metrics() {
+    }
+
+    // ==================== Configuration ====================
+
+    /**
+     * Turn recording on or off (on by default); registered metrics and
+     * gauges stay readable either way
+     */
+    public static void setEnabled(boolean on) {
+        enabled = on;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    // ==================== Registration ====================
+
+    /**
+     * Get or create a counter
+     */
+    public static Counter counter(String name) {
+        return register(name, Counter.class, new Counter());
+    }
+
+    /**
+     * Get or create a timer that times every call
+     */
+    public static SampledTimer timer(String name) {
+        return timer(name, 1);
+    }
+
+    /**
+     * Get or create a timer that times one call in sampleRate (a power of two)
+     */
+    public static SampledTimer timer(String name, int sampleRate) {
+        SampledTimer timer = register(name, SampledTimer.class, new SampledTimer(sampleRate));
+        if (timer.getSampleRate() != sampleRate) {
+            throw new IllegalArgumentException("Timer " + name + " already registered with sample rate "
+                                               + timer.getSampleRate());
+        }
+        return timer;
+    }
+
+    /**
+     * Get or create a histogram of durations, reported in the given unit
+     */
+    public static LatencyHistogram histogram(String name, TimeUnit unit) {
+        return register(name, LatencyHistogram.class, new LatencyHistogram(unit));
+    }
+
+    /**
+     * Register a gauge, replacing any gauge with the same name
+     * The supplier is called only when metrics are read
+     */
+    public static void gauge(String name, LongSupplier value) {
+        registry.compute(name, (key, existing) -> {
+            if (existing != null && !(existing instanceof Gauge)) {
+                throw new IllegalArgumentException("Metric " + name + " is not a gauge");
+            }
+            return new Gauge(value);
+        });
+    }
+
+    /**
+     * Remove a metric (e.g. the gauges of a component that shut down)
+     */
+    public static void remove(String name) {
+        registry.remove(name);
+    }
+
+    private record Gauge(LongSupplier value) implements Metric {
+        @Override
+        public void export(String name, Map<String, Number> out) {
+            out.put(name, value.getAsLong());
+        }
+    }
+
+    private static <T extends Metric> T register(String name, Class<T> type, T created) {
+        Metric metric = registry.computeIfAbsent(name, key -> created);
+        if (!type.isInstance(metric)) {
+            throw new IllegalArgumentException("Metric " + name + " is not a " + type.getSimpleName());
+        }
+        return type.cast(metric);
+    }
+
+    // ==================== Reading ====================
+
+    /**
+     * Current value of every metric, sorted by name
+     * A gauge whose supplier throws is left out
+     */
+    public static Map<String, Number> snapshot() {
+        Map<String, Number> values = new TreeMap<>();
+        for (Map.Entry<String, Metric> entry : registry.entrySet()) {
+            try {
+                entry.getValue().export(entry.getKey(), values);
+            } catch (RuntimeException e) {
+                LOG.warn(() -> "Metric " + entry.getKey() + " failed: " + e);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * All values as text, one "name value" line each
+     */
+    public static String text() {
+        StringBuilder sb = new StringBuilder(4096);
+        for (Map.Entry<String, Number> entry : snapshot().entrySet()) {
+            sb.append(entry.getKey()).append(' ');
+            Number value = entry.getValue();
+            if (value instanceof Double) {
+                sb.append(String.format(Locale.ROOT, "%.3f", value.doubleValue()));
+            } else {
+                sb.append(value.longValue());
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    // ==================== Exposure ====================
+
+    /**
+     * Register the MBean DineManager:type=Metrics with the platform MBean server
+     * Does nothing if it is already registered
+     */
+    public static synchronized void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(MBEAN_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(new MetricsJmx(), name);
+            }
+        } catch (JMException e) {
+            LOG.error(() -> "Could not register metrics MBean: " + e);
+        }
+    }
+
+    /**
+     * Serve text() at http://127.0.0.1:port/metrics
+     * Bound to the loopback address only; port 0 picks a free port
+     *
+     * @return The port the endpoint listens on
+     */
+    public static synchronized int startHttpEndpoint(int port) throws IOException {
+        if (httpServer != null) {
+            return httpServer.getAddress().getPort();
+        }
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/metrics", exchange -> {
+            try (exchange) {
+                if (!"GET".equals(exchange.getRequestMethod())) {
+                    exchange.sendResponseHeaders(405, -1);
+                    return;
+                }
+                byte[] body = text().getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+        });
+        server.start();   // Default executor: one background thread
+        httpServer = server;
+        int boundPort = server.getAddress().getPort();
+        LOG.info(() -> "Metrics endpoint at http://127.0.0.1:" + boundPort + "/metrics");
+        return boundPort;
+    }
+
+    /**
+     * Stop the HTTP endpoint if it is running
+     */
+    public static synchronized void stopHttpEndpoint() {
+        if (httpServer != null) {
+            httpServer.stop(0);
+            httpServer = null;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+// ============================================================
+// File: MetricsJmx.java
+// Location: src/util/MetricsJmx.java
+// Purpose: Exposes the Metrics registry as a read-only JMX MBean
+// ============================================================
+
+package util;
+
+import java.util.Map;
+import javax.management.*;
+
+/**
+ * Metrics MBean
+ * Dynamic MBean with one read-only attribute per metric value
+ * (the names of Metrics.snapshot(), e.g. "menu.search.p99_us")
+ * The attribute list follows the registry, so metrics registered later
+ * show up the next time a JMX client refreshes
+ *
+ * Registered by Metrics.registerMBean() as DineManager:type=Metrics
+ */
+final class MetricsJmx implements DynamicMBean {
+
+    @Override
+    public Object getAttribute(String attribute) throws AttributeNotFoundException {
+        Number value = Metrics.snapshot().get(attribute);
+        if (value == null) {
+            throw new AttributeNotFoundException(attribute);
+        }
+        return value;
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] attributes) {
+        Map<String, Number> values = Metrics.snapshot();
+        AttributeList list = new AttributeList();
+        for (String attribute : attributes) {
+            Number value = values.get(attribute);
+            if (value != null) {
+                list.add(new Attribute(attribute, value));
+            }
+        }
+        return list;
+    }
+
+    @Override
+    public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+        throw new AttributeNotFoundException("Metrics are read-only: " + attribute.getName());
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList attributes) {
+        return new AttributeList();
+    }
+
+    @Override
+    public Object invoke(String actionName, Object[] params, String[] signature) throws ReflectionException {
+        throw new ReflectionException(new NoSuchMethodException(actionName));
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        Map<String, Number> values = Metrics.snapshot();
+        MBeanAttributeInfo[] attributes = new MBeanAttributeInfo[values.size()];
+        int i = 0;
+        for (Map.Entry<String, Number> entry : values.entrySet()) {
+            attributes[i++] = new MBeanAttributeInfo(entry.getKey(), entry.getValue().getClass().getName(),
+                                                     entry.getKey(), true, false, false);
+        }
+        return new MBeanInfo(MetricsJmx.class.getName(), "DineManager metrics", attributes,
+                             null, null, null);
+    }
+}
@@ -0,0 +1,241 @@
+// ============================================================
+// File: ContentionStressTest.java
+// Location: test/service/ContentionStressTest.java
+// Purpose: Checks that the shared data store loses no updates under contention
+// ============================================================
+
+package service;
+
+import model.MenuItem;
+import model.Order;
+import model.OrderItem;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import util.Logger;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Contention Stress Test
+ * Hammers DataManager.store() from many threads started together and
+ * checks the result afterwards:
+ * - order numbers: every thread takes numbers with nextOrderNumber();
+ *   no number may be handed out twice or skipped
+ * - menu: every thread adds and removes items from a small shared pool of
+ *   IDs through MenuService; each ID must end up present exactly when its
+ *   successful adds outnumber its successful removes, and the price,
+ *   category and name indexes must agree with the menu map
+ * - order queue: every thread offers orders and polls; each order must
+ *   come out exactly once
+ *
+ * Runs with mvn test. For a longer run raise the load with
+ * -Dstress.threads=N -Dstress.operations=N (defaults: 4 x cores but at
+ * least 8 threads, 20000 operations per thread and check)
+ */
+class ContentionStressTest {
+
+    private static final String ID_PREFIX = "STRESS-";
+    private static final int MENU_IDS = 64;         // Small, so threads collide on IDs all the time
+    private static final String[] CATEGORIES = {"Main Dish", "Side Dish", "Beverage", "Dessert"};
+    private static final long SEED = 42;
+
+    private static final int THREADS = Integer.getInteger("stress.threads",
+                                                          Math.max(8, 4 * Runtime.getRuntime().availableProcessors()));
+    private static final int OPERATIONS = Integer.getInteger("stress.operations", 20_000);
+
+    /**
+     * Work of one thread in one check
+     */
+    private interface Task {
+        void run(int thread) throws Exception;
+    }
+
+    private final DataStore store = DataManager.store();
+
+    @BeforeAll
+    static void quietLogs() {
+        // Removing an absent ID is expected here and would log a warning each time
+        Logger.setLevel(Logger.Level.ERROR);
+    }
+
+    // ==================== Checks ====================
+
+    @Test
+    void orderNumbersAreUniqueAndGapFree() throws Exception {
+        int first = store.peekOrderNumber();
+        int[][] taken = new int[THREADS][OPERATIONS];
+        runTogether(thread -> {
+            int[] mine = taken[thread];
+            for (int i = 0; i < OPERATIONS; i++) {
+                mine[i] = store.nextOrderNumber();
+            }
+        });
+
+        long total = (long) THREADS * OPERATIONS;
+        BitSet seen = new BitSet();
+        long duplicates = 0;
+        long outOfRange = 0;
+        for (int[] mine : taken) {
+            for (int number : mine) {
+                long offset = (long) number - first;
+                if (offset < 0 || offset >= total) {
+                    outOfRange++;
+                } else if (seen.get((int) offset)) {
+                    duplicates++;
+                } else {
+                    seen.set((int) offset);
+                }
+            }
+        }
+        assertEquals(0, duplicates, "duplicate order numbers");
+        assertEquals(0, outOfRange, "order numbers out of range");
+        assertEquals(first + total, (long) store.peekOrderNumber(), "next order number");
+    }
+
+    @Test
+    void menuAddRemoveLosesNoUpdates() throws Exception {
+        AtomicIntegerArray adds = new AtomicIntegerArray(MENU_IDS);
+        AtomicIntegerArray removes = new AtomicIntegerArray(MENU_IDS);
+        int sizeBefore = store.menuItems().size();
+        int priceSizeBefore = store.menuByPrice().size();
+        int[] categoryCountsBefore = categoryCounts();
+
+        runTogether(thread -> {
+            SplittableRandom random = new SplittableRandom(SEED * 31 + thread);
+            for (int i = 0; i < OPERATIONS; i++) {
+                int id = random.nextInt(MENU_IDS);
+                if (random.nextBoolean()) {
+                    if (MenuService.addMenuItem(stressItem(id, random))) {
+                        adds.incrementAndGet(id);
+                    }
+                } else if (MenuService.removeMenuItem(ID_PREFIX + id)) {
+                    removes.incrementAndGet(id);
+                }
+            }
+        });
+
+        int present = 0;
+        int[] expectedByCategory = new int[CATEGORIES.length];
+        for (int id = 0; id < MENU_IDS; id++) {
+            int balance = adds.get(id) - removes.get(id);
+            boolean inMap = store.menuItems().containsKey(ID_PREFIX + id);
+            assertEquals(inMap ? 1 : 0, balance, "successful adds minus removes of " + ID_PREFIX + id);
+            assertEquals(inMap, MenuService.isNameDuplicate(nameOf(id)), "name index for " + ID_PREFIX + id);
+            if (inMap) {
+                present++;
+                expectedByCategory[id % CATEGORIES.length]++;
+            }
+        }
+        int[] categoryCounts = categoryCounts();
+        for (int c = 0; c < CATEGORIES.length; c++) {
+            assertEquals(expectedByCategory[c], categoryCounts[c] - categoryCountsBefore[c], "category " + CATEGORIES[c]);
+        }
+        assertEquals(present, store.menuItems().size() - sizeBefore, "items added to the menu map");
+        assertEquals(present, store.menuByPrice().size() - priceSizeBefore, "items added to the price index");
+    }
+
+    @Test
+    void orderQueueHandsOutEveryOrderOnce() throws Exception {
+        int first = store.peekOrderNumber();
+        int[][] polled = new int[THREADS][OPERATIONS];
+        int[] polledCount = new int[THREADS];
+        runTogether(thread -> {
+            int[] mine = polled[thread];
+            int count = 0;
+            for (int i = 0; i < OPERATIONS; i++) {
+                store.orderQueue().offer(new Order(store.nextOrderNumber(), List.<OrderItem>of()));
+                Order order = store.orderQueue().poll();
+                if (order != null) {
+                    mine[count++] = order.getOrderNumber();
+                }
+            }
+            polledCount[thread] = count;
+        });
+
+        long total = (long) THREADS * OPERATIONS;
+        BitSet seen = new BitSet();
+        long duplicates = 0;
+        long count = 0;
+        Order left;
+        while ((left = store.orderQueue().poll()) != null) {
+            duplicates += mark(seen, left.getOrderNumber() - first) ? 0 : 1;
+            count++;
+        }
+        for (int t = 0; t < THREADS; t++) {
+            for (int i = 0; i < polledCount[t]; i++) {
+                duplicates += mark(seen, polled[t][i] - first) ? 0 : 1;
+                count++;
+            }
+        }
+        assertEquals(0, duplicates, "orders polled twice");
+        assertEquals(total, count, "orders polled");
+        assertEquals(total, seen.cardinality(), "distinct orders polled");
+    }
+
+    // ==================== Helpers ====================
+
+    /**
+     * Run the task on every thread, all released at the same moment
+     */
+    private static void runTogether(Task task) throws Exception {
+        CountDownLatch ready = new CountDownLatch(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        Throwable[] failure = new Throwable[1];
+        Thread[] workers = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            workers[t] = new Thread(() -> {
+                try {
+                    ready.countDown();
+                    start.await();
+                    task.run(thread);
+                } catch (Throwable e) {
+                    synchronized (failure) {
+                        failure[0] = e;
+                    }
+                }
+            }, "stress-" + t);
+            workers[t].start();
+        }
+        ready.await();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        if (failure[0] != null) {
+            fail("Stress thread failed", failure[0]);
+        }
+    }
+
+    /**
+     * @return false if the bit was already set (or is out of range)
+     */
+    private static boolean mark(BitSet seen, int offset) {
+        if (offset < 0 || seen.get(offset)) {
+            return false;
+        }
+        seen.set(offset);
+        return true;
+    }
+
+    private static MenuItem stressItem(int id, SplittableRandom random) {
+        MenuItem item = new MenuItem(ID_PREFIX + id, nameOf(id), 1, CATEGORIES[id % CATEGORIES.length]);
+        item.setPriceMinor(100 + random.nextInt(9_900));
+        return item;
+    }
+
+    private static String nameOf(int id) {
+        return "Stress Item " + id;
+    }
+
+    private static int[] categoryCounts() {
+        int[] counts = new int[CATEGORIES.length];
+        for (int c = 0; c < CATEGORIES.length; c++) {
+            counts[c] = MenuService.getMenuCountByCategory(CATEGORIES[c]);
+        }
+        return counts;
+    }
+}